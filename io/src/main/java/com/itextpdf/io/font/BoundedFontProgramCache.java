@@ -0,0 +1,282 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Font program cache limited by the estimated size of the cached font programs.
+ * When the limit is exceeded, the least recently or the least frequently used font programs are evicted,
+ * except for the resident ones, e.g. shared system fonts, which are never evicted automatically.
+ * The cache counts hits, misses and evictions, so that its efficiency can be monitored.
+ */
+public class BoundedFontProgramCache implements IFontProgramCache {
+
+    /**
+     * Defines which font programs are evicted first.
+     */
+    public enum EvictionPolicy {
+        /**
+         * The least recently used font programs are evicted first.
+         */
+        LEAST_RECENTLY_USED,
+        /**
+         * The least frequently used font programs are evicted first.
+         * Font programs used equally often are evicted in the least recently used order.
+         */
+        LEAST_FREQUENTLY_USED
+    }
+
+    /**
+     * Estimated size of the font program object apart from its glyphs.
+     */
+    private static final long FONT_PROGRAM_SIZE = 4096;
+
+    /**
+     * Estimated size of a glyph together with its entries in the glyph maps.
+     */
+    private static final long GLYPH_SIZE = 160;
+
+    private final long maxSizeInBytes;
+    private final EvictionPolicy evictionPolicy;
+    private final LinkedHashMap<FontCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<FontCacheKey> residentKeys = new HashSet<>();
+
+    private long sizeInBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates a cache evicting the least recently used font programs.
+     *
+     * @param maxSizeInBytes the maximum estimated size of the cached font programs in bytes
+     */
+    public BoundedFontProgramCache(long maxSizeInBytes) {
+        this(maxSizeInBytes, EvictionPolicy.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSizeInBytes the maximum estimated size of the cached font programs in bytes
+     * @param evictionPolicy defines which font programs are evicted first
+     */
+    public BoundedFontProgramCache(long maxSizeInBytes, EvictionPolicy evictionPolicy) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Makes the font program with the given key resident, so that it is never evicted from the cache
+     * because of the size limit. The font program is not necessarily cached at the moment.
+     * Resident font programs are counted in the cache size, but can only be removed by {@link #invalidate(FontCacheKey)}.
+     *
+     * @param key the key of the font program, e.g. {@code FontCacheKey.create(path)} for the font read from a file
+     * @return this cache
+     */
+    public synchronized BoundedFontProgramCache addResidentFont(FontCacheKey key) {
+        residentKeys.add(key);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.resident = true;
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized FontProgram get(FontCacheKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            ++missCount;
+            return null;
+        }
+        ++hitCount;
+        ++entry.useCount;
+        return entry.fontProgram;
+    }
+
+    @Override
+    public synchronized FontProgram put(FontCacheKey key, FontProgram fontProgram) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry.fontProgram;
+        }
+        long size = estimateSize(key, fontProgram);
+        boolean resident = residentKeys.contains(key);
+        if (!resident && size > maxSizeInBytes) {
+            // the font program would evict everything and still not fit
+            return fontProgram;
+        }
+        entries.put(key, new Entry(fontProgram, size, resident));
+        sizeInBytes += size;
+        evict(key);
+        return fontProgram;
+    }
+
+    @Override
+    public synchronized void invalidate(FontCacheKey key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            sizeInBytes -= entry.size;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    /**
+     * Gets the number of the cached font programs.
+     *
+     * @return the number of the cached font programs
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the estimated size of the cached font programs.
+     *
+     * @return the estimated size in bytes
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Gets the maximum estimated size of the cached font programs.
+     *
+     * @return the maximum size in bytes
+     */
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    /**
+     * Gets the number of the requests for which the font program was found in the cache.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of the requests for which the font program wasn't found in the cache.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of the font programs evicted from the cache because of the size limit.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Estimates the memory retained by the font program.
+     * The estimation takes into account the number of glyphs and the length of the font data
+     * if the font program was created from a byte array.
+     *
+     * @param key         the key of the font program
+     * @param fontProgram the font program
+     * @return the estimated size in bytes
+     */
+    protected long estimateSize(FontCacheKey key, FontProgram fontProgram) {
+        return FONT_PROGRAM_SIZE + GLYPH_SIZE * fontProgram.countOfGlyphs() + key.getDataLength();
+    }
+
+    private void evict(FontCacheKey addedKey) {
+        while (sizeInBytes > maxSizeInBytes) {
+            FontCacheKey victim = null;
+            int victimUseCount = Integer.MAX_VALUE;
+            // entries are iterated from the least recently used one
+            for (Map.Entry<FontCacheKey, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                // the added font program is not evicted, otherwise it could never get into the cache in LFU order
+                if (entry.resident || mapEntry.getKey() == addedKey) {
+                    continue;
+                }
+                if (evictionPolicy == EvictionPolicy.LEAST_RECENTLY_USED) {
+                    victim = mapEntry.getKey();
+                    break;
+                } else if (entry.useCount < victimUseCount) {
+                    victim = mapEntry.getKey();
+                    victimUseCount = entry.useCount;
+                }
+            }
+            if (victim == null) {
+                // only resident and the added font programs are left
+                return;
+            }
+            sizeInBytes -= entries.remove(victim).size;
+            ++evictionCount;
+        }
+    }
+
+    private static class Entry {
+        final FontProgram fontProgram;
+        final long size;
+        boolean resident;
+        int useCount;
+
+        Entry(FontProgram fontProgram, long size, boolean resident) {
+            this.fontProgram = fontProgram;
+            this.size = size;
+            this.resident = resident;
+        }
+    }
+}
@@ -63,7 +63,7 @@ public class CidFont extends FontProgram {
         compatibleCmaps = cmaps;
         fontNames = new FontNames();
         initializeCidFontNameAndStyle(fontName);
-        Map<String, Object> fontDesc = CidFontProperties.getAllFonts().get(fontNames.getFontName());
+        Map<String, Object> fontDesc = FontCache.getCidFontProperties(fontNames.getFontName());
         if (fontDesc == null) {
             throw new IOException("There is no such predefined font: {0}").setMessageParams(fontName);
         }
@@ -63,11 +63,16 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class FontCache {
 
-    private static final Map<String, Map<String, Object>> allCidFonts = new HashMap<>();
+    // properties of the predefined CID fonts, each font is read on first use
+    private static final Map<String, Map<String, Object>> allCidFonts = new ConcurrentHashMap<>();
     private static final Map<String, Set<String>> registryNames = new HashMap<>();
+    // parsed CMap resources, the key is the CMap type followed by the CMap name
+    private static final ConcurrentMap<String, AbstractCMap> parsedCmaps = new ConcurrentHashMap<>();
+    private static volatile boolean allCidFontsLoaded = false;
 
     private static final String CJK_REGISTRY_FILENAME = "cjk_registry.properties";
     private static final String FONTS_PROP = "fonts";
@@ -75,14 +80,16 @@ public class FontCache {
     private static final String W_PROP = "W";
     private static final String W2_PROP = "W2";
 
-    private static Map<FontCacheKey, FontProgram> fontCache = new ConcurrentHashMap<>();
+    private static final String CID_UNI_KEY = "CidUni/";
+    private static final String UNI_CID_KEY = "UniCid/";
+    private static final String BYTE_CID_KEY = "ByteCid/";
+    private static final String CID_BYTE_KEY = "CidByte/";
+
+    private static volatile IFontProgramCache fontCache = new DefaultFontProgramCache();
 
     static {
         try {
             loadRegistry();
-            for (String font : registryNames.get(FONTS_PROP)) {
-                allCidFonts.put(font, readFontProperties(font));
-            }
         } catch (Exception ignored) {
         }
     }
@@ -106,7 +113,7 @@ public class FontCache {
         for (Map.Entry<String, Set<String>> e : registryNames.entrySet()) {
             if (e.getValue().contains(cmap)) {
                 String registry = e.getKey();
-                for (Map.Entry<String, Map<String, Object>> e1 : allCidFonts.entrySet()) {
+                for (Map.Entry<String, Map<String, Object>> e1 : getAllPredefinedCidFonts().entrySet()) {
                     if (registry.equals(e1.getValue().get(REGISTRY_PROP)))
                         return e1.getKey();
                 }
@@ -116,36 +123,105 @@ public class FontCache {
     }
 
     public static Set<String> getCompatibleCmaps(String fontName) {
-        String registry = (String) FontCache.getAllPredefinedCidFonts().get(fontName).get(REGISTRY_PROP);
+        String registry = (String) getCidFontProperties(fontName).get(REGISTRY_PROP);
         return registryNames.get(registry);
     }
 
     public static Map<String, Map<String, Object>> getAllPredefinedCidFonts() {
+        if (!allCidFontsLoaded) {
+            Set<String> fonts = registryNames.get(FONTS_PROP);
+            if (fonts != null) {
+                for (String font : fonts) {
+                    getCidFontProperties(font);
+                }
+            }
+            allCidFontsLoaded = true;
+        }
         return allCidFonts;
     }
 
+    /**
+     * Gets the properties of a predefined CID font. The properties are read from the font-asian resources
+     * on first request and are cached afterwards.
+     *
+     * @param fontName the font name
+     * @return the font properties, or {@code null} if it is not a predefined CID font or its properties cannot be read
+     */
+    static Map<String, Object> getCidFontProperties(String fontName) {
+        Map<String, Object> fontProperties = allCidFonts.get(fontName);
+        if (fontProperties == null && isPredefinedCidFont(fontName)) {
+            try {
+                fontProperties = readFontProperties(fontName);
+            } catch (Exception ignored) {
+                return null;
+            }
+            allCidFonts.put(fontName, fontProperties);
+        }
+        return fontProperties;
+    }
+
     public static Map<String, Set<String>> getRegistryNames() {
         return registryNames;
     }
 
+    /**
+     * Gets the CID to Unicode CMap. The CMap resource is parsed once and the parsed CMap is shared,
+     * it shall not be modified.
+     *
+     * @param uniMap the CMap name
+     * @return the parsed CMap
+     */
     public static CMapCidUni getCid2UniCmap(String uniMap) {
-        CMapCidUni cidUni = new CMapCidUni();
-        return parseCmap(uniMap, cidUni);
+        CMapCidUni cidUni = (CMapCidUni) parsedCmaps.get(CID_UNI_KEY + uniMap);
+        if (cidUni == null) {
+            cidUni = cacheCmap(CID_UNI_KEY + uniMap, parseCmap(uniMap, new CMapCidUni()));
+        }
+        return cidUni;
     }
 
+    /**
+     * Gets the Unicode to CID CMap. The CMap resource is parsed once and the parsed CMap is shared,
+     * it shall not be modified.
+     *
+     * @param uniMap the CMap name
+     * @return the parsed CMap
+     */
     public static CMapUniCid getUni2CidCmap(String uniMap) {
-        CMapUniCid uniCid = new CMapUniCid();
-        return parseCmap(uniMap, uniCid);
+        CMapUniCid uniCid = (CMapUniCid) parsedCmaps.get(UNI_CID_KEY + uniMap);
+        if (uniCid == null) {
+            uniCid = cacheCmap(UNI_CID_KEY + uniMap, parseCmap(uniMap, new CMapUniCid()));
+        }
+        return uniCid;
     }
 
+    /**
+     * Gets the byte code to CID CMap. The CMap resource is parsed once and the parsed CMap is shared,
+     * it shall not be modified.
+     *
+     * @param cmap the CMap name
+     * @return the parsed CMap
+     */
     public static CMapByteCid getByte2CidCmap(String cmap) {
-        CMapByteCid uniCid = new CMapByteCid();
-        return parseCmap(cmap, uniCid);
+        CMapByteCid byteCid = (CMapByteCid) parsedCmaps.get(BYTE_CID_KEY + cmap);
+        if (byteCid == null) {
+            byteCid = cacheCmap(BYTE_CID_KEY + cmap, parseCmap(cmap, new CMapByteCid()));
+        }
+        return byteCid;
     }
 
+    /**
+     * Gets the CID to byte code CMap. The CMap resource is parsed once and the parsed CMap is shared,
+     * it shall not be modified.
+     *
+     * @param cmap the CMap name
+     * @return the parsed CMap
+     */
     public static CMapCidByte getCid2Byte(String cmap) {
-        CMapCidByte cidByte = new CMapCidByte();
-        return parseCmap(cmap, cidByte);
+        CMapCidByte cidByte = (CMapCidByte) parsedCmaps.get(CID_BYTE_KEY + cmap);
+        if (cidByte == null) {
+            cidByte = cacheCmap(CID_BYTE_KEY + cmap, parseCmap(cmap, new CMapCidByte()));
+        }
+        return cidByte;
     }
 
     public static FontProgram getFont(String fontName) {
@@ -161,12 +237,27 @@ public class FontCache {
     }
 
     static FontProgram saveFont(FontProgram font, FontCacheKey key) {
-        FontProgram fontFound = fontCache.get(key);
-        if (fontFound != null) {
-            return fontFound;
-        }
-        fontCache.put(key, font);
-        return font;
+        return fontCache.put(key, font);
+    }
+
+    /**
+     * Sets the cache of the font programs created by {@link FontProgramFactory} with {@code cached} flag.
+     * By default the font programs are cached without limits, {@link BoundedFontProgramCache} could be used
+     * to limit the memory consumed by the cache. The font programs cached by the previous cache are discarded.
+     *
+     * @param fontProgramCache the cache to use, or {@code null} to use the default unlimited cache
+     */
+    public static void setFontProgramCache(IFontProgramCache fontProgramCache) {
+        fontCache = fontProgramCache != null ? fontProgramCache : new DefaultFontProgramCache();
+    }
+
+    /**
+     * Gets the cache of the font programs created by {@link FontProgramFactory} with {@code cached} flag.
+     *
+     * @return the font program cache
+     */
+    public static IFontProgramCache getFontProgramCache() {
+        return fontCache;
     }
 
     private static void loadRegistry() throws java.io.IOException {
@@ -229,6 +320,12 @@ public class FontCache {
         return h;
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T extends AbstractCMap> T cacheCmap(String key, T cmap) {
+        AbstractCMap cachedCmap = parsedCmaps.putIfAbsent(key, cmap);
+        return cachedCmap != null ? (T) cachedCmap : cmap;
+    }
+
     private static <T extends AbstractCMap> T parseCmap(String name, T cmap) {
         try {
             CMapParser.parseCid(name, cmap, new CMapLocationResource());
@@ -237,4 +334,37 @@ public class FontCache {
         }
         return cmap;
     }
+
+    /**
+     * The default font program cache, which never evicts the font programs.
+     */
+    private static class DefaultFontProgramCache implements IFontProgramCache {
+
+        private final Map<FontCacheKey, FontProgram> fontPrograms = new ConcurrentHashMap<>();
+
+        @Override
+        public FontProgram get(FontCacheKey key) {
+            return fontPrograms.get(key);
+        }
+
+        @Override
+        public FontProgram put(FontCacheKey key, FontProgram fontProgram) {
+            FontProgram fontFound = fontPrograms.get(key);
+            if (fontFound != null) {
+                return fontFound;
+            }
+            fontPrograms.put(key, fontProgram);
+            return fontProgram;
+        }
+
+        @Override
+        public void invalidate(FontCacheKey key) {
+            fontPrograms.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            fontPrograms.clear();
+        }
+    }
 }
@@ -62,6 +62,15 @@ public abstract class FontCacheKey {
         return new FontCacheTtcKey(fontProgram, ttcIndex);
     }
 
+    /**
+     * Gets the length of the font data kept in memory by the font program created for this key.
+     *
+     * @return the length of the font data, or 0 if the font program is read from a file
+     */
+    long getDataLength() {
+        return 0;
+    }
+
     private static class FontCacheStringKey extends FontCacheKey {
         private String fontName;
 
@@ -116,6 +125,11 @@ public abstract class FontCacheKey {
             return hashcode;
         }
 
+        @Override
+        long getDataLength() {
+            return fontLength;
+        }
+
         private int calcHashCode() {
             int result = Arrays.hashCode(firstFontBytes);
             result = 31 * result + fontLength;
@@ -154,5 +168,10 @@ public abstract class FontCacheKey {
             result = 31 * result + ttcIndex;
             return result;
         }
+
+        @Override
+        long getDataLength() {
+            return ttcKey.getDataLength();
+        }
     }
 }
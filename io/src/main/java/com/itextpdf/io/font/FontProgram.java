@@ -50,9 +50,9 @@ import com.itextpdf.io.font.constants.FontWeights;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.io.util.IntObjectMap;
 
 import java.io.Serializable;
-import java.util.HashMap;
 import java.util.Map;
 
 public abstract class FontProgram implements Serializable {
@@ -64,8 +64,8 @@ public abstract class FontProgram implements Serializable {
 
     // In case Type1: char code to glyph.
     // In case TrueType: glyph index to glyph.
-    protected Map<Integer, Glyph> codeToGlyph = new HashMap<>();
-    protected Map<Integer, Glyph> unicodeToGlyph = new HashMap<>();
+    protected Map<Integer, Glyph> codeToGlyph = new IntObjectMap<>();
+    protected Map<Integer, Glyph> unicodeToGlyph = new IntObjectMap<>();
     protected boolean isFontSpecific;
 
     protected FontNames fontNames;
@@ -135,12 +135,12 @@ public abstract class FontProgram implements Serializable {
     }
 
     public Glyph getGlyph(int unicode) {
-        return unicodeToGlyph.get(unicode);
+        return getGlyph(unicodeToGlyph, unicode);
     }
 
     // char code in case Type1 or index in case OpenType
     public Glyph getGlyphByCode(int charCode) {
-        return codeToGlyph.get(charCode);
+        return getGlyph(codeToGlyph, charCode);
     }
 
     public boolean hasKernPairs() {
@@ -296,4 +296,9 @@ public abstract class FontProgram implements Serializable {
         String name = getFontNames().getFontName();
         return name.length() > 0 ? name : super.toString();
     }
+
+    private static Glyph getGlyph(Map<Integer, Glyph> glyphs, int key) {
+        // subclasses may replace the maps, so the lookup without boxing is used only when it is available
+        return glyphs instanceof IntObjectMap ? ((IntObjectMap<Glyph>) glyphs).get(key) : glyphs.get(key);
+    }
 }
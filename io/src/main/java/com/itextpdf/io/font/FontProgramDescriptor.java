@@ -77,6 +77,19 @@ public class FontProgramDescriptor {
         this(fontNames, fontMetrics.getItalicAngle(), fontMetrics.isFixedPitch());
     }
 
+    FontProgramDescriptor(String fontName, String fullNameLowerCase, String familyNameLowerCase, String style,
+                          int macStyle, int weight, float italicAngle, boolean isMonospace) {
+        this.fontName = fontName;
+        this.fontNameLowerCase = fontName.toLowerCase();
+        this.fullNameLowerCase = fullNameLowerCase;
+        this.familyNameLowerCase = familyNameLowerCase;
+        this.style = style;
+        this.macStyle = macStyle;
+        this.weight = weight;
+        this.italicAngle = italicAngle;
+        this.isMonospace = isMonospace;
+    }
+
     public String getFontName() {
         return fontName;
     }
@@ -116,4 +129,8 @@ public class FontProgramDescriptor {
     public String getFamilyNameLowerCase() {
         return familyNameLowerCase;
     }
+
+    int getMacStyle() {
+        return macStyle;
+    }
 }
@@ -0,0 +1,265 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.util.MessageFormatUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persistent index of {@link FontProgramDescriptor}s of font files.
+ * <p>
+ * Every entry is keyed by the font name (path to the font file, optionally with TTC index)
+ * and remembers the size and the last modification time of the file it was fetched from.
+ * A descriptor is fetched with {@link FontProgramDescriptorFactory} only if the font file
+ * is not indexed yet or was changed since the index was saved, so scanning big font directories
+ * parses only new and modified files. Files which can not be parsed are indexed as well,
+ * so they are not parsed again until they are changed.
+ * <p>
+ * The index is loaded on creation and written back with {@link #save()}.
+ * Fonts which are not backed by a file (e.g. standard or predefined CID fonts) are never indexed.
+ * This class is thread safe.
+ */
+public class FontProgramDescriptorIndex {
+
+    private static final int MAGIC = 0x46444958;
+    private static final int VERSION = 1;
+
+    private final String indexPath;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private boolean modified;
+    private int fetchedDescriptorsCount;
+
+    /**
+     * Creates a new instance of {@link FontProgramDescriptorIndex} and loads entries from the index file,
+     * if it exists. If the file can not be read, the index starts empty and the file is rewritten on {@link #save()}.
+     *
+     * @param indexPath path to the index file.
+     */
+    public FontProgramDescriptorIndex(String indexPath) {
+        this.indexPath = indexPath;
+        load();
+    }
+
+    /**
+     * Gets the descriptor of the font either from the index or, if the font file was changed
+     * or is not indexed yet, with {@link FontProgramDescriptorFactory#fetchDescriptor(String)}.
+     *
+     * @param fontName path to the font file, optionally with TTC index, or name of the built-in font.
+     * @return the font descriptor, or {@code null} if the font can not be parsed.
+     */
+    public FontProgramDescriptor fetchDescriptor(String fontName) {
+        if (fontName == null || fontName.length() == 0) {
+            return null;
+        }
+        File file = new File(getFontFilePath(fontName));
+        if (!file.isFile()) {
+            return FontProgramDescriptorFactory.fetchDescriptor(fontName);
+        }
+        long fileSize = file.length();
+        long lastModified = file.lastModified();
+        synchronized (this) {
+            Entry entry = entries.get(fontName);
+            if (entry != null && entry.fileSize == fileSize && entry.lastModified == lastModified) {
+                return entry.descriptor;
+            }
+        }
+        FontProgramDescriptor descriptor = FontProgramDescriptorFactory.fetchDescriptor(fontName);
+        synchronized (this) {
+            entries.put(fontName, new Entry(fileSize, lastModified, descriptor));
+            modified = true;
+            fetchedDescriptorsCount++;
+        }
+        return descriptor;
+    }
+
+    /**
+     * Writes the index to the index file, if it was changed since it was loaded or saved last time.
+     * Entries of font files which do not exist anymore are removed.
+     *
+     * @throws IOException if the index file can not be written.
+     */
+    public synchronized void save() throws IOException {
+        for (Iterator<String> iterator = entries.keySet().iterator(); iterator.hasNext(); ) {
+            if (!new File(getFontFilePath(iterator.next())).isFile()) {
+                iterator.remove();
+                modified = true;
+            }
+        }
+        if (!modified) {
+            return;
+        }
+        File indexFile = new File(indexPath);
+        File tempFile = new File(indexPath + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.writeLong(entry.fileSize);
+                out.writeLong(entry.lastModified);
+                FontProgramDescriptor descriptor = entry.descriptor;
+                out.writeBoolean(descriptor != null);
+                if (descriptor != null) {
+                    out.writeUTF(descriptor.getFontName());
+                    writeNullableString(out, descriptor.getFullNameLowerCase());
+                    writeNullableString(out, descriptor.getFamilyNameLowerCase());
+                    writeNullableString(out, descriptor.getStyle());
+                    out.writeInt(descriptor.getMacStyle());
+                    out.writeInt(descriptor.getFontWeight());
+                    out.writeFloat(descriptor.getItalicAngle());
+                    out.writeBoolean(descriptor.isMonospace());
+                }
+            }
+        }
+        // Replace the index at once, so that concurrent readers never see a partially written file.
+        if (!tempFile.renameTo(indexFile)) {
+            if (!indexFile.delete() || !tempFile.renameTo(indexFile)) {
+                tempFile.delete();
+                throw new IOException(MessageFormatUtil.format(LogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_SAVED, indexPath));
+            }
+        }
+        modified = false;
+    }
+
+    /**
+     * Gets the number of indexed font files.
+     *
+     * @return the number of entries in the index.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of descriptors which were fetched from font files by this instance,
+     * i.e. the number of font files which were not indexed yet or were changed.
+     *
+     * @return the number of parsed font files.
+     */
+    public synchronized int getFetchedDescriptorsCount() {
+        return fetchedDescriptorsCount;
+    }
+
+    private void load() {
+        File indexFile = new File(indexPath);
+        if (!indexFile.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown font descriptor index format.");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String fontName = in.readUTF();
+                long fileSize = in.readLong();
+                long lastModified = in.readLong();
+                FontProgramDescriptor descriptor = null;
+                if (in.readBoolean()) {
+                    String descriptorFontName = in.readUTF();
+                    String fullNameLowerCase = readNullableString(in);
+                    String familyNameLowerCase = readNullableString(in);
+                    String style = readNullableString(in);
+                    int macStyle = in.readInt();
+                    int weight = in.readInt();
+                    float italicAngle = in.readFloat();
+                    boolean isMonospace = in.readBoolean();
+                    descriptor = new FontProgramDescriptor(descriptorFontName, fullNameLowerCase, familyNameLowerCase,
+                            style, macStyle, weight, italicAngle, isMonospace);
+                }
+                entries.put(fontName, new Entry(fileSize, lastModified, descriptor));
+            }
+        } catch (IOException e) {
+            entries.clear();
+            modified = true;
+            Logger logger = LoggerFactory.getLogger(FontProgramDescriptorIndex.class);
+            logger.warn(MessageFormatUtil.format(LogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ, indexPath), e);
+        }
+    }
+
+    private static String getFontFilePath(String fontName) {
+        String baseName = FontProgram.trimFontStyle(fontName);
+        int ttcSplit = baseName.toLowerCase().indexOf(".ttc,");
+        return ttcSplit > 0 ? baseName.substring(0, ttcSplit + 4) : baseName;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static class Entry {
+        final long fileSize;
+        final long lastModified;
+        final FontProgramDescriptor descriptor;
+
+        Entry(long fileSize, long lastModified, FontProgramDescriptor descriptor) {
+            this.fileSize = fileSize;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+        }
+    }
+}
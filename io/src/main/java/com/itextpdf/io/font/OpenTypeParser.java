@@ -222,13 +222,26 @@ class OpenTypeParser implements Serializable, Closeable {
      */
     protected Map<String, int[]> tables;
 
+    /**
+     * The original font data, if the font was read from a byte array. It is used instead of
+     * copying the whole font once again, when full font data is requested.
+     */
+    private transient byte[] fontData;
+
+    /**
+     * The glyph index built by the first subset of the font and reused by the following ones.
+     */
+    private transient volatile TrueTypeGlyphIndex glyphIndex;
+
     public OpenTypeParser(byte[] ttf) throws java.io.IOException {
+        fontData = ttf;
         raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(ttf));
         initializeSfntTables();
     }
 
     public OpenTypeParser(byte[] ttc, int ttcIndex) throws java.io.IOException {
         this.ttcIndex = ttcIndex;
+        fontData = ttc;
         raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(ttc));
         initializeSfntTables();
     }
@@ -329,6 +342,9 @@ class OpenTypeParser implements Serializable, Closeable {
     }
 
     public byte[] getFullFont() throws java.io.IOException {
+        if (fontData != null) {
+            return fontData;
+        }
         RandomAccessFileOrArray rf2 = null;
         try {
             rf2 = raf.createView();
@@ -375,8 +391,19 @@ class OpenTypeParser implements Serializable, Closeable {
 
     public byte[] getSubset(Set<Integer> glyphs, boolean subset) throws java.io.IOException {
         TrueTypeFontSubset sb = new TrueTypeFontSubset(fileName,
-                raf.createView(), glyphs, directoryOffset, true, !subset);
-        return sb.process();
+                raf.createView(), glyphs, directoryOffset, true, !subset, glyphIndex);
+        byte[] result = sb.process();
+        glyphIndex = sb.getGlyphIndex();
+        return result;
+    }
+
+    /**
+     * Gets the glyph index shared by the subsets of this font.
+     *
+     * @return the glyph index, or {@code null} if the font has not been subset yet
+     */
+    TrueTypeGlyphIndex getGlyphIndex() {
+        return glyphIndex;
     }
 
     @Override
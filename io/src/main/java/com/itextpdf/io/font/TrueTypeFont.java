@@ -51,11 +51,11 @@ import com.itextpdf.io.font.otf.GlyphPositioningTableReader;
 import com.itextpdf.io.font.otf.GlyphSubstitutionTableReader;
 import com.itextpdf.io.font.otf.OpenTypeGdefTableReader;
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.itextpdf.io.util.MessageFormatUtil;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -73,6 +73,11 @@ public class TrueTypeFont extends FontProgram {
     private GlyphPositioningTableReader gposTable;
     private OpenTypeGdefTableReader gdefTable;
 
+    /**
+     * GDEF, GSUB and GPOS tables are read on first request, since they are only needed for advanced typography.
+     */
+    private volatile boolean layoutTablesRead;
+
     /**
      * The map containing the kerning information. It represents the content of
      * table 'kern'. The key is an <CODE>Integer</CODE> where the top 16 bits
@@ -154,10 +159,14 @@ public class TrueTypeFont extends FontProgram {
     public byte[] getFontStreamBytes() {
         if (fontStreamBytes != null)
             return fontStreamBytes;
+        if (fontParser == null) {
+            throw new IOException(IOException.IoException);
+        }
         try {
             if (fontParser.isCff()) {
                 fontStreamBytes = fontParser.readCffFont();
             } else {
+                // fonts read from a byte array return their own data, so only fonts read from a file are copied here
                 fontStreamBytes = fontParser.getFullFont();
             }
         } catch (java.io.IOException e) {
@@ -192,14 +201,17 @@ public class TrueTypeFont extends FontProgram {
     }
 
     public GlyphSubstitutionTableReader getGsubTable() {
+        ensureLayoutTablesRead();
         return gsubTable;
     }
 
     public GlyphPositioningTableReader getGposTable() {
+        ensureLayoutTablesRead();
         return gposTable;
     }
 
     public OpenTypeGdefTableReader getGdefTable() {
+        ensureLayoutTablesRead();
         return gdefTable;
     }
 
@@ -235,6 +247,25 @@ public class TrueTypeFont extends FontProgram {
         }
     }
 
+    private void ensureLayoutTablesRead() {
+        if (!layoutTablesRead) {
+            synchronized (this) {
+                if (!layoutTablesRead) {
+                    if (fontParser != null) {
+                        try {
+                            readGdefTable();
+                            readGsubTable();
+                            readGposTable();
+                        } catch (java.io.IOException e) {
+                            throw new IOException(IOException.IoException, e);
+                        }
+                    }
+                    layoutTablesRead = true;
+                }
+            }
+        }
+    }
+
     private void initializeFontProperties() throws java.io.IOException {
         // initialize sfnt tables
         OpenTypeParser.HeaderTable head = fontParser.getHeadTable();
@@ -293,8 +324,8 @@ public class TrueTypeFont extends FontProgram {
         Map<Integer, int[]> cmap = getActiveCmap();
         int[] glyphWidths = fontParser.getGlyphWidthsByIndex();
         int numOfGlyphs = fontMetrics.getNumberOfGlyphs();
-        unicodeToGlyph = new LinkedHashMap<>(cmap.size());
-        codeToGlyph = new LinkedHashMap<>(numOfGlyphs);
+        unicodeToGlyph = new IntObjectMap<>();
+        codeToGlyph = new IntObjectMap<>();
         avgWidth = 0;
         for (int charCode : cmap.keySet()) {
             int index = cmap.get(charCode)[0];
@@ -326,10 +357,6 @@ public class TrueTypeFont extends FontProgram {
             avgWidth /= codeToGlyph.size();
         }
 
-        readGdefTable();
-        readGsubTable();
-        readGposTable();
-
         isVertical = false;
     }
 
@@ -360,6 +387,8 @@ public class TrueTypeFont extends FontProgram {
 
     public void close() throws java.io.IOException {
         if (fontParser != null) {
+            // Layout tables can not be read once the font file is closed.
+            ensureLayoutTablesRead();
             fontParser.close();
         }
         fontParser = null;
@@ -100,12 +100,13 @@ class TrueTypeFontSubset {
     protected int tableGlyphOffset;
     protected int[] newLocaTable;
     protected byte[] newLocaTableOut;
-    protected byte[] newGlyfTable;
+    protected int[] activeGlyphs;
     protected int glyfTableRealSize;
     protected int locaTableRealSize;
     protected byte[] outFont;
     protected int fontPtr;
     protected int directoryOffset;
+    protected TrueTypeGlyphIndex glyphIndex;
 
     /**
      * Creates a new TrueTypeFontSubSet
@@ -116,6 +117,20 @@ class TrueTypeFontSubset {
      * @param includeCmap     {@code true} if the table cmap is to be included in the generated font
      */
     TrueTypeFontSubset(String fileName, RandomAccessFileOrArray rf, Set<Integer> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras) {
+        this(fileName, rf, glyphsUsed, directoryOffset, includeCmap, includeExtras, null);
+    }
+
+    /**
+     * Creates a new TrueTypeFontSubSet that reuses the glyph index built by a previous subset of the same font.
+     *
+     * @param directoryOffset The offset from the start of the file to the table directory
+     * @param fileName        the file name of the font
+     * @param glyphsUsed      the glyphs used
+     * @param includeCmap     {@code true} if the table cmap is to be included in the generated font
+     * @param glyphIndex      the glyph index of the font, or {@code null} if it shall be read from the font file
+     */
+    TrueTypeFontSubset(String fileName, RandomAccessFileOrArray rf, Set<Integer> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras, TrueTypeGlyphIndex glyphIndex) {
+        this.glyphIndex = glyphIndex;
         this.fileName = fileName;
         this.rf = rf;
         this.glyphsUsed = glyphsUsed;
@@ -134,8 +149,15 @@ class TrueTypeFontSubset {
      */
     byte[] process() throws java.io.IOException {
         try {
-            createTableDirectory();
-            readLoca();
+            if (glyphIndex != null) {
+                tableDirectory = glyphIndex.getTableDirectory();
+                locaShortTable = glyphIndex.isLocaShortTable();
+                locaTable = glyphIndex.getLocaTable();
+            } else {
+                createTableDirectory();
+                readLoca();
+                glyphIndex = new TrueTypeGlyphIndex(tableDirectory, locaShortTable, locaTable);
+            }
             flatGlyphs();
             createNewGlyphTables();
             locaToBytes();
@@ -149,6 +171,15 @@ class TrueTypeFontSubset {
         }
     }
 
+    /**
+     * Gets the glyph index used by this subset. It can be passed to the next subset of the same font.
+     *
+     * @return the glyph index, or {@code null} if the font has not been processed yet
+     */
+    TrueTypeGlyphIndex getGlyphIndex() {
+        return glyphIndex;
+    }
+
     protected void assembleFont() throws java.io.IOException {
         int[] tableLocation;
         int fullFontSize = 0;
@@ -172,7 +203,8 @@ class TrueTypeFontSubset {
             fullFontSize += tableLocation[TABLE_LENGTH] + 3 & ~3;
         }
         fullFontSize += newLocaTableOut.length;
-        fullFontSize += newGlyfTable.length;
+        int glyfTableSize = glyfTableRealSize + 3 & ~3;
+        fullFontSize += glyfTableSize;
         int reference = 16 * tablesUsed + 12;
         fullFontSize += reference;
         outFont = new byte[fullFontSize];
@@ -183,6 +215,7 @@ class TrueTypeFontSubset {
         writeFontShort((1 << selector) * 16);
         writeFontShort(selector);
         writeFontShort((tablesUsed - (1 << selector)) * 16);
+        int glyfChecksumPtr = -1;
         for (String name : tableNames) {
             int len;
             tableLocation = tableDirectory.get(name);
@@ -192,7 +225,9 @@ class TrueTypeFontSubset {
             writeFontString(name);
             switch (name) {
                 case "glyf":
-                    writeFontInt(calculateChecksum(newGlyfTable));
+                    // glyf data is copied straight into the font, the checksum is written afterwards
+                    glyfChecksumPtr = fontPtr;
+                    fontPtr += 4;
                     len = glyfTableRealSize;
                     break;
                 case "loca":
@@ -215,9 +250,11 @@ class TrueTypeFontSubset {
             }
             switch (name) {
                 case "glyf":
-                    System.arraycopy(newGlyfTable, 0, outFont, fontPtr, newGlyfTable.length);
-                    fontPtr += newGlyfTable.length;
-                    newGlyfTable = null;
+                    int glyfStart = fontPtr;
+                    copyGlyphs(glyfStart);
+                    fontPtr = glyfChecksumPtr;
+                    writeFontInt(calculateChecksum(outFont, glyfStart, glyfTableSize));
+                    fontPtr = glyfStart + glyfTableSize;
                     break;
                 case "loca":
                     System.arraycopy(newLocaTableOut, 0, outFont, fontPtr, newLocaTableOut.length);
@@ -281,7 +318,7 @@ class TrueTypeFontSubset {
 
     protected void createNewGlyphTables() throws java.io.IOException {
         newLocaTable = new int[locaTable.length];
-        int[] activeGlyphs = new int[glyphsInList.size()];
+        activeGlyphs = new int[glyphsInList.size()];
         for (int k = 0; k < activeGlyphs.length; ++k) {
             activeGlyphs[k] = (int) glyphsInList.get(k);
         }
@@ -291,8 +328,6 @@ class TrueTypeFontSubset {
             glyfSize += locaTable[glyph + 1] - locaTable[glyph];
         }
         glyfTableRealSize = glyfSize;
-        glyfSize = glyfSize + 3 & ~3;
-        newGlyfTable = new byte[glyfSize];
         int glyfPtr = 0;
         int listGlyf = 0;
         for (int k = 0; k < newLocaTable.length; ++k) {
@@ -300,17 +335,48 @@ class TrueTypeFontSubset {
             if (listGlyf < activeGlyphs.length && activeGlyphs[listGlyf] == k) {
                 ++listGlyf;
                 newLocaTable[k] = glyfPtr;
-                int start = locaTable[k];
-                int len = locaTable[k + 1] - start;
+                int len = locaTable[k + 1] - locaTable[k];
                 if (len > 0) {
-                    rf.seek(tableGlyphOffset + start);
-                    rf.readFully(newGlyfTable, glyfPtr, len);
                     glyfPtr += len;
                 }
             }
         }
     }
 
+    /**
+     * Copies the data of the active glyphs into the output font. Glyphs that are adjacent
+     * in the original {@code glyf} table are read at once.
+     *
+     * @param offset the position of the new {@code glyf} table in the output font
+     * @throws java.io.IOException the font file could not be read
+     */
+    protected void copyGlyphs(int offset) throws java.io.IOException {
+        int runStart = -1;
+        int runEnd = -1;
+        for (int glyph : activeGlyphs) {
+            int start = locaTable[glyph];
+            int len = locaTable[glyph + 1] - start;
+            if (len <= 0) {
+                continue;
+            }
+            if (start == runEnd) {
+                runEnd += len;
+                continue;
+            }
+            if (runEnd > runStart) {
+                rf.seek(tableGlyphOffset + runStart);
+                rf.readFully(outFont, offset, runEnd - runStart);
+                offset += runEnd - runStart;
+            }
+            runStart = start;
+            runEnd = start + len;
+        }
+        if (runEnd > runStart) {
+            rf.seek(tableGlyphOffset + runStart);
+            rf.readFully(outFont, offset, runEnd - runStart);
+        }
+    }
+
     protected void locaToBytes() {
         if (locaShortTable) {
             locaTableRealSize = newLocaTable.length * 2;
@@ -346,25 +412,47 @@ class TrueTypeFontSubset {
     }
 
     protected void checkGlyphComposite(int glyph) throws java.io.IOException {
+        int[] components = glyphIndex.getComponents(glyph);
+        if (components == null) {
+            components = readGlyphComponents(glyph);
+            glyphIndex.setComponents(glyph, components);
+        }
+        for (int cGlyph : components) {
+            if (!glyphsUsed.contains(cGlyph)) {
+                glyphsUsed.add(cGlyph);
+                glyphsInList.add(cGlyph);
+            }
+        }
+    }
+
+    /**
+     * Reads the glyph ids a composite glyph refers to.
+     *
+     * @param glyph the glyph id
+     * @return the component glyph ids, or an empty array if the glyph is not composite
+     * @throws java.io.IOException the font file could not be read
+     */
+    protected int[] readGlyphComponents(int glyph) throws java.io.IOException {
         int start = locaTable[glyph];
         if (start == locaTable[glyph + 1]) {// no contour
-            return;
+            return new int[0];
         }
         rf.seek(tableGlyphOffset + start);
         int numContours = rf.readShort();
         if (numContours >= 0) {
-            return;
+            return new int[0];
         }
         rf.skipBytes(8);
+        List<Integer> components = new ArrayList<>();
         for (; ; ) {
             int flags = rf.readUnsignedShort();
-            int cGlyph = rf.readUnsignedShort();
-            if (!glyphsUsed.contains(cGlyph)) {
-                glyphsUsed.add(cGlyph);
-                glyphsInList.add(cGlyph);
-            }
+            components.add(rf.readUnsignedShort());
             if ((flags & MORE_COMPONENTS) == 0) {
-                return;
+                int[] result = new int[components.size()];
+                for (int k = 0; k < result.length; ++k) {
+                    result[k] = (int) components.get(k);
+                }
+                return result;
             }
             int skip;
             if ((flags & ARG_1_AND_2_ARE_WORDS) != 0) {
@@ -420,12 +508,16 @@ class TrueTypeFontSubset {
     }
 
     protected int calculateChecksum(byte[] b) {
-        int len = b.length / 4;
+        return calculateChecksum(b, 0, b.length);
+    }
+
+    protected int calculateChecksum(byte[] b, int offset, int length) {
+        int len = length / 4;
         int v0 = 0;
         int v1 = 0;
         int v2 = 0;
         int v3 = 0;
-        int ptr = 0;
+        int ptr = offset;
         for (int k = 0; k < len; ++k) {
             v3 += b[ptr++] & 0xff;
             v2 += b[ptr++] & 0xff;
@@ -0,0 +1,121 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Parsed glyph location data of a TrueType font that is shared between the subsets of the same font program.
+ * <p>
+ * The table directory and the {@code loca} table are read once, composite glyph dependencies are resolved
+ * lazily and memoized per glyph, so subsetting the same font in several documents does not read and walk
+ * the {@code glyf} table again.
+ */
+final class TrueTypeGlyphIndex {
+
+    private static final int[] NO_COMPONENTS = new int[0];
+
+    private final Map<String, int[]> tableDirectory;
+    private final boolean locaShortTable;
+    private final int[] locaTable;
+    private final AtomicReferenceArray<int[]> components;
+
+    TrueTypeGlyphIndex(Map<String, int[]> tableDirectory, boolean locaShortTable, int[] locaTable) {
+        this.tableDirectory = Collections.unmodifiableMap(tableDirectory);
+        this.locaShortTable = locaShortTable;
+        this.locaTable = locaTable;
+        this.components = new AtomicReferenceArray<>(Math.max(locaTable.length - 1, 0));
+    }
+
+    /**
+     * Gets the table directory, the values must not be modified.
+     *
+     * @return the table directory
+     */
+    Map<String, int[]> getTableDirectory() {
+        return tableDirectory;
+    }
+
+    boolean isLocaShortTable() {
+        return locaShortTable;
+    }
+
+    /**
+     * Gets the glyph offsets read from the {@code loca} table, the array must not be modified.
+     *
+     * @return the glyph offsets
+     */
+    int[] getLocaTable() {
+        return locaTable;
+    }
+
+    /**
+     * Gets the memoized components of a glyph.
+     *
+     * @param glyph the glyph id
+     * @return the glyph ids the glyph is composed of, an empty array for a simple glyph,
+     * or {@code null} if the glyph has not been resolved yet
+     */
+    int[] getComponents(int glyph) {
+        return glyph >= 0 && glyph < components.length() ? components.get(glyph) : null;
+    }
+
+    void setComponents(int glyph, int[] glyphComponents) {
+        if (glyph >= 0 && glyph < components.length()) {
+            components.set(glyph, glyphComponents.length == 0 ? NO_COMPONENTS : glyphComponents);
+        }
+    }
+
+    int getResolvedGlyphsCount() {
+        int count = 0;
+        for (int k = 0; k < components.length(); ++k) {
+            if (components.get(k) != null) {
+                ++count;
+            }
+        }
+        return count;
+    }
+}
@@ -43,12 +43,12 @@
  */
 package com.itextpdf.io.font.otf;
 
+import com.itextpdf.io.util.IntObjectMap;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 
 
 /**
@@ -104,7 +104,7 @@ public class GposLookupType2 extends OpenTableLookup {
 
         private static final long serialVersionUID = -5556528810086852702L;
 
-        private Map<Integer,Map<Integer,PairValueFormat>> gposMap = new HashMap<>();
+        private IntObjectMap<PairSet> gposMap = new IntObjectMap<>();
 
         public PairPosAdjustmentFormat1(OpenTypeFontTableReader openReader, int lookupFlag, int subtableLocation) throws java.io.IOException {
             super(openReader, lookupFlag, null);
@@ -116,7 +116,7 @@ public class GposLookupType2 extends OpenTableLookup {
                 return false;
             boolean changed = false;
             Glyph g1 = line.get(line.idx);
-            Map<Integer,PairValueFormat> m = gposMap.get(g1.getCode());
+            PairSet m = gposMap.get(g1.getCode());
             if (m != null) {
                 GlyphIndexer gi = new GlyphIndexer();
                 gi.line = line;
@@ -145,16 +145,17 @@ public class GposLookupType2 extends OpenTableLookup {
             List<Integer> coverageList = openReader.readCoverageFormat(coverage);
             for (int k = 0; k < pairSetCount; ++k) {
                 openReader.rf.seek(locationRule[k]);
-                Map<Integer,PairValueFormat> pairs = new HashMap<>();
-                gposMap.put(coverageList.get(k), pairs);
                 int pairValueCount = openReader.rf.readUnsignedShort();
+                PairSet pairs = new PairSet(pairValueCount);
+                gposMap.put(coverageList.get(k), pairs);
                 for (int j = 0; j < pairValueCount; ++j) {
                     int glyph2 = openReader.rf.readUnsignedShort();
                     PairValueFormat pair = new PairValueFormat();
                     pair.first = OtfReadCommon.readGposValueRecord(openReader, valueFormat1);
                     pair.second = OtfReadCommon.readGposValueRecord(openReader, valueFormat2);
-                    pairs.put(glyph2, pair);
+                    pairs.put(j, glyph2, pair);
                 }
+                pairs.sort();
             }
         }
 
@@ -168,8 +169,8 @@ public class GposLookupType2 extends OpenTableLookup {
         private static final long serialVersionUID = 3056620748845862393L;
         private OtfClass classDef1;
         private OtfClass classDef2;
-        private HashSet<Integer> coverageSet;
-        private Map<Integer,PairValueFormat[]> posSubs = new HashMap<>();
+        private OtfCoverage coverageSet;
+        private PairValueFormat[][] posSubs;
 
         public PairPosAdjustmentFormat2(OpenTypeFontTableReader openReader, int lookupFlag, int subtableLocation) throws java.io.IOException {
             super(openReader, lookupFlag, null);
@@ -183,7 +184,7 @@ public class GposLookupType2 extends OpenTableLookup {
             if (!coverageSet.contains(g1.getCode()))
                 return false;
             int c1 = classDef1.getOtfClass(g1.getCode());
-            PairValueFormat[] pvs = posSubs.get(c1);
+            PairValueFormat[] pvs = c1 >= 0 && c1 < posSubs.length ? posSubs[c1] : null;
             if (pvs == null)
                 return false;
             GlyphIndexer gi = new GlyphIndexer();
@@ -212,9 +213,10 @@ public class GposLookupType2 extends OpenTableLookup {
             int class1Count = openReader.rf.readUnsignedShort();
             int class2Count = openReader.rf.readUnsignedShort();
 
+            posSubs = new PairValueFormat[class1Count][];
             for (int k = 0; k < class1Count; ++k) {
                 PairValueFormat[] pairs = new PairValueFormat[class2Count];
-                posSubs.put(k, pairs);
+                posSubs[k] = pairs;
                 for (int j = 0; j < class2Count; ++j) {
                     PairValueFormat pair = new PairValueFormat();
                     pair.first = OtfReadCommon.readGposValueRecord(openReader, valueFormat1);
@@ -223,7 +225,7 @@ public class GposLookupType2 extends OpenTableLookup {
                 }
             }
 
-            coverageSet = new HashSet<>(openReader.readCoverageFormat(coverage));
+            coverageSet = new OtfCoverage(openReader.readCoverageFormat(coverage));
             classDef1 = openReader.readClassDefinition(locationClass1);
             classDef2 = openReader.readClassDefinition(locationClass2);
         }
@@ -234,6 +236,66 @@ public class GposLookupType2 extends OpenTableLookup {
         }
     }
 
+    /**
+     * Second glyphs of the pairs that start with the same glyph, sorted by glyph id.
+     */
+    private static class PairSet implements Serializable {
+        private static final long serialVersionUID = 2415489421561328637L;
+        private int[] secondGlyphs;
+        private PairValueFormat[] values;
+
+        PairSet(int size) {
+            secondGlyphs = new int[size];
+            values = new PairValueFormat[size];
+        }
+
+        void put(int index, int secondGlyph, PairValueFormat value) {
+            secondGlyphs[index] = secondGlyph;
+            values[index] = value;
+        }
+
+        void sort() {
+            for (int k = 1; k < secondGlyphs.length; ++k) {
+                if (secondGlyphs[k - 1] >= secondGlyphs[k]) {
+                    sortPairs();
+                    return;
+                }
+            }
+        }
+
+        PairValueFormat get(int secondGlyph) {
+            int index = Arrays.binarySearch(secondGlyphs, secondGlyph);
+            return index >= 0 ? values[index] : null;
+        }
+
+        private void sortPairs() {
+            // the last pair wins for duplicate glyphs, as it did when the pairs were stored in a map
+            Integer[] order = new Integer[secondGlyphs.length];
+            for (int k = 0; k < order.length; ++k) {
+                order[k] = k;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer o1, Integer o2) {
+                    int c = Integer.compare(secondGlyphs[o1], secondGlyphs[o2]);
+                    return c != 0 ? c : Integer.compare(o2, o1);
+                }
+            });
+            int[] sortedGlyphs = new int[order.length];
+            PairValueFormat[] sortedValues = new PairValueFormat[order.length];
+            int size = 0;
+            for (Integer index : order) {
+                if (size > 0 && sortedGlyphs[size - 1] == secondGlyphs[index]) {
+                    continue;
+                }
+                sortedGlyphs[size] = secondGlyphs[index];
+                sortedValues[size++] = values[index];
+            }
+            secondGlyphs = Arrays.copyOf(sortedGlyphs, size);
+            values = Arrays.copyOf(sortedValues, size);
+        }
+    }
+
     private static class PairValueFormat implements Serializable {
         private static final long serialVersionUID = -6442882035589529495L;
         public GposValueRecord first;
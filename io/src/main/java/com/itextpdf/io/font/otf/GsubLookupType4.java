@@ -43,10 +43,9 @@
  */
 package com.itextpdf.io.font.otf;
 
+import com.itextpdf.io.util.IntObjectMap;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * LookupType 4: Ligature Substitution Subtable
@@ -58,11 +57,11 @@ public class GsubLookupType4 extends OpenTableLookup {
      * The key is the first character. The first element in the int array is the
      * output ligature
      */
-    private Map<Integer,List<int[]>> ligatures;
+    private IntObjectMap<List<int[]>> ligatures;
     
     public GsubLookupType4(OpenTypeFontTableReader openReader, int lookupFlag, int[] subTableLocations) throws java.io.IOException {
         super(openReader, lookupFlag, subTableLocations);
-        ligatures = new HashMap<>();
+        ligatures = new IntObjectMap<>();
         readSubTables();
     }
     
@@ -74,10 +73,10 @@ public class GsubLookupType4 extends OpenTableLookup {
         boolean changed = false;
         Glyph g = line.get(line.idx);
         boolean match = false;
-        if (ligatures.containsKey(g.getCode()) && !openReader.isSkip(g.getCode(), lookupFlag)) {
+        List<int[]> ligs = ligatures.get(g.getCode());
+        if (ligs != null && !openReader.isSkip(g.getCode(), lookupFlag)) {
             GlyphIndexer gidx = new GlyphIndexer();
             gidx.line = line;
-            List<int[]> ligs = ligatures.get(g.getCode());
             for (int[] lig : ligs) {
                 match = true;
                 gidx.idx = line.idx;
@@ -49,7 +49,6 @@ import com.itextpdf.io.font.otf.lookuptype6.SubTableLookup6Format3;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -107,7 +106,7 @@ public class GsubLookupType6 extends GsubLookupType5 {
         int chainSubClassSetCount = openReader.rf.readUnsignedShort();
         int[] chainSubClassSetOffsets = openReader.readUShortArray(chainSubClassSetCount, subTableLocation);
 
-        Set<Integer> coverageGlyphIds = new HashSet<>(openReader.readCoverageFormat(subTableLocation + coverageOffset));
+        Set<Integer> coverageGlyphIds = new OtfCoverage(openReader.readCoverageFormat(subTableLocation + coverageOffset));
         OtfClass backtrackClassDefinition = openReader.readClassDefinition(subTableLocation + backtrackClassDefOffset);
         OtfClass inputClassDefinition = openReader.readClassDefinition(subTableLocation + inputClassDefOffset);
         OtfClass lookaheadClassDefinition = openReader.readClassDefinition(subTableLocation + lookaheadClassDefOffset);
@@ -44,14 +44,18 @@
 package com.itextpdf.io.font.otf;
 
 import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.io.util.IntObjectMap;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -67,21 +71,26 @@ public abstract class OpenTypeFontTableReader implements Serializable {
     protected OpenTypeScript scriptsType;
     protected OpenTypeFeature featuresType;
     private final Map<Integer, Glyph> indexGlyphMap;
+    private final IntObjectMap<Glyph> indexGlyphIntMap;
+    // lookup lists of the requested feature sets, they depend only on the font and are reused by all shaped texts
+    private transient volatile Map<List<FeatureRecord>, List<OpenTableLookup>> featureLookupsCache;
     private final OpenTypeGdefTableReader gdef;
 
     private final int unitsPerEm;
 
+	@SuppressWarnings("unchecked")
 	protected OpenTypeFontTableReader(RandomAccessFileOrArray rf, int tableLocation, OpenTypeGdefTableReader gdef,
                                    Map<Integer, Glyph> indexGlyphMap, int unitsPerEm) throws java.io.IOException {
 		this.rf = rf;
 		this.tableLocation = tableLocation;
         this.indexGlyphMap = indexGlyphMap;
+        this.indexGlyphIntMap = indexGlyphMap instanceof IntObjectMap ? (IntObjectMap<Glyph>) indexGlyphMap : null;
         this.gdef = gdef;
         this.unitsPerEm = unitsPerEm;
 	}
 
     public Glyph getGlyph(int index) {
-        return indexGlyphMap.get(index);
+        return indexGlyphIntMap != null ? indexGlyphIntMap.get(index) : indexGlyphMap.get(index);
     }
 
     public OpenTableLookup getLookupTable(int idx) {
@@ -136,7 +145,29 @@ public abstract class OpenTypeFontTableReader implements Serializable {
         return featuresType.getRecord(rec.featureRequired);
     }
 
+    /**
+     * Gets the lookups of the features ordered by their index in the lookup list.
+     * The lookup list of a set of features is computed once and reused.
+     *
+     * @param features the features
+     * @return the list of lookups, which can be modified by the caller
+     */
     public List<OpenTableLookup> getLookups(FeatureRecord[] features) {
+        Map<List<FeatureRecord>, List<OpenTableLookup>> cache = featureLookupsCache;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            featureLookupsCache = cache;
+        }
+        List<FeatureRecord> key = Arrays.asList(features.clone());
+        List<OpenTableLookup> lookups = cache.get(key);
+        if (lookups == null) {
+            lookups = Collections.unmodifiableList(collectLookups(features));
+            cache.put(key, lookups);
+        }
+        return new ArrayList<>(lookups);
+    }
+
+    private List<OpenTableLookup> collectLookups(FeatureRecord[] features) {
         IntHashtable hash = new IntHashtable();
         for (FeatureRecord rec : features) {
             for (int idx : rec.lookups) {
@@ -44,7 +44,6 @@
 package com.itextpdf.io.font.otf;
 
 import com.itextpdf.io.LogMessageConstant;
-import com.itextpdf.io.util.IntHashtable;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.util.MessageFormatUtil;
 import org.slf4j.Logger;
@@ -52,6 +51,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 
 public class OtfClass implements Serializable {
 
@@ -60,8 +60,15 @@ public class OtfClass implements Serializable {
     public static final int GLYPH_MARK = 3;
     private static final long serialVersionUID = -7584495836452964728L;
 
-    //key is glyph, value is class inside all 2
-    private IntHashtable mapClass = new IntHashtable();
+    private static final int NO_CLASS = -1;
+
+    // format 1 and overlapping format 2 class definitions: classes of glyphs starting at firstGlyph, NO_CLASS if not defined
+    private int firstGlyph;
+    private int[] glyphClasses;
+    // format 2 class definitions: sorted non-overlapping glyph ranges
+    private int[] rangeStarts;
+    private int[] rangeEnds;
+    private int[] rangeClasses;
 
     private OtfClass(RandomAccessFileOrArray rf, int classLocation) throws java.io.IOException {
         rf.seek(classLocation);
@@ -69,21 +76,28 @@ public class OtfClass implements Serializable {
         if (classFormat == 1) {
             int startGlyph = rf.readUnsignedShort();
             int glyphCount = rf.readUnsignedShort();
-            int endGlyph = startGlyph + glyphCount;
-            for (int k = startGlyph; k < endGlyph; ++k) {
-                int cl = rf.readUnsignedShort();
-                mapClass.put(k, cl);
+            firstGlyph = startGlyph;
+            glyphClasses = new int[glyphCount];
+            for (int k = 0; k < glyphCount; ++k) {
+                glyphClasses[k] = rf.readUnsignedShort();
             }
         } else if (classFormat == 2) {
             int classRangeCount = rf.readUnsignedShort();
+            rangeStarts = new int[classRangeCount];
+            rangeEnds = new int[classRangeCount];
+            rangeClasses = new int[classRangeCount];
+            boolean sorted = true;
             for (int k = 0; k < classRangeCount; ++k) {
-                int glyphStart = rf.readUnsignedShort();
-                int glyphEnd = rf.readUnsignedShort();
-                int cl = rf.readUnsignedShort();
-                for (; glyphStart <= glyphEnd; ++glyphStart) {
-                    mapClass.put(glyphStart, cl);
+                rangeStarts[k] = rf.readUnsignedShort();
+                rangeEnds[k] = rf.readUnsignedShort();
+                rangeClasses[k] = rf.readUnsignedShort();
+                if (k > 0 && rangeStarts[k] <= rangeEnds[k - 1]) {
+                    sorted = false;
                 }
             }
+            if (!sorted) {
+                flattenRanges();
+            }
         } else {
             throw new java.io.IOException("Invalid class format " + classFormat);
         }
@@ -102,7 +116,8 @@ public class OtfClass implements Serializable {
     }
 
     public int getOtfClass(int glyph) {
-        return mapClass.get(glyph);
+        int cl = findClass(glyph);
+        return cl == NO_CLASS ? 0 : cl;
     }
 
     public boolean isMarkOtfClass(int glyph) {
@@ -110,18 +125,51 @@ public class OtfClass implements Serializable {
     }
 
     public boolean hasClass(int glyph) {
-        return mapClass.containsKey(glyph);
+        return findClass(glyph) != NO_CLASS;
     }
 
     public int getOtfClass(int glyph, boolean strict) {
         if (strict) {
-            if (mapClass.containsKey(glyph)) {
-                return mapClass.get(glyph);
-            } else {
-                return -1;
-            }
+            return findClass(glyph);
         } else {
-            return mapClass.get(glyph);
+            return getOtfClass(glyph);
+        }
+    }
+
+    private int findClass(int glyph) {
+        if (glyphClasses != null) {
+            int index = glyph - firstGlyph;
+            return index >= 0 && index < glyphClasses.length ? glyphClasses[index] : NO_CLASS;
+        }
+        int index = Arrays.binarySearch(rangeStarts, glyph);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index >= 0 && glyph <= rangeEnds[index] ? rangeClasses[index] : NO_CLASS;
+    }
+
+    /**
+     * Replaces unsorted or overlapping class ranges with a dense array. Later ranges override earlier ones.
+     */
+    private void flattenRanges() {
+        int minGlyph = Integer.MAX_VALUE;
+        int maxGlyph = -1;
+        for (int k = 0; k < rangeStarts.length; ++k) {
+            if (rangeStarts[k] <= rangeEnds[k]) {
+                minGlyph = Math.min(minGlyph, rangeStarts[k]);
+                maxGlyph = Math.max(maxGlyph, rangeEnds[k]);
+            }
+        }
+        firstGlyph = maxGlyph < 0 ? 0 : minGlyph;
+        glyphClasses = new int[maxGlyph < 0 ? 0 : maxGlyph - minGlyph + 1];
+        Arrays.fill(glyphClasses, NO_CLASS);
+        for (int k = 0; k < rangeStarts.length; ++k) {
+            for (int glyph = rangeStarts[k]; glyph <= rangeEnds[k]; ++glyph) {
+                glyphClasses[glyph - firstGlyph] = rangeClasses[k];
+            }
         }
+        rangeStarts = null;
+        rangeEnds = null;
+        rangeClasses = null;
     }
 }
@@ -0,0 +1,166 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.otf;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable set of glyph ids read from an OpenType coverage table.
+ * <p>
+ * Dense coverages are stored as a bitset starting at the smallest glyph id, sparse ones as a sorted
+ * array that is searched with binary search. Use {@link #contains(int)} to check a glyph without boxing.
+ */
+public class OtfCoverage extends AbstractSet<Integer> implements Serializable {
+
+    private static final long serialVersionUID = -4224431530640009434L;
+
+    private final int[] glyphIds;
+    private final int firstGlyphId;
+    private final long[] bits;
+
+    /**
+     * Creates a coverage from the glyph ids.
+     *
+     * @param glyphIds the covered glyph ids, duplicates are ignored
+     */
+    public OtfCoverage(Collection<Integer> glyphIds) {
+        int[] ids = new int[glyphIds.size()];
+        int count = 0;
+        for (Integer glyphId : glyphIds) {
+            ids[count++] = (int) glyphId;
+        }
+        Arrays.sort(ids);
+        int unique = 0;
+        for (int k = 0; k < count; ++k) {
+            if (unique == 0 || ids[unique - 1] != ids[k]) {
+                ids[unique++] = ids[k];
+            }
+        }
+        this.glyphIds = unique == ids.length ? ids : Arrays.copyOf(ids, unique);
+        if (unique > 0 && this.glyphIds[unique - 1] >= 0 && this.glyphIds[0] >= 0) {
+            int span = this.glyphIds[unique - 1] - this.glyphIds[0] + 1;
+            // a bitset is used when it does not take more memory than the sorted array
+            if ((span + 63) / 64 <= unique / 2 + 1) {
+                firstGlyphId = this.glyphIds[0];
+                bits = new long[(span + 63) / 64];
+                for (int glyphId : this.glyphIds) {
+                    int bit = glyphId - firstGlyphId;
+                    bits[bit >> 6] |= 1L << (bit & 63);
+                }
+                return;
+            }
+        }
+        firstGlyphId = 0;
+        bits = null;
+    }
+
+    /**
+     * Checks whether a set of glyph ids contains the glyph. Uses the primitive check if the set is an {@link OtfCoverage}.
+     *
+     * @param glyphIds the set of glyph ids
+     * @param glyphId  the glyph id
+     * @return {@code true} if the set contains the glyph
+     */
+    public static boolean contains(Set<Integer> glyphIds, int glyphId) {
+        if (glyphIds instanceof OtfCoverage) {
+            return ((OtfCoverage) glyphIds).contains(glyphId);
+        }
+        return glyphIds.contains(glyphId);
+    }
+
+    /**
+     * Checks whether the glyph is covered.
+     *
+     * @param glyphId the glyph id
+     * @return {@code true} if the glyph is covered
+     */
+    public boolean contains(int glyphId) {
+        if (bits != null) {
+            int bit = glyphId - firstGlyphId;
+            return bit >= 0 && (bit >> 6) < bits.length && (bits[bit >> 6] & 1L << (bit & 63)) != 0;
+        }
+        return Arrays.binarySearch(glyphIds, glyphId) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains((int) (Integer) o);
+    }
+
+    @Override
+    public int size() {
+        return glyphIds.length;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < glyphIds.length;
+            }
+
+            @Override
+            public Integer next() {
+                if (index >= glyphIds.length) {
+                    throw new NoSuchElementException();
+                }
+                return glyphIds[index++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
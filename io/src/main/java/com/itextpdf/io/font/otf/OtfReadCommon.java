@@ -48,7 +48,6 @@ import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.util.MessageFormatUtil;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -68,7 +67,7 @@ public class OtfReadCommon {
 
     public static void readCoverages(RandomAccessFileOrArray rf, int[] locations, List<Set<Integer>> coverage) throws java.io.IOException {
         for (int location : locations) {
-            coverage.add(new HashSet<>(readCoverageFormat(rf, location)));
+            coverage.add(new OtfCoverage(readCoverageFormat(rf, location)));
         }
     }
 
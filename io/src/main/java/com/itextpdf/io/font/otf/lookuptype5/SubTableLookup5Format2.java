@@ -47,6 +47,7 @@ import com.itextpdf.io.font.otf.ContextualSubTable;
 import com.itextpdf.io.font.otf.ContextualSubstRule;
 import com.itextpdf.io.font.otf.OpenTypeFontTableReader;
 import com.itextpdf.io.font.otf.OtfClass;
+import com.itextpdf.io.font.otf.OtfCoverage;
 import com.itextpdf.io.font.otf.SubstLookupRecord;
 
 import java.util.Collections;
@@ -75,7 +76,7 @@ public class SubTableLookup5Format2 extends ContextualSubTable {
 
     @Override
     protected List<ContextualSubstRule> getSetOfRulesForStartGlyph(int startId) {
-        if (substCoverageGlyphIds.contains(startId) && !openReader.isSkip(startId, lookupFlag)) {
+        if (OtfCoverage.contains(substCoverageGlyphIds, startId) && !openReader.isSkip(startId, lookupFlag)) {
             int gClass = classDefinition.getOtfClass(startId);
             return subClassSets.get(gClass);
         }
@@ -46,6 +46,7 @@ package com.itextpdf.io.font.otf.lookuptype5;
 import com.itextpdf.io.font.otf.ContextualSubTable;
 import com.itextpdf.io.font.otf.ContextualSubstRule;
 import com.itextpdf.io.font.otf.OpenTypeFontTableReader;
+import com.itextpdf.io.font.otf.OtfCoverage;
 import com.itextpdf.io.font.otf.SubstLookupRecord;
 
 import java.util.Collections;
@@ -67,7 +68,7 @@ public class SubTableLookup5Format3 extends ContextualSubTable {
     @Override
     protected List<ContextualSubstRule> getSetOfRulesForStartGlyph(int startId) {
         SubstRuleFormat3 ruleFormat3 = (SubstRuleFormat3) this.substitutionRule;
-        if (ruleFormat3.coverages.get(0).contains(startId) && !openReader.isSkip(startId, lookupFlag)) {
+        if (OtfCoverage.contains(ruleFormat3.coverages.get(0), startId) && !openReader.isSkip(startId, lookupFlag)) {
             return Collections.singletonList(this.substitutionRule);
         }
         return Collections.<ContextualSubstRule>emptyList();
@@ -95,7 +96,7 @@ public class SubTableLookup5Format3 extends ContextualSubTable {
 
         @Override
         public boolean isGlyphMatchesInput(int glyphId, int atIdx) {
-            return coverages.get(atIdx).contains(glyphId);
+            return OtfCoverage.contains(coverages.get(atIdx), glyphId);
         }
     }
 
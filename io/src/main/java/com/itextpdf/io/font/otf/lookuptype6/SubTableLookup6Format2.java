@@ -46,6 +46,7 @@ package com.itextpdf.io.font.otf.lookuptype6;
 import com.itextpdf.io.font.otf.ContextualSubstRule;
 import com.itextpdf.io.font.otf.OpenTypeFontTableReader;
 import com.itextpdf.io.font.otf.OtfClass;
+import com.itextpdf.io.font.otf.OtfCoverage;
 import com.itextpdf.io.font.otf.SubstLookupRecord;
 
 import java.util.Collections;
@@ -78,7 +79,7 @@ public class SubTableLookup6Format2 extends SubTableLookup6 {
 
     @Override
     protected List<ContextualSubstRule> getSetOfRulesForStartGlyph(int startId) {
-        if (substCoverageGlyphIds.contains(startId) && !openReader.isSkip(startId, lookupFlag)) {
+        if (OtfCoverage.contains(substCoverageGlyphIds, startId) && !openReader.isSkip(startId, lookupFlag)) {
             int gClass = inputClassDefinition.getOtfClass(startId);
             return subClassSets.get(gClass);
         }
@@ -45,6 +45,7 @@ package com.itextpdf.io.font.otf.lookuptype6;
 
 import com.itextpdf.io.font.otf.ContextualSubstRule;
 import com.itextpdf.io.font.otf.OpenTypeFontTableReader;
+import com.itextpdf.io.font.otf.OtfCoverage;
 import com.itextpdf.io.font.otf.SubstLookupRecord;
 
 import java.util.Arrays;
@@ -67,7 +68,7 @@ public class SubTableLookup6Format3 extends SubTableLookup6 {
     @Override
     protected List<ContextualSubstRule> getSetOfRulesForStartGlyph(int startId) {
         SubstRuleFormat3 ruleFormat3 = (SubstRuleFormat3) this.substitutionRule;
-        if (ruleFormat3.inputCoverages.get(0).contains(startId) && !openReader.isSkip(startId, lookupFlag)) {
+        if (OtfCoverage.contains(ruleFormat3.inputCoverages.get(0), startId) && !openReader.isSkip(startId, lookupFlag)) {
             return Collections.<ContextualSubstRule>singletonList(this.substitutionRule);
         }
         return Collections.<ContextualSubstRule>emptyList();
@@ -108,15 +109,15 @@ public class SubTableLookup6Format3 extends SubTableLookup6 {
 
         @Override
         public boolean isGlyphMatchesInput(int glyphId, int atIdx) {
-            return inputCoverages.get(atIdx).contains(glyphId);
+            return OtfCoverage.contains(inputCoverages.get(atIdx), glyphId);
         }
         @Override
         public boolean isGlyphMatchesLookahead(int glyphId, int atIdx) {
-            return lookaheadCoverages.get(atIdx).contains(glyphId);
+            return OtfCoverage.contains(lookaheadCoverages.get(atIdx), glyphId);
         }
         @Override
         public boolean isGlyphMatchesBacktrack(int glyphId, int atIdx) {
-            return backtrackCoverages.get(atIdx).contains(glyphId);
+            return OtfCoverage.contains(backtrackCoverages.get(atIdx), glyphId);
         }
     }
 }
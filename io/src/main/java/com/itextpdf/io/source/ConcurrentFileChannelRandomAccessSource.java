@@ -0,0 +1,164 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.io.LogMessageConstant;
+
+import java.nio.channels.FileChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread-safe RandomAccessSource that is based on an underlying {@link java.nio.channels.FileChannel}.
+ * Reads are done with positional {@link FileChannel#read(java.nio.ByteBuffer, long)} calls, which do not change
+ * the position of the channel, so several threads can read from the same source at the same time without any locking.
+ * Single byte reads are served from a small read-ahead buffer that is kept per thread.
+ * <br>
+ * Note that interrupting a thread blocked in a read closes the underlying channel for all the threads.
+ */
+public class ConcurrentFileChannelRandomAccessSource implements IRandomAccessSource {
+
+    /**
+     * The size of the per thread read-ahead buffer
+     */
+    static final int READ_AHEAD_SIZE = 1 << 12;
+
+    /**
+     * The channel this source is based on
+     */
+    private final FileChannel channel;
+
+    /**
+     * The size of the channel at the moment the source was created
+     */
+    private final long length;
+
+    private final ThreadLocal<ReadAheadBuffer> readAheadBuffer = new ThreadLocal<ReadAheadBuffer>() {
+        @Override
+        protected ReadAheadBuffer initialValue() {
+            return new ReadAheadBuffer();
+        }
+    };
+
+    /**
+     * Constructs a new {@link ConcurrentFileChannelRandomAccessSource} based on the specified FileChannel.
+     * @param channel the channel to use as the backing store
+     * @throws java.io.IOException if the size of the channel cannot be obtained
+     */
+    public ConcurrentFileChannelRandomAccessSource(FileChannel channel) throws java.io.IOException {
+        this.channel = channel;
+        this.length = channel.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position) throws java.io.IOException {
+        if (position >= length) {
+            return -1;
+        }
+        ReadAheadBuffer buffer = readAheadBuffer.get();
+        if (position < buffer.start || position >= buffer.start + buffer.count) {
+            int count = read(position, buffer.data, 0, buffer.data.length);
+            if (count <= 0) {
+                return -1;
+            }
+            buffer.start = position;
+            buffer.count = count;
+        }
+        return 0xff & buffer.data[(int) (position - buffer.start)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int get(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position >= length) {
+            return -1;
+        }
+        return read(position, bytes, off, len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Closes the channel
+     */
+    public void close() throws java.io.IOException {
+        try {
+            channel.close();
+        } catch (Exception ex) {
+            Logger logger = LoggerFactory.getLogger(ConcurrentFileChannelRandomAccessSource.class);
+            logger.error(LogMessageConstant.FILE_CHANNEL_CLOSING_FAILED, ex);
+        }
+    }
+
+    private int read(long position, byte[] bytes, int off, int len) throws java.io.IOException {
+        if (position + len > length) {
+            len = (int) (length - position);
+        }
+        java.nio.ByteBuffer target = java.nio.ByteBuffer.wrap(bytes, off, len);
+        int total = 0;
+        while (target.hasRemaining()) {
+            int n = channel.read(target, position + total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total == 0 && len > 0 ? -1 : total;
+    }
+
+    private static class ReadAheadBuffer {
+        final byte[] data = new byte[READ_AHEAD_SIZE];
+        long start;
+        int count;
+    }
+}
@@ -43,14 +43,18 @@
  */
 package com.itextpdf.io.source;
 
+import com.itextpdf.io.util.ZlibPool;
+
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.zip.Deflater;
 
 public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
 
+    private boolean finished;
+
     public DeflaterOutputStream(OutputStream out, int level, int size) {
-        super(out, new Deflater(level), size);
+        super(out, ZlibPool.acquireDeflater(level), size);
     }
 
     public DeflaterOutputStream(OutputStream out, int level) {
@@ -67,9 +71,22 @@ public class DeflaterOutputStream extends java.util.zip.DeflaterOutputStream {
         super.close();
     }
 
+    /**
+     * Finishes writing compressed data and returns the {@link Deflater} to the pool.
+     * Subsequent calls have no effect.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
     @Override
     public void finish() throws IOException {
-        super.finish();
-        def.end();
+        if (finished) {
+            return;
+        }
+        try {
+            super.finish();
+        } finally {
+            finished = true;
+            ZlibPool.releaseDeflater(def);
+        }
     }
 }
@@ -228,6 +228,60 @@ public final class RandomAccessSourceFactory implements Serializable {
         }
     }
 
+    /**
+     * Creates a thread-safe {@link IRandomAccessSource} based on a filename string, which can be read
+     * from several threads at the same time without contention.
+     * If the filename describes a URL, or if {@code forceRead} is true, the content is read into memory.
+     * Otherwise the file is opened as a {@link ConcurrentFileChannelRandomAccessSource}.
+     * @param filename the name of the file or resource to create the {@link IRandomAccessSource} for
+     * @return the newly created {@link IRandomAccessSource}
+     */
+    public IRandomAccessSource createConcurrentSource(String filename) throws java.io.IOException {
+        File file = new File(filename);
+        if (!file.canRead() || forceRead) {
+            // byte array based sources are safe for concurrent reading
+            return createBestSource(filename);
+        }
+
+        RandomAccessFile raf = new RandomAccessFile(file, exclusivelyLockFile ? "rw" : "r");
+        try {
+            if (exclusivelyLockFile) {
+                raf.getChannel().lock();
+            }
+            // ownership of the RAF passes to the created source
+            return createConcurrentSource(raf.getChannel());
+        } catch (Exception e) {
+            try {
+                raf.close();
+            } catch (java.io.IOException ignore) {}
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a thread-safe {@link IRandomAccessSource} based on positional reads of a file channel.
+     * @param channel the channel to create the {@link IRandomAccessSource} for
+     * @return the newly created {@link IRandomAccessSource}
+     */
+    public IRandomAccessSource createConcurrentSource(FileChannel channel) throws java.io.IOException {
+        return new ConcurrentFileChannelRandomAccessSource(channel);
+    }
+
+    /**
+     * Makes the passed {@link IRandomAccessSource} safe for reading from several threads.
+     * Sources that already support concurrent reading are returned as is, other sources are
+     * wrapped into a {@link ThreadSafeRandomAccessSource}.
+     * @param source the source to be read concurrently
+     * @return a thread-safe {@link IRandomAccessSource}
+     */
+    public IRandomAccessSource createConcurrentSource(IRandomAccessSource source) {
+        if (source instanceof ConcurrentFileChannelRandomAccessSource || source instanceof ArrayRandomAccessSource
+                || source instanceof ThreadSafeRandomAccessSource) {
+            return source;
+        }
+        return new ThreadSafeRandomAccessSource(source);
+    }
+
     public IRandomAccessSource createRanged(IRandomAccessSource source, long[] ranges) throws java.io.IOException {
         IRandomAccessSource[] sources = new IRandomAccessSource[ranges.length/2];
         for(int i = 0; i < ranges.length; i+=2){
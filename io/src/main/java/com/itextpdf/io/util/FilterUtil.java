@@ -45,12 +45,9 @@ package com.itextpdf.io.util;
 
 import com.itextpdf.io.IOException;
 import com.itextpdf.io.codec.Base64;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.zip.DataFormatException;
 import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
@@ -61,8 +58,9 @@ import java.util.zip.InflaterInputStream;
  */
 public final class FilterUtil {
 
-    /** The Logger instance. */
-    private static final Logger LOGGER = LoggerFactory.getLogger(FilterUtil.class);
+    private static final int MIN_INFLATE_BUFFER_SIZE = 4096;
+
+    private static final int MAX_INITIAL_INFLATE_BUFFER_SIZE = 1 << 22;
 
     private FilterUtil() {
     }
@@ -76,28 +74,50 @@ public final class FilterUtil {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] input, boolean strict) {
-        ByteArrayInputStream stream = new ByteArrayInputStream(input);
-        InflaterInputStream zip = new InflaterInputStream(stream);
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
+        return flateDecode(input, strict, -1);
+    }
+
+    /**
+     * A helper to FlateDecode.
+     *
+     * @param input          the input data
+     * @param strict         <CODE>true</CODE> to read a correct stream. <CODE>false</CODE>
+     *                       to try to read a corrupted stream
+     * @param expectedLength the expected length of the decoded data, e.g. taken from /DL entry,
+     *                       or a non-positive value if it is unknown
+     * @return the decoded data, or <CODE>null</CODE> if the stream is corrupted and the decoding is strict
+     */
+    public static byte[] flateDecode(byte[] input, boolean strict, int expectedLength) {
+        Inflater inflater = ZlibPool.acquireInflater();
         try {
-            int n;
-            while ((n = zip.read(b)) >= 0) {
-                output.write(b, 0, n);
-            }
-            zip.close();
-            output.close();
-            return output.toByteArray();
-        } catch (Exception e) {
-            return strict ? null : output.toByteArray();
-        }finally {
+            inflater.setInput(input);
+            byte[] output = new byte[getInitialInflateBufferSize(input.length, expectedLength)];
+            int count = 0;
             try {
-                zip.close();
-                output.close();
-            }catch(Exception e){
-                //Log the error
-                LOGGER.error(e.getMessage(),e);
+                while (!inflater.finished()) {
+                    if (count == output.length) {
+                        output = Arrays.copyOf(output, Math.max(count * 2, count + MIN_INFLATE_BUFFER_SIZE));
+                    }
+                    int n = inflater.inflate(output, count, output.length - count);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        // the stream is truncated or requires a preset dictionary
+                        if (strict) {
+                            return null;
+                        }
+                        break;
+                    }
+                    count += n;
+                }
+            } catch (DataFormatException e) {
+                if (strict) {
+                    return null;
+                }
+                inflater.reset();
+                return recoverCorruptedData(inflater, input, output, count);
             }
+            return count == output.length ? output : Arrays.copyOf(output, count);
+        } finally {
+            ZlibPool.releaseInflater(inflater);
         }
     }
 
@@ -133,4 +153,45 @@ public final class FilterUtil {
     public static InputStream getInflaterInputStream(InputStream input) {
         return new InflaterInputStream(input, new Inflater());
     }
+
+    private static int getInitialInflateBufferSize(int inputLength, int expectedLength) {
+        if (expectedLength > 0) {
+            // the expected length comes from the document and cannot be trusted to allocate the buffer at once
+            return Math.min(expectedLength, MAX_INITIAL_INFLATE_BUFFER_SIZE);
+        }
+        // deflated content usually shrinks to a quarter or less of its size
+        long size = (long) inputLength * 4;
+        return (int) Math.max(MIN_INFLATE_BUFFER_SIZE, Math.min(size, MAX_INITIAL_INFLATE_BUFFER_SIZE));
+    }
+
+    /**
+     * Decodes as much of a corrupted stream as possible. The data which was decoded before the error
+     * is inflated again in bulk, and only the part of the stream near the error is inflated byte by byte.
+     */
+    private static byte[] recoverCorruptedData(Inflater inflater, byte[] input, byte[] output, int validCount) {
+        inflater.setInput(input);
+        int count = 0;
+        try {
+            while (count < validCount) {
+                int n = inflater.inflate(output, count, validCount - count);
+                if (n == 0) {
+                    return Arrays.copyOf(output, count);
+                }
+                count += n;
+            }
+            while (!inflater.finished()) {
+                if (count == output.length) {
+                    output = Arrays.copyOf(output, Math.max(count * 2, count + MIN_INFLATE_BUFFER_SIZE));
+                }
+                int n = inflater.inflate(output, count, 1);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                count += n;
+            }
+        } catch (DataFormatException ignored) {
+            // everything that could be decoded before the corrupted data is already in output
+        }
+        return Arrays.copyOf(output, count);
+    }
 }
@@ -0,0 +1,342 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map with primitive int keys, optimized for char codes, unicode values and glyph indices.
+ * <p>
+ * Keys in range 0..0xFFFF (Basic Multilingual Plane) are stored in dense pages of 256 entries,
+ * which are allocated on demand, so lookups are two array reads without boxing and without hashing.
+ * All other keys are stored in an open-addressing hash table with linear probing.
+ * <p>
+ * The class implements {@link Map} for compatibility, however {@link #get(int)}, {@link #put(int, Object)}
+ * and {@link #containsKey(int)} should be used to avoid boxing. Null values are not supported:
+ * putting a null value removes the key. Like in {@link java.util.LinkedHashMap}, entries are iterated
+ * in the order in which their keys were first put into the map. Removal of a key takes time linear
+ * in the size of the map, since the iteration order has to be updated.
+ * <p>
+ * Note that this class is not thread safe for modifications.
+ *
+ * @param <V> the type of mapped values
+ */
+public class IntObjectMap<V> extends AbstractMap<Integer, V> implements Serializable {
+
+    private static final long serialVersionUID = -6322651397566541052L;
+
+    private static final int PAGE_SHIFT = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int DENSE_LIMIT = 0x10000;
+    private static final int INITIAL_SPARSE_CAPACITY = 16;
+    private static final int INITIAL_ORDER_CAPACITY = 16;
+
+    private Object[][] pages = new Object[DENSE_LIMIT >> PAGE_SHIFT][];
+    private int[] sparseKeys;
+    private Object[] sparseValues;
+    private int sparseSize;
+    private int size;
+    // Keys in the order of insertion, the first size entries are used.
+    private int[] insertionOrder = new int[INITIAL_ORDER_CAPACITY];
+
+    /**
+     * Creates an empty map.
+     */
+    public IntObjectMap() {
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key the key
+     * @return the value, or {@code null} if there is no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key >= 0 && key < DENSE_LIMIT) {
+            Object[] page = pages[key >> PAGE_SHIFT];
+            return page != null ? (V) page[key & PAGE_MASK] : null;
+        }
+        int slot = findSparseSlot(key);
+        return slot >= 0 ? (V) sparseValues[slot] : null;
+    }
+
+    /**
+     * Checks whether the map contains the key.
+     *
+     * @param key the key
+     * @return {@code true} if there is a mapping for the key
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps the value to the key.
+     *
+     * @param key   the key
+     * @param value the value, {@code null} removes the mapping
+     * @return the previous value, or {@code null} if there was no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            return remove(key);
+        }
+        if (key >= 0 && key < DENSE_LIMIT) {
+            Object[] page = pages[key >> PAGE_SHIFT];
+            if (page == null) {
+                page = pages[key >> PAGE_SHIFT] = new Object[PAGE_SIZE];
+            }
+            V previous = (V) page[key & PAGE_MASK];
+            page[key & PAGE_MASK] = value;
+            if (previous == null) {
+                appendToInsertionOrder(key);
+            }
+            return previous;
+        }
+        if (sparseKeys == null) {
+            sparseKeys = new int[INITIAL_SPARSE_CAPACITY];
+            sparseValues = new Object[INITIAL_SPARSE_CAPACITY];
+        }
+        int mask = sparseKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (sparseValues[slot] != null) {
+            if (sparseKeys[slot] == key) {
+                V previous = (V) sparseValues[slot];
+                sparseValues[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        sparseKeys[slot] = key;
+        sparseValues[slot] = value;
+        sparseSize++;
+        appendToInsertionOrder(key);
+        // Keep the load factor under 0.5
+        if (sparseSize * 2 > sparseKeys.length) {
+            resizeSparse(sparseKeys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping for the key.
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if there was no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key >= 0 && key < DENSE_LIMIT) {
+            Object[] page = pages[key >> PAGE_SHIFT];
+            if (page == null) {
+                return null;
+            }
+            V previous = (V) page[key & PAGE_MASK];
+            if (previous != null) {
+                page[key & PAGE_MASK] = null;
+                removeFromInsertionOrder(key);
+            }
+            return previous;
+        }
+        int slot = findSparseSlot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) sparseValues[slot];
+        sparseValues[slot] = null;
+        sparseSize--;
+        removeFromInsertionOrder(key);
+        // Shift back the following entries of the probe sequence, so that they stay reachable.
+        int mask = sparseKeys.length - 1;
+        int next = (slot + 1) & mask;
+        while (sparseValues[next] != null) {
+            int home = hash(sparseKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                sparseKeys[slot] = sparseKeys[next];
+                sparseValues[slot] = sparseValues[next];
+                sparseValues[next] = null;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        return previous;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put((int) key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        pages = new Object[DENSE_LIMIT >> PAGE_SHIFT][];
+        sparseKeys = null;
+        sparseValues = null;
+        sparseSize = 0;
+        size = 0;
+        insertionOrder = new int[INITIAL_ORDER_CAPACITY];
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Entry<Integer, V>>() {
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void appendToInsertionOrder(int key) {
+        if (size == insertionOrder.length) {
+            insertionOrder = Arrays.copyOf(insertionOrder, size * 2);
+        }
+        insertionOrder[size++] = key;
+    }
+
+    private void removeFromInsertionOrder(int key) {
+        int index = 0;
+        while (insertionOrder[index] != key) {
+            index++;
+        }
+        System.arraycopy(insertionOrder, index + 1, insertionOrder, index, size - index - 1);
+        size--;
+    }
+
+    private int findSparseSlot(int key) {
+        if (sparseKeys == null) {
+            return -1;
+        }
+        int mask = sparseKeys.length - 1;
+        int slot = hash(key) & mask;
+        while (sparseValues[slot] != null) {
+            if (sparseKeys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resizeSparse(int capacity) {
+        int[] oldKeys = sparseKeys;
+        Object[] oldValues = sparseValues;
+        sparseKeys = new int[capacity];
+        sparseValues = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (sparseValues[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                sparseKeys[slot] = oldKeys[i];
+                sparseValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private class EntryIterator implements Iterator<Entry<Integer, V>> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Entry<Integer, V> next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            int key = insertionOrder[index++];
+            return new SimpleImmutableEntry<>(key, get(key));
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * This file is a helper class for internal usage only.
+ * Be aware that it's API and functionality may be changed in future.
+ * <p>
+ * Keeps a small per-thread pool of native {@link Inflater} and {@link Deflater} instances,
+ * so that the native zlib state doesn't have to be allocated and freed for every processed stream.
+ * Instances must be released exactly once and must not be used after they were released.
+ */
+public final class ZlibPool {
+
+    /**
+     * The maximum number of idle instances of each kind kept by a thread.
+     */
+    private static final int MAX_POOLED_PER_THREAD = 4;
+
+    private static final ThreadLocal<Deque<Inflater>> inflaters = new ThreadLocal<Deque<Inflater>>() {
+        @Override
+        protected Deque<Inflater> initialValue() {
+            return new ArrayDeque<>(MAX_POOLED_PER_THREAD);
+        }
+    };
+
+    private static final ThreadLocal<Deque<PooledDeflater>> deflaters = new ThreadLocal<Deque<PooledDeflater>>() {
+        @Override
+        protected Deque<PooledDeflater> initialValue() {
+            return new ArrayDeque<>(MAX_POOLED_PER_THREAD);
+        }
+    };
+
+    private ZlibPool() {
+    }
+
+    /**
+     * Gets an {@link Inflater} in its initial state.
+     *
+     * @return the inflater
+     */
+    public static Inflater acquireInflater() {
+        Inflater inflater = inflaters.get().pollFirst();
+        return inflater != null ? inflater : new Inflater();
+    }
+
+    /**
+     * Returns the {@link Inflater} to the pool of the current thread, or frees it if the pool is full.
+     *
+     * @param inflater the inflater obtained with {@link #acquireInflater()}
+     */
+    public static void releaseInflater(Inflater inflater) {
+        Deque<Inflater> pool = inflaters.get();
+        if (pool.size() < MAX_POOLED_PER_THREAD) {
+            inflater.reset();
+            pool.addFirst(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Gets a {@link Deflater} in its initial state with the requested compression level.
+     *
+     * @param level the compression level (0-9)
+     * @return the deflater
+     */
+    public static Deflater acquireDeflater(int level) {
+        // only a deflater created with the same level is reused, so that the output is exactly
+        // the same as the output of a newly created deflater
+        Iterator<PooledDeflater> iterator = deflaters.get().iterator();
+        while (iterator.hasNext()) {
+            PooledDeflater deflater = iterator.next();
+            if (deflater.level == level) {
+                iterator.remove();
+                return deflater;
+            }
+        }
+        return new PooledDeflater(level);
+    }
+
+    /**
+     * Returns the {@link Deflater} to the pool of the current thread, or frees it if the pool is full.
+     *
+     * @param deflater the deflater obtained with {@link #acquireDeflater(int)}
+     */
+    public static void releaseDeflater(Deflater deflater) {
+        Deque<PooledDeflater> pool = deflaters.get();
+        if (deflater instanceof PooledDeflater) {
+            if (pool.size() >= MAX_POOLED_PER_THREAD) {
+                pool.pollLast().end();
+            }
+            deflater.reset();
+            pool.addFirst((PooledDeflater) deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    private static final class PooledDeflater extends Deflater {
+        private final int level;
+
+        PooledDeflater(int level) {
+            super(level);
+            this.level = level;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+
+@Category(UnitTest.class)
+public class BoundedFontProgramCacheTest {
+
+    @Test
+    public void leastRecentlyUsedFontIsEvictedTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        BoundedFontProgramCache cache = new BoundedFontProgramCache(
+                estimateSize(helvetica) * 2, BoundedFontProgramCache.EvictionPolicy.LEAST_RECENTLY_USED);
+
+        FontCacheKey helveticaKey = FontCacheKey.create(StandardFonts.HELVETICA);
+        FontCacheKey timesKey = FontCacheKey.create(StandardFonts.TIMES_ROMAN);
+        FontCacheKey courierKey = FontCacheKey.create(StandardFonts.COURIER);
+        Assert.assertSame(helvetica, cache.put(helveticaKey, helvetica));
+        cache.put(timesKey, FontProgramFactory.createFont(StandardFonts.TIMES_ROMAN, false));
+        Assert.assertSame(helvetica, cache.get(helveticaKey));
+        cache.put(courierKey, FontProgramFactory.createFont(StandardFonts.COURIER, false));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get(timesKey));
+        Assert.assertNotNull(cache.get(helveticaKey));
+        Assert.assertNotNull(cache.get(courierKey));
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertTrue(cache.getSizeInBytes() <= cache.getMaxSizeInBytes());
+    }
+
+    @Test
+    public void leastFrequentlyUsedFontIsEvictedTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        BoundedFontProgramCache cache = new BoundedFontProgramCache(
+                estimateSize(helvetica) * 2, BoundedFontProgramCache.EvictionPolicy.LEAST_FREQUENTLY_USED);
+
+        FontCacheKey helveticaKey = FontCacheKey.create(StandardFonts.HELVETICA);
+        FontCacheKey timesKey = FontCacheKey.create(StandardFonts.TIMES_ROMAN);
+        FontCacheKey courierKey = FontCacheKey.create(StandardFonts.COURIER);
+        cache.put(helveticaKey, helvetica);
+        cache.put(timesKey, FontProgramFactory.createFont(StandardFonts.TIMES_ROMAN, false));
+        cache.get(helveticaKey);
+        cache.get(helveticaKey);
+        // times is used more recently, but less frequently than helvetica
+        cache.get(timesKey);
+        cache.put(courierKey, FontProgramFactory.createFont(StandardFonts.COURIER, false));
+
+        Assert.assertNull(cache.get(timesKey));
+        Assert.assertNotNull(cache.get(helveticaKey));
+        Assert.assertNotNull(cache.get(courierKey));
+    }
+
+    @Test
+    public void residentFontIsNotEvictedTest() throws IOException {
+        FontProgram helvetica = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        FontCacheKey helveticaKey = FontCacheKey.create(StandardFonts.HELVETICA);
+        BoundedFontProgramCache cache = new BoundedFontProgramCache(estimateSize(helvetica) * 2)
+                .addResidentFont(helveticaKey);
+
+        cache.put(helveticaKey, helvetica);
+        String[] fonts = {StandardFonts.TIMES_ROMAN, StandardFonts.COURIER, StandardFonts.TIMES_BOLD, StandardFonts.COURIER_BOLD};
+        for (String font : fonts) {
+            cache.put(FontCacheKey.create(font), FontProgramFactory.createFont(font, false));
+        }
+        Assert.assertSame(helvetica, cache.get(helveticaKey));
+        Assert.assertNotNull(cache.get(FontCacheKey.create(StandardFonts.COURIER_BOLD)));
+        Assert.assertEquals(3, cache.getEvictionCount());
+
+        cache.invalidate(helveticaKey);
+        Assert.assertNull(cache.get(helveticaKey));
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void fontProgramFactoryUsesFontProgramCacheTest() throws IOException {
+        BoundedFontProgramCache cache = new BoundedFontProgramCache(1024 * 1024);
+        FontCache.setFontProgramCache(cache);
+        try {
+            FontProgram fontProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA_OBLIQUE, true);
+            Assert.assertSame(fontProgram, FontProgramFactory.createFont(StandardFonts.HELVETICA_OBLIQUE, true));
+            Assert.assertEquals(1, cache.size());
+            Assert.assertEquals(1, cache.getHitCount());
+        } finally {
+            FontCache.setFontProgramCache(null);
+        }
+        Assert.assertNotSame(cache, FontCache.getFontProgramCache());
+    }
+
+    private static long estimateSize(FontProgram fontProgram) {
+        return new BoundedFontProgramCache(0).estimateSize(FontCacheKey.create(""), fontProgram);
+    }
+}
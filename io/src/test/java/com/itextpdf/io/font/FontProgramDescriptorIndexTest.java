@@ -0,0 +1,151 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.LogMessage;
+import com.itextpdf.test.annotations.LogMessages;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+@Category(UnitTest.class)
+public class FontProgramDescriptorIndexTest extends ExtendedITextTest {
+
+    private static final String sourceFolder = "./src/test/resources/com/itextpdf/io/font/woff2/w3c/format/";
+    private static final String destinationFolder = "./target/test/com/itextpdf/io/font/FontProgramDescriptorIndexTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void onlyChangedFontsAreFetchedTest() throws IOException {
+        String fontPath = destinationFolder + "font.ttf";
+        String brokenFontPath = destinationFolder + "broken.ttf";
+        String indexPath = destinationFolder + "fonts.idx";
+        Files.copy(Paths.get(sourceFolder + "cmp_valid-001.ttf"), Paths.get(fontPath), StandardCopyOption.REPLACE_EXISTING);
+        writeBytes(brokenFontPath, new byte[] {1, 2, 3});
+
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(indexPath);
+        FontProgramDescriptor expected = index.fetchDescriptor(fontPath);
+        Assert.assertNotNull(expected);
+        Assert.assertNull(index.fetchDescriptor(brokenFontPath));
+        Assert.assertEquals(2, index.getFetchedDescriptorsCount());
+        index.save();
+
+        index = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertEquals(2, index.size());
+        FontProgramDescriptor actual = index.fetchDescriptor(fontPath);
+        Assert.assertNull(index.fetchDescriptor(brokenFontPath));
+        Assert.assertEquals(0, index.getFetchedDescriptorsCount());
+        Assert.assertEquals(expected.getFontName(), actual.getFontName());
+        Assert.assertEquals(expected.getFontNameLowerCase(), actual.getFontNameLowerCase());
+        Assert.assertEquals(expected.getFullNameLowerCase(), actual.getFullNameLowerCase());
+        Assert.assertEquals(expected.getFamilyNameLowerCase(), actual.getFamilyNameLowerCase());
+        Assert.assertEquals(expected.getStyle(), actual.getStyle());
+        Assert.assertEquals(expected.getFontWeight(), actual.getFontWeight());
+        Assert.assertEquals(expected.getItalicAngle(), actual.getItalicAngle(), 0);
+        Assert.assertEquals(expected.isBold(), actual.isBold());
+        Assert.assertEquals(expected.isItalic(), actual.isItalic());
+        Assert.assertEquals(expected.isMonospace(), actual.isMonospace());
+
+        writeBytes(brokenFontPath, new byte[] {1, 2, 3, 4});
+        Assert.assertNull(index.fetchDescriptor(brokenFontPath));
+        Assert.assertEquals(1, index.getFetchedDescriptorsCount());
+    }
+
+    @Test
+    public void removedFontsAreDroppedOnSaveTest() throws IOException {
+        String fontPath = destinationFolder + "removed.ttf";
+        String indexPath = destinationFolder + "removed.idx";
+        Files.copy(Paths.get(sourceFolder + "cmp_valid-002.ttf"), Paths.get(fontPath), StandardCopyOption.REPLACE_EXISTING);
+
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertNotNull(index.fetchDescriptor(fontPath));
+        Files.delete(Paths.get(fontPath));
+        index.save();
+
+        Assert.assertEquals(0, new FontProgramDescriptorIndex(indexPath).size());
+    }
+
+    @Test
+    @LogMessages(messages = @LogMessage(messageTemplate = LogMessageConstant.FONT_DESCRIPTOR_INDEX_CANNOT_BE_READ))
+    public void corruptedIndexIsRebuiltTest() throws IOException {
+        String fontPath = destinationFolder + "rebuilt.ttf";
+        String indexPath = destinationFolder + "corrupted.idx";
+        Files.copy(Paths.get(sourceFolder + "cmp_valid-003.ttf"), Paths.get(fontPath), StandardCopyOption.REPLACE_EXISTING);
+        writeBytes(indexPath, new byte[] {0x46, 0x44, 0x49, 0x58, 0, 0});
+
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(indexPath);
+        Assert.assertEquals(0, index.size());
+        Assert.assertNotNull(index.fetchDescriptor(fontPath));
+        index.save();
+
+        Assert.assertEquals(1, new FontProgramDescriptorIndex(indexPath).size());
+    }
+
+    @Test
+    public void builtInFontsAreNotIndexedTest() {
+        FontProgramDescriptorIndex index = new FontProgramDescriptorIndex(destinationFolder + "builtin.idx");
+        Assert.assertNotNull(index.fetchDescriptor("Helvetica"));
+        Assert.assertEquals(0, index.size());
+    }
+
+    private static void writeBytes(String path, byte[] bytes) throws IOException {
+        try (OutputStream out = new FileOutputStream(path)) {
+            out.write(bytes);
+        }
+    }
+}
@@ -43,6 +43,7 @@
 package com.itextpdf.io.font;
 
 import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.test.annotations.type.UnitTest;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -51,6 +52,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
 
 import java.io.IOException;
+import java.util.HashMap;
 import com.itextpdf.io.util.MessageFormatUtil;
 
 @Category(UnitTest.class)
@@ -75,4 +77,32 @@ public class FontProgramTest {
         fp.setBold(false);
         Assert.assertTrue("Not Bold expected", (fp.getPdfFontFlags() & (1 << 18)) == 0);
     }
+
+    @Test
+    public void glyphMapsReplacedBySubclassTest() {
+        Glyph glyph = new Glyph(5, 500, 'A');
+        CustomMapsFontProgram fp = new CustomMapsFontProgram(glyph);
+        Assert.assertSame(glyph, fp.getGlyph('A'));
+        Assert.assertSame(glyph, fp.getGlyphByCode(5));
+        Assert.assertNull(fp.getGlyph('B'));
+    }
+
+    private static class CustomMapsFontProgram extends FontProgram {
+        CustomMapsFontProgram(Glyph glyph) {
+            codeToGlyph = new HashMap<>();
+            unicodeToGlyph = new HashMap<>();
+            codeToGlyph.put(glyph.getCode(), glyph);
+            unicodeToGlyph.put(glyph.getUnicode(), glyph);
+        }
+
+        @Override
+        public int getPdfFontFlags() {
+            return 0;
+        }
+
+        @Override
+        public int getKerning(Glyph first, Glyph second) {
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,124 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+@Category(UnitTest.class)
+public class TrueTypeFontTest {
+
+    private static final String fontPath = "./src/test/resources/com/itextpdf/io/font/woff2/w3c/format/cmp_header-flavor-002.ttf";
+    private static final String subsetFontPath = "./src/test/resources/com/itextpdf/io/font/woff2/w3c/format/cmp_valid-005.ttf";
+
+    @Test
+    public void byteArrayFontDataIsNotCopiedTest() throws IOException {
+        byte[] fontBytes = Files.readAllBytes(Paths.get(fontPath));
+        TrueTypeFont font = new TrueTypeFont(fontBytes);
+        Assert.assertSame(fontBytes, font.getFontStreamBytes());
+    }
+
+    @Test
+    public void fileFontDataIsReadOnRequestTest() throws IOException {
+        TrueTypeFont font = new TrueTypeFont(fontPath);
+        byte[] fontStreamBytes = font.getFontStreamBytes();
+        Assert.assertArrayEquals(Files.readAllBytes(Paths.get(fontPath)), fontStreamBytes);
+        Assert.assertSame(fontStreamBytes, font.getFontStreamBytes());
+        font.close();
+        Assert.assertSame(fontStreamBytes, font.getFontStreamBytes());
+    }
+
+    @Test(expected = com.itextpdf.io.IOException.class)
+    public void fontDataIsNotAvailableAfterCloseTest() throws IOException {
+        TrueTypeFont font = new TrueTypeFont(fontPath);
+        font.close();
+        font.getFontStreamBytes();
+    }
+
+    @Test
+    public void layoutTablesAreAvailableAfterCloseTest() throws IOException {
+        TrueTypeFont font = new TrueTypeFont(fontPath);
+        font.close();
+        Assert.assertNotNull(font.getGdefTable());
+        Assert.assertNull(font.getGsubTable());
+        Assert.assertNull(font.getGposTable());
+    }
+
+    @Test
+    public void subsetReusesGlyphIndexTest() throws IOException {
+        TrueTypeFont font = new TrueTypeFont(subsetFontPath);
+        font.getSubset(new HashSet<>(Arrays.asList(1, 2)), true);
+        byte[] subset = font.getSubset(new HashSet<>(Arrays.asList(2, 3)), true);
+
+        TrueTypeFont freshFont = new TrueTypeFont(subsetFontPath);
+        byte[] freshSubset = freshFont.getSubset(new HashSet<>(Arrays.asList(2, 3)), true);
+        Assert.assertArrayEquals(freshSubset, subset);
+
+        TrueTypeFont subsetFont = new TrueTypeFont(font.getSubset(new HashSet<>(Arrays.asList(2, 3)), false));
+        Assert.assertEquals(font.getGlyphByCode(3).getWidth(), subsetFont.getGlyphByCode(3).getWidth());
+    }
+
+    @Test
+    public void glyphIndexIsSharedBetweenSubsetsTest() throws IOException {
+        OpenTypeParser parser = new OpenTypeParser(subsetFontPath);
+        parser.loadTables(true);
+        Assert.assertNull(parser.getGlyphIndex());
+        parser.getSubset(new HashSet<>(Arrays.asList(1, 2)), true);
+        TrueTypeGlyphIndex glyphIndex = parser.getGlyphIndex();
+        Assert.assertNotNull(glyphIndex);
+        Assert.assertEquals(3, glyphIndex.getResolvedGlyphsCount());
+        parser.getSubset(new HashSet<>(Arrays.asList(2, 3)), true);
+        Assert.assertSame(glyphIndex, parser.getGlyphIndex());
+        Assert.assertEquals(4, glyphIndex.getResolvedGlyphsCount());
+        parser.close();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.otf;
+
+import com.itextpdf.io.source.RandomAccessFileOrArray;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class OtfClassTest {
+
+    @Test
+    public void classFormat1Test() {
+        // format 1, start glyph 10, 3 glyphs with classes 1, 0 and 3
+        OtfClass otfClass = createClass(1, 10, 3, 1, 0, 3);
+        Assert.assertEquals(1, otfClass.getOtfClass(10));
+        Assert.assertTrue(otfClass.hasClass(11));
+        Assert.assertEquals(0, otfClass.getOtfClass(11, true));
+        Assert.assertTrue(otfClass.isMarkOtfClass(12));
+        Assert.assertFalse(otfClass.hasClass(13));
+        Assert.assertEquals(0, otfClass.getOtfClass(13));
+        Assert.assertEquals(-1, otfClass.getOtfClass(9, true));
+    }
+
+    @Test
+    public void classFormat2Test() {
+        // format 2, ranges 5-7 class 2 and 20-20 class 1
+        OtfClass otfClass = createClass(2, 2, 5, 7, 2, 20, 20, 1);
+        Assert.assertEquals(2, otfClass.getOtfClass(5));
+        Assert.assertEquals(2, otfClass.getOtfClass(7));
+        Assert.assertFalse(otfClass.hasClass(8));
+        Assert.assertFalse(otfClass.hasClass(4));
+        Assert.assertEquals(1, otfClass.getOtfClass(20));
+        Assert.assertEquals(-1, otfClass.getOtfClass(21, true));
+    }
+
+    @Test
+    public void overlappingRangesTest() {
+        // format 2, ranges 5-10 class 2 and 8-12 class 3, the later range wins
+        OtfClass otfClass = createClass(2, 2, 5, 10, 2, 8, 12, 3);
+        Assert.assertEquals(2, otfClass.getOtfClass(7));
+        Assert.assertEquals(3, otfClass.getOtfClass(8));
+        Assert.assertEquals(3, otfClass.getOtfClass(12));
+        Assert.assertFalse(otfClass.hasClass(13));
+    }
+
+    private static OtfClass createClass(int... values) {
+        byte[] data = new byte[values.length * 2];
+        for (int k = 0; k < values.length; ++k) {
+            data[2 * k] = (byte) (values[k] >> 8);
+            data[2 * k + 1] = (byte) values[k];
+        }
+        return OtfClass.create(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(data)), 0);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.font.otf;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Category(UnitTest.class)
+public class OtfCoverageTest {
+
+    @Test
+    public void denseCoverageTest() {
+        List<Integer> glyphIds = new ArrayList<>();
+        for (int glyphId = 300; glyphId < 500; ++glyphId) {
+            glyphIds.add(glyphId);
+        }
+        OtfCoverage coverage = new OtfCoverage(glyphIds);
+        Assert.assertEquals(200, coverage.size());
+        Assert.assertTrue(coverage.contains(300));
+        Assert.assertTrue(coverage.contains(499));
+        Assert.assertFalse(coverage.contains(299));
+        Assert.assertFalse(coverage.contains(500));
+        Assert.assertFalse(coverage.contains(-1));
+    }
+
+    @Test
+    public void sparseCoverageTest() {
+        OtfCoverage coverage = new OtfCoverage(Arrays.asList(5000, 3, 70, 3));
+        Assert.assertEquals(3, coverage.size());
+        Assert.assertTrue(coverage.contains(3));
+        Assert.assertTrue(coverage.contains(5000));
+        Assert.assertFalse(coverage.contains(4));
+        Assert.assertEquals(Arrays.asList(3, 70, 5000), new ArrayList<>(coverage));
+    }
+
+    @Test
+    public void equalsToHashSetTest() {
+        Set<Integer> glyphIds = new HashSet<>(Arrays.asList(10, 11, 12, 40));
+        OtfCoverage coverage = new OtfCoverage(glyphIds);
+        Assert.assertEquals(glyphIds, coverage);
+        Assert.assertTrue(coverage.contains((Object) 40));
+        Assert.assertFalse(coverage.contains((Object) "40"));
+        Assert.assertTrue(OtfCoverage.contains(glyphIds, 40));
+        Assert.assertTrue(OtfCoverage.contains(coverage, 40));
+    }
+
+    @Test
+    public void emptyCoverageTest() {
+        OtfCoverage coverage = new OtfCoverage(new ArrayList<Integer>());
+        Assert.assertTrue(coverage.isEmpty());
+        Assert.assertFalse(coverage.contains(0));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.source;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Category(UnitTest.class)
+public class ConcurrentFileChannelRandomAccessSourceTest extends ExtendedITextTest {
+
+    private static final String destinationFolder = "./target/test/com/itextpdf/io/source/ConcurrentFileChannelRandomAccessSourceTest/";
+
+    private static byte[] content;
+    private static String fileName;
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        createOrClearDestinationFolder(destinationFolder);
+        content = new byte[100000];
+        new Random(42).nextBytes(content);
+        fileName = destinationFolder + "content.bin";
+        FileOutputStream fos = new FileOutputStream(fileName);
+        fos.write(content);
+        fos.close();
+    }
+
+    @Test
+    public void readTest() throws IOException {
+        IRandomAccessSource source = new RandomAccessSourceFactory().createConcurrentSource(fileName);
+        Assert.assertTrue(source instanceof ConcurrentFileChannelRandomAccessSource);
+        Assert.assertEquals(content.length, source.length());
+        Assert.assertEquals(0xff & content[0], source.get(0));
+        Assert.assertEquals(0xff & content[content.length - 1], source.get(content.length - 1));
+        Assert.assertEquals(-1, source.get(content.length));
+
+        byte[] bytes = new byte[100];
+        Assert.assertEquals(40, source.get(content.length - 40, bytes, 10, 100));
+        for (int i = 0; i < 40; i++) {
+            Assert.assertEquals(content[content.length - 40 + i], bytes[10 + i]);
+        }
+        Assert.assertEquals(-1, source.get(content.length, bytes, 0, 100));
+        source.close();
+    }
+
+    @Test
+    public void concurrentReadTest() throws Exception {
+        final IRandomAccessSource source = new RandomAccessSourceFactory().createConcurrentSource(fileName);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws IOException {
+                        return readRandomly(source, seed);
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+            source.close();
+        }
+    }
+
+    @Test
+    public void concurrentSourceFromNonThreadSafeSourceTest() throws IOException {
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory();
+        IRandomAccessSource arraySource = factory.createSource(content);
+        Assert.assertSame(arraySource, factory.createConcurrentSource(arraySource));
+        IRandomAccessSource windowSource = new WindowRandomAccessSource(arraySource, 10, 20);
+        Assert.assertTrue(factory.createConcurrentSource(windowSource) instanceof ThreadSafeRandomAccessSource);
+    }
+
+    private static boolean readRandomly(IRandomAccessSource source, int seed) throws IOException {
+        Random random = new Random(seed);
+        byte[] bytes = new byte[1000];
+        for (int i = 0; i < 2000; i++) {
+            int position = random.nextInt(content.length);
+            if (source.get(position) != (0xff & content[position])) {
+                return false;
+            }
+            int read = source.get(position, bytes, 0, bytes.length);
+            for (int j = 0; j < read; j++) {
+                if (bytes[j] != content[position + j]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
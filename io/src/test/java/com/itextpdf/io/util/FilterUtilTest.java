@@ -0,0 +1,149 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.io.source.DeflaterOutputStream;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+@Category(UnitTest.class)
+public class FilterUtilTest {
+
+    @Test
+    public void flateDecodeTest() throws IOException {
+        byte[] data = createData(100000);
+        byte[] encoded = deflate(data, 9);
+        Assert.assertArrayEquals(data, FilterUtil.flateDecode(encoded, true));
+        Assert.assertArrayEquals(data, FilterUtil.flateDecode(encoded, false));
+        Assert.assertArrayEquals(data, FilterUtil.flateDecode(encoded, true, data.length));
+        Assert.assertArrayEquals(data, FilterUtil.flateDecode(encoded, true, 10));
+    }
+
+    @Test
+    public void flateDecodeTruncatedStreamTest() throws IOException {
+        byte[] data = createData(100000);
+        byte[] encoded = deflate(data, 9);
+        byte[] truncated = new byte[encoded.length / 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+
+        Assert.assertNull(FilterUtil.flateDecode(truncated, true));
+        Assert.assertArrayEquals(inflateByteByByte(truncated), FilterUtil.flateDecode(truncated, false));
+    }
+
+    @Test
+    public void flateDecodeCorruptedStreamTest() throws IOException {
+        byte[] data = createData(100000);
+        byte[] encoded = deflate(data, 9);
+        for (int i = encoded.length / 3; i < encoded.length / 3 + 16; i++) {
+            encoded[i] = (byte) ~encoded[i];
+        }
+
+        Assert.assertNull(FilterUtil.flateDecode(encoded, true));
+        byte[] expected = inflateByteByByte(encoded);
+        byte[] actual = FilterUtil.flateDecode(encoded, false);
+        Assert.assertTrue(actual.length > 0);
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void pooledDeflaterOutputTest() throws IOException {
+        byte[] data = createData(50000);
+        byte[] expected = deflate(data, 9);
+        for (int i = 0; i < 3; i++) {
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            // several streams may be open at the same time on the same thread
+            DeflaterOutputStream firstZip = new DeflaterOutputStream(first, 9);
+            DeflaterOutputStream secondZip = new DeflaterOutputStream(second, 9);
+            DeflaterOutputStream otherLevelZip = new DeflaterOutputStream(new ByteArrayOutputStream(), 1);
+            firstZip.write(data);
+            secondZip.write(data);
+            otherLevelZip.write(data);
+            firstZip.finish();
+            // finishing or closing a stream once again must not affect the output
+            firstZip.close();
+            secondZip.close();
+            otherLevelZip.close();
+            Assert.assertArrayEquals(expected, first.toByteArray());
+            Assert.assertArrayEquals(expected, second.toByteArray());
+        }
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i % 251 ^ i / 997);
+        }
+        return data;
+    }
+
+    private static byte[] deflate(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        java.util.zip.DeflaterOutputStream zip = new java.util.zip.DeflaterOutputStream(baos, new Deflater(level));
+        zip.write(data);
+        zip.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] inflateByteByByte(byte[] encoded) {
+        InflaterInputStream zip = new InflaterInputStream(new ByteArrayInputStream(encoded));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] b = new byte[1];
+        try {
+            int n;
+            while ((n = zip.read(b)) >= 0) {
+                out.write(b, 0, n);
+            }
+        } catch (IOException ignored) {
+        }
+        return out.toByteArray();
+    }
+}
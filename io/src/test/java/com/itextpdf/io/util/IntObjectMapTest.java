@@ -0,0 +1,125 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.io.util;
+
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+@Category(UnitTest.class)
+public class IntObjectMapTest {
+
+    @Test
+    public void putGetRemoveTest() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        Assert.assertNull(map.put(65, "A"));
+        Assert.assertNull(map.put(0x1F600, "smile"));
+        Assert.assertNull(map.put(-1, "minus one"));
+        Assert.assertEquals("A", map.put(65, "a"));
+
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("a", map.get(65));
+        Assert.assertEquals("smile", map.get(0x1F600));
+        Assert.assertEquals("minus one", map.get((Object) (-1)));
+        Assert.assertNull(map.get(66));
+        Assert.assertFalse(map.containsKey(0x1F601));
+
+        Assert.assertEquals("smile", map.remove(0x1F600));
+        Assert.assertEquals("a", map.put(65, null));
+        Assert.assertEquals(1, map.size());
+        Assert.assertFalse(map.containsKey(65));
+    }
+
+    @Test
+    public void behavesAsLinkedHashMapTest() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            // mix of BMP and supplementary keys with many collisions
+            int key = random.nextBoolean() ? random.nextInt(0x10000) : 0x10000 + random.nextInt(2000);
+            if (random.nextInt(4) == 0) {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assert.assertEquals(expected.put(key, i), map.put(key, (Integer) i));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (int key = -10; key < 0x10000 + 2100; key++) {
+            Assert.assertEquals(expected.get(key), map.get(key));
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+    }
+
+    @Test
+    public void iterationOrderTest() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(300, "c");
+        map.put(0x1F600, "d");
+        map.put(2, "b");
+        map.put(1, "a");
+        map.put(300, "C");
+        Assert.assertEquals("300C128512d2b1a", toString(map));
+
+        // removed keys are put to the end when they are put again, like in LinkedHashMap
+        map.remove(0x1F600);
+        map.remove(2);
+        map.put(2, "B");
+        Assert.assertEquals("300C1a2B", toString(map));
+    }
+
+    private static String toString(IntObjectMap<String> map) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            sb.append(entry.getKey()).append(entry.getValue());
+        }
+        return sb.toString();
+    }
+}
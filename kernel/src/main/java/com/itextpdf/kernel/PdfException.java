@@ -97,6 +97,7 @@ public class PdfException extends RuntimeException {
     public static final String CannotFindImageDataOrEI = "Cannot find image data or EI.";
     public static final String CannotFlushDocumentRootTagBeforeDocumentIsClosed = "Cannot flush document root tag before document is closed.";
     public static final String CannotFlushObject = "Cannot flush object.";
+    public static final String CannotLayOutSection1 = "Cannot lay out section {0}.";
     public static final String CannotMoveFlushedTag = "Cannot move flushed tag";
     public static final String CannotMoveToFlushedKid = "Cannot move to flushed kid.";
     public static final String CannotMoveToMarkedContentReference = "Cannot move to marked content reference.";
@@ -143,6 +144,7 @@ public class PdfException extends RuntimeException {
     public static final String DocumentHasNoPdfCatalogObject = "Document has no PDF Catalog object.";
     public static final String DocumentMustBePreClosed = "Document must be preClosed.";
     public static final String DocumentForCopyToCannotBeNull = "Document for copyTo cannot be null.";
+    public static final String DocumentOpenedInConcurrentReadOnlyModeCannotBeWritten = "Document opened in concurrent read-only mode cannot be written.";
     public static final String EndOfContentStreamReachedBeforeEndOfImageData = "End of content stream reached before end of image data.";
     public static final String ErrorWhileReadingObjectStream = "Error while reading Object Stream.";
     public static final String EncryptedPayloadFileSpecDoesntHaveEncryptedPayloadDictionary = "Encrypted payload file spec shall have encrypted payload dictionary.";
@@ -0,0 +1,122 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.crypto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that decrypts the bytes of the underlying stream on the fly using
+ * the provided {@link IDecryptor}. Only a single chunk of decrypted bytes is kept in memory at a time.
+ */
+public class InputStreamDecryption extends InputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private InputStream in;
+    private IDecryptor decryptor;
+    private byte[] readBuffer = new byte[BUFFER_SIZE];
+    private byte[] decrypted;
+    private int decryptedPos;
+    private boolean finished;
+    private byte[] sb = new byte[1];
+
+    /**
+     * Creates a new decrypting stream.
+     *
+     * @param in        the stream with encrypted bytes
+     * @param decryptor the decryptor to be applied to the bytes of the stream
+     */
+    public InputStreamDecryption(InputStream in, IDecryptor decryptor) {
+        this.in = in;
+        this.decryptor = decryptor;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int n = read(sb, 0, 1);
+        return n < 0 ? -1 : sb[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (decrypted == null || decryptedPos >= decrypted.length) {
+            if (!fillBuffer()) {
+                return -1;
+            }
+        }
+        int n = Math.min(len, decrypted.length - decryptedPos);
+        System.arraycopy(decrypted, decryptedPos, b, off, n);
+        decryptedPos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return decrypted == null ? 0 : decrypted.length - decryptedPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean fillBuffer() throws IOException {
+        if (finished) {
+            return false;
+        }
+        decryptedPos = 0;
+        int n = in.read(readBuffer, 0, readBuffer.length);
+        if (n < 0) {
+            finished = true;
+            decrypted = decryptor.finish();
+            return decrypted != null && decrypted.length > 0;
+        }
+        decrypted = decryptor.update(readBuffer, 0, n);
+        return true;
+    }
+}
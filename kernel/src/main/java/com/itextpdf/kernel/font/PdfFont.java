@@ -400,6 +400,32 @@ public abstract class PdfFont extends PdfObjectWrapper<PdfDictionary> {
         subsetRanges.add(range);
     }
 
+    /**
+     * Marks the glyphs used with another font as used with this font, so that they are included into
+     * the subset of this font when it is embedded. This allows content written with the other font to use
+     * this font instead, e.g. when pages are copied from several documents which use the same font program.
+     * The fonts shall be new fonts of the same type, created for the same {@link FontProgram} instance
+     * with the same encoding, embedding and subsetting options.
+     *
+     * @param font the font whose used glyphs shall be marked as used with this font
+     * @return true if the glyphs have been added, false if the fonts are not compatible
+     */
+    public boolean addUsedGlyphs(PdfFont font) {
+        return false;
+    }
+
+    /**
+     * Checks whether the given font is a new font created for the same font program
+     * with the same embedding and subsetting options as this font.
+     *
+     * @param font the font to compare with
+     * @return true if both fonts are compatible
+     */
+    boolean isCreatedLike(PdfFont font) {
+        return font != null && font.getClass() == getClass() && newFont && font.newFont && font.fontProgram == fontProgram
+                && font.embedded == embedded && font.subset == subset;
+    }
+
     public List<String> splitString(String text, float fontSize, float maxWidth) {
         List<String> resultString = new ArrayList<>();
         int lastWhiteSpace = 0;
@@ -303,6 +303,27 @@ public abstract class PdfSimpleFont<T extends FontProgram> extends PdfFont {
         return width;
     }
 
+    @Override
+    public boolean addUsedGlyphs(PdfFont font) {
+        if (!isCreatedLike(font)) {
+            return false;
+        }
+        FontEncoding otherEncoding = ((PdfSimpleFont) font).fontEncoding;
+        if (fontEncoding.isFontSpecific() != otherEncoding.isFontSpecific()
+                || !fontEncoding.isFontSpecific() && (fontEncoding.getBaseEncoding() == null
+                || !fontEncoding.getBaseEncoding().equals(otherEncoding.getBaseEncoding()))) {
+            // the codes are mapped to glyphs differently
+            return false;
+        }
+        byte[] otherShortTag = ((PdfSimpleFont) font).shortTag;
+        for (int k = 0; k < shortTag.length; k++) {
+            if (otherShortTag[k] != 0) {
+                shortTag[k] = 1;
+            }
+        }
+        return true;
+    }
+
     /**
      * Gets the state of the property.
      *
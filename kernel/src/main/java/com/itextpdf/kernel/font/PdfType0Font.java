@@ -585,6 +585,15 @@ public class PdfType0Font extends PdfFont {
         super.flush();
     }
 
+    @Override
+    public boolean addUsedGlyphs(PdfFont font) {
+        if (!isCreatedLike(font) || !cmapEncoding.getCmapName().equals(((PdfType0Font) font).cmapEncoding.getCmapName())) {
+            return false;
+        }
+        longTag.addAll(((PdfType0Font) font).longTag);
+        return true;
+    }
+
     public CMapEncoding getCmap() {
         return cmapEncoding;
     }
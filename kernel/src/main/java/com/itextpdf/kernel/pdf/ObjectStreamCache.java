@@ -0,0 +1,131 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most recently used decoded object streams of a document, so that the objects can be parsed
+ * one by one straight from the decoded bytes, and the same object stream is not decoded twice
+ * while the objects are read in random order.
+ */
+class ObjectStreamCache {
+
+    private final LinkedHashMap<Integer, DecodedObjectStream> objectStreams;
+
+    ObjectStreamCache(final int maxSize) {
+        this.objectStreams = new LinkedHashMap<Integer, DecodedObjectStream>(16, 0.75f, true) {
+            private static final long serialVersionUID = 3283245489016917342L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DecodedObjectStream> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    synchronized DecodedObjectStream get(int objectStreamNumber) {
+        return objectStreams.get(objectStreamNumber);
+    }
+
+    synchronized void put(int objectStreamNumber, DecodedObjectStream objectStream) {
+        objectStreams.put(objectStreamNumber, objectStream);
+    }
+
+    synchronized void clear() {
+        objectStreams.clear();
+    }
+
+    /**
+     * The decoded content of an object stream together with the numbers and the offsets of its objects.
+     */
+    static class DecodedObjectStream {
+
+        private final byte[] bytes;
+        private final int[] objNumbers;
+        private final int[] addresses;
+
+        DecodedObjectStream(byte[] bytes, int[] objNumbers, int[] addresses) {
+            this.bytes = bytes;
+            this.objNumbers = objNumbers;
+            this.addresses = addresses;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        int size() {
+            return objNumbers.length;
+        }
+
+        int getObjNumber(int index) {
+            return objNumbers[index];
+        }
+
+        int getAddress(int index) {
+            return addresses[index];
+        }
+
+        /**
+         * Finds the object in the object stream.
+         *
+         * @param objNumber the object number
+         * @param index     the expected index of the object as specified in the cross-reference stream
+         * @return the index of the object, or {@code -1} if there is no such object in the object stream
+         */
+        int indexOf(int objNumber, int index) {
+            if (index >= 0 && index < objNumbers.length && objNumbers[index] == objNumber) {
+                return index;
+            }
+            for (int k = 0; k < objNumbers.length; ++k) {
+                if (objNumbers[k] == objNumber) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -212,6 +212,11 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
      */
     Map<PdfIndirectReference, byte[]> serializedObjectsCache = new HashMap<>();
 
+    /**
+     * Cache of the structural digests of the objects from this document for smart mode with structural hashing.
+     */
+    Map<PdfIndirectReference, byte[]> structuralHashesCache = new HashMap<>();
+
     /**
      * Open PDF document in reading mode.
      *
@@ -844,8 +849,8 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                     }
 
                     writer.flushModifiedWaitingObjects(forbiddenToFlush);
-                    for (int i = 0; i < xref.size(); i++) {
-                        PdfIndirectReference indirectReference = xref.get(i);
+                    for (int i = xref.nextPending(1); i >= 0; i = xref.nextPending(i + 1)) {
+                        PdfIndirectReference indirectReference = xref.getMaterialized(i);
                         if (indirectReference != null && !indirectReference.isFree()
                                 && indirectReference.checkState(PdfObject.MODIFIED) && !indirectReference.checkState(PdfObject.FLUSHED)
                                 && !forbiddenToFlush.contains(indirectReference)) {
@@ -887,7 +892,7 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                     }
 
                     writer.flushWaitingObjects(forbiddenToFlush);
-                    for (int i = 0; i < xref.size(); i++) {
+                    for (int i = xref.nextPending(1); i >= 0; i = xref.nextPending(i + 1)) {
                         PdfIndirectReference indirectReference = xref.get(i);
                         if (indirectReference != null && !indirectReference.isFree() && !indirectReference.checkState(PdfObject.FLUSHED) && !forbiddenToFlush.contains(indirectReference)) {
                             PdfObject object;
@@ -1784,6 +1789,12 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
         try {
             EventCounterHandler.getInstance().onEvent(CoreEvent.PROCESS, properties.metaInfo, getClass());
             if (reader != null) {
+                if (reader.isConcurrentReadOnly() && writer != null) {
+                    throw new PdfException(PdfException.DocumentOpenedInConcurrentReadOnlyModeCannotBeWritten);
+                }
+                if (writer != null) {
+                    reader.disableObjectCache();
+                }
                 reader.pdfDocument = this;
                 reader.readPdf();
                 for (ICounter counter : getCounters()) {
@@ -1825,9 +1836,14 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                 }
                 if (properties.appendMode && (reader.hasRebuiltXref() || reader.hasFixedXref()))
                     throw new PdfException(PdfException.AppendModeRequiresADocumentWithoutErrorsEvenIfRecoveryWasPossible);
+                if (reader.isConcurrentReadOnly()) {
+                    reader.startConcurrentReading();
+                }
             }
             xref.initFreeReferencesList(this);
             if (writer != null) {
+                // references pending at closing are tracked from now on so that closing doesn't walk the whole xref
+                xref.startPendingReferencesTracking(!properties.appendMode);
                 if (reader != null && reader.hasXrefStm() && writer.properties.isFullCompression == null) {
                     writer.properties.isFullCompression = true;
                 }
@@ -45,6 +45,8 @@ package com.itextpdf.kernel.pdf;
 
 import com.itextpdf.io.util.MessageFormatUtil;
 
+import java.lang.ref.Reference;
+
 public class PdfIndirectReference extends PdfObject implements Comparable<PdfIndirectReference> {
 
     private static final long serialVersionUID = -8293603068792908601L;
@@ -62,8 +64,15 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
 
     /**
      * PdfObject that current PdfIndirectReference instance refers to.
+     * The field is volatile so that objects lazily read in concurrent read-only mode are safely published to other threads.
+     */
+    protected volatile PdfObject refersTo = null;
+
+    /**
+     * The object that was evicted from the reader's object cache, but may still be in use.
+     * See {@link ReaderProperties#setObjectCachePolicy(ObjectCachePolicy, int)}.
      */
-    protected PdfObject refersTo = null;
+    transient volatile Reference<PdfObject> evictedRefersTo = null;
 
     /**
      * Indirect reference number of object stream containing refersTo object.
@@ -123,10 +132,16 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
      */
     public PdfObject getRefersTo(boolean recursively) {
         if (!recursively) {
-            if (refersTo == null && !checkState(FLUSHED) && !checkState(MODIFIED) && !checkState(FREE) && getReader() != null) {
-                refersTo = getReader().readObject(this);
+            PdfObject object = getLoadedRefersTo();
+            if (object == null && !checkState(FLUSHED) && !checkState(MODIFIED) && !checkState(FREE) && getReader() != null) {
+                PdfReader reader = getReader();
+                object = reader.readObject(this);
+                refersTo = object;
+                if (object != null && reader.objectCache != null) {
+                    reader.objectCache.addAndTrim(this);
+                }
             }
-            return refersTo;
+            return object;
         } else {
             PdfObject currentRefersTo = getRefersTo(false);
             for (int i = 0; i < LENGTH_OF_INDIRECTS_CHAIN; i++) {
@@ -143,6 +158,23 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
         this.refersTo = refersTo;
     }
 
+    /**
+     * Gets the object this reference refers to without reading it from the document.
+     * An object evicted from the reader's object cache is restored if it has not been garbage collected yet.
+     *
+     * @return the object, or {@code null} if it is not loaded
+     */
+    PdfObject getLoadedRefersTo() {
+        PdfObject object = refersTo;
+        if (object == null && evictedRefersTo != null) {
+            PdfReader reader = getReader();
+            if (reader != null && reader.objectCache != null) {
+                object = reader.objectCache.restore(this);
+            }
+        }
+        return object;
+    }
+
     public int getObjStreamNumber() {
         return objectStreamNumber;
     }
@@ -297,7 +329,11 @@ public class PdfIndirectReference extends PdfObject implements Comparable<PdfInd
      * @param state special flag of current object
      */
     protected PdfObject setState(short state) {
-        return super.setState(state);
+        super.setState(state);
+        if ((state & (MODIFIED | MUST_BE_FLUSHED)) != 0 && pdfDocument != null) {
+            pdfDocument.getXref().markPending(this);
+        }
+        return this;
     }
 
     void setObjStreamNumber(int objectStreamNumber) {
@@ -272,6 +272,7 @@ public class PdfName extends PdfPrimitiveObject implements Comparable<PdfName> {
     public static final PdfName Direction = createDirectName("Direction");
     public static final PdfName Disc = createDirectName("Disc");
     public static final PdfName DisplayDocTitle = createDirectName("DisplayDocTitle");
+    public static final PdfName DL = createDirectName("DL");
     public static final PdfName DocMDP = createDirectName("DocMDP");
     public static final PdfName DocOpen = createDirectName("DocOpen");
     public static final PdfName DocTimeStamp = createDirectName("DocTimeStamp");
@@ -344,6 +344,8 @@ public abstract class PdfObject implements Serializable {
         if (indirectReference != null) {
             indirectReference.setState(MODIFIED);
             setState(FORBID_RELEASE);
+            // modified object shall not be evicted from the reader's object cache
+            indirectReference.getLoadedRefersTo();
         }
         return this;
     }
@@ -367,6 +369,7 @@ public abstract class PdfObject implements Serializable {
             if (indirectReference != null && indirectReference.getReader() != null
                     && !indirectReference.checkState(FLUSHED)) {
                 indirectReference.refersTo = null;
+                indirectReference.evictedRefersTo = null;
                 indirectReference = null;
                 setState(READ_ONLY);
             }
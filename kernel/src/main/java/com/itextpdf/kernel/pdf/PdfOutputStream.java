@@ -71,6 +71,9 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
     // For internal usage only
     private byte[] duplicateContentBuffer = null;
 
+    // Incremented on every change of the written bytes, see getModificationCount()
+    private transient int modificationCount = 0;
+
     /**
      * Document associated with PdfOutputStream.
      */
@@ -89,6 +92,36 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         super(outputStream);
     }
 
+    @Override
+    public void write(int b) throws IOException {
+        super.write(b);
+        modificationCount++;
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        super.write(b);
+        modificationCount++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        super.write(b, off, len);
+        modificationCount++;
+    }
+
+    @Override
+    public void assignBytes(byte[] bytes, int count) {
+        super.assignBytes(bytes, count);
+        modificationCount++;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        modificationCount++;
+    }
+
     /**
      * Write a PdfObject to the outputstream.
      *
@@ -271,7 +304,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
-    private boolean isNotMetadataPdfStream(PdfStream pdfStream) {
+    boolean isNotMetadataPdfStream(PdfStream pdfStream) {
         return pdfStream.getAsName(PdfName.Type) == null ||
                 (pdfStream.getAsName(PdfName.Type) != null && !pdfStream.getAsName(PdfName.Type).equals(PdfName.Metadata));
     }
@@ -341,17 +374,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 try {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) { // compress
                         updateCompressionFilter(pdfStream);
-                        byteArrayStream = new ByteArrayOutputStream();
-                        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
-                        if (pdfStream instanceof PdfObjectStream) {
-                            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
-                            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
-                            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        } else {
-                            assert pdfStream.getOutputStream() != null : "Error in outputStream";
-                            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
-                        }
-                        zip.finish();
+                        byteArrayStream = compressStreamContent(pdfStream);
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -386,6 +409,42 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    /**
+     * Compresses the content of the stream with its compression level.
+     *
+     * @param pdfStream the stream which is being written
+     * @return the compressed stream content
+     * @throws IOException on error
+     */
+    protected ByteArrayOutputStream compressStreamContent(PdfStream pdfStream) throws IOException {
+        return deflateStreamContent(pdfStream, pdfStream.getCompressionLevel());
+    }
+
+    static ByteArrayOutputStream deflateStreamContent(PdfStream pdfStream, int compressionLevel) throws IOException {
+        ByteArrayOutputStream byteArrayStream = new ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, compressionLevel);
+        if (pdfStream instanceof PdfObjectStream) {
+            PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
+            ((ByteArrayOutputStream) objectStream.getIndexStream().getOutputStream()).writeTo(zip);
+            ((ByteArrayOutputStream) objectStream.getOutputStream().getOutputStream()).writeTo(zip);
+        } else {
+            assert pdfStream.getOutputStream() != null : "Error in outputStream";
+            ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
+        }
+        zip.finish();
+        return byteArrayStream;
+    }
+
+    /**
+     * Gets the number of changes made to the written bytes. Two equal values taken from the same stream
+     * mean that nothing has been written, assigned or reset in between.
+     *
+     * @return the modification count
+     */
+    int getModificationCount() {
+        return modificationCount;
+    }
+
     protected boolean checkEncryption(PdfStream pdfStream) {
         if (crypto == null || crypto.isEmbeddedFilesOnly()) {
             return false;
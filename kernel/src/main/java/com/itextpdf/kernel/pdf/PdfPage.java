@@ -491,6 +491,10 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         if (resources != null && resources.isModified() && !resources.isReadOnly()) {
             getPdfObject().put(PdfName.Resources, resources.getPdfObject());
         }
+        PdfWriter writer = getDocument().getWriter();
+        if (writer != null && writer.isParallelCompression()) {
+            writer.precompressStreams(getStreamsToFlush(flushResourcesContentStreams));
+        }
         if (flushResourcesContentStreams) {
             getDocument().checkIsoConformance(this, IsoKey.PAGE);
             flushResourcesContentStreams();
@@ -1212,6 +1216,39 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         }
     }
 
+    /**
+     * Gets the content streams of the page and, if the resources are going to be flushed too,
+     * the streams of its XObjects, patterns and shadings.
+     */
+    List<PdfStream> getStreamsToFlush(boolean includeResources) {
+        List<PdfStream> streams = new ArrayList<>();
+        for (int i = 0; i < getContentStreamCount(); i++) {
+            streams.add(getContentStream(i));
+        }
+        if (includeResources) {
+            collectResourcesStreams(getResources().getPdfObject(), streams);
+        }
+        return streams;
+    }
+
+    private void collectResourcesStreams(PdfDictionary resources, List<PdfStream> streams) {
+        if (resources == null) {
+            return;
+        }
+        for (PdfName resourceType : new PdfName[] {PdfName.XObject, PdfName.Pattern, PdfName.Shading}) {
+            PdfDictionary objsCollection = resources.getAsDictionary(resourceType);
+            if (objsCollection == null) {
+                continue;
+            }
+            for (PdfObject obj : objsCollection.values()) {
+                if (obj.isStream() && !obj.isFlushed()) {
+                    streams.add((PdfStream) obj);
+                    collectResourcesStreams(((PdfStream) obj).getAsDictionary(PdfName.Resources), streams);
+                }
+            }
+        }
+    }
+
     private void flushResourcesContentStreams() {
         flushResourcesContentStreams(getResources().getPdfObject());
 
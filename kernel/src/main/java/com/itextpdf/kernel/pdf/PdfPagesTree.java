@@ -103,7 +103,7 @@ class PdfPagesTree implements Serializable {
      * @param pageNum one-based index of the element to return
      * @return the {@see PdfPage} at the specified position in this list
      */
-    public PdfPage getPage(int pageNum) {
+    public synchronized PdfPage getPage(int pageNum) {
         if (pageNum < 1 || pageNum > getNumberOfPages()) {
             throw new IndexOutOfBoundsException(MessageFormatUtil.format(PdfException.RequestedPageNumberIsOutOfBounds, pageNum));
         }
@@ -159,7 +159,7 @@ class PdfPagesTree implements Serializable {
      * Returns the index of the first occurrence of the page in this tree
      * specified by it's PdfDictionary, or 0 if this tree does not contain the page.
      */
-    public int getPageNumber(PdfDictionary pageDictionary) {
+    public synchronized int getPageNumber(PdfDictionary pageDictionary) {
         int pageNum = pageRefs.indexOf(pageDictionary);
         if (pageNum >= 0) {
             return pageNum + 1;
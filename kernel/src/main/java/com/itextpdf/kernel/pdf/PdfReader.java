@@ -48,14 +48,17 @@ import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.PdfTokenizer;
+import com.itextpdf.io.source.RASInputStream;
 import com.itextpdf.io.source.RandomAccessFileOrArray;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.io.util.MessageFormatUtil;
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.PdfException;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
+import com.itextpdf.kernel.pdf.filters.IStreamFilterHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +68,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -111,6 +116,31 @@ public class PdfReader implements Closeable, Serializable {
     protected boolean fixedXref = false;
     protected boolean xrefStm = false;
 
+    /**
+     * Per thread readers, which are used to read objects and streams in concurrent read-only mode.
+     */
+    private transient ThreadLocal<PdfReader> concurrentReaders;
+
+    /**
+     * The reader on behalf of which this per thread reader reads objects in concurrent read-only mode.
+     */
+    private transient PdfReader concurrentParent;
+
+    /**
+     * Cache of the read objects, or {@code null} if all read objects are kept in memory.
+     */
+    transient ReaderObjectCache objectCache;
+
+    /**
+     * References of the objects read from an object stream, which are to be added to the object cache.
+     */
+    private transient List<PdfIndirectReference> objectStreamMembers;
+
+    /**
+     * Cache of the decoded object streams, or {@code null} if all objects of an object stream are read at once.
+     */
+    private transient ObjectStreamCache objectStreamCache;
+
     /**
      * Constructs a new PdfReader.
      *
@@ -119,7 +149,11 @@ public class PdfReader implements Closeable, Serializable {
      */
     public PdfReader(IRandomAccessSource byteSource, ReaderProperties properties) throws IOException {
         this.properties = properties;
+        if (properties.concurrentReadOnly) {
+            byteSource = new RandomAccessSourceFactory().createConcurrentSource(byteSource);
+        }
         this.tokens = getOffsetTokeniser(byteSource);
+        initObjectCache();
     }
 
     /**
@@ -164,12 +198,7 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error
      */
     public PdfReader(String filename, ReaderProperties properties) throws IOException {
-        this(
-                new RandomAccessSourceFactory()
-                        .setForceRead(false)
-                        .createBestSource(filename),
-                properties
-        );
+        this(createSource(filename, properties), properties);
         this.sourcePath = filename;
     }
 
@@ -191,6 +220,9 @@ public class PdfReader implements Closeable, Serializable {
      */
     public void close() throws IOException {
         tokens.close();
+        if (objectStreamCache != null) {
+            objectStreamCache.clear();
+        }
     }
 
     /**
@@ -250,6 +282,16 @@ public class PdfReader implements Closeable, Serializable {
         return xrefStm;
     }
 
+    /**
+     * Checks if the document can be read from several threads at the same time.
+     *
+     * @return true, if the reader was opened in concurrent read-only mode.
+     * @see ReaderProperties#setConcurrentReadOnly(boolean)
+     */
+    public boolean isConcurrentReadOnly() {
+        return properties.concurrentReadOnly;
+    }
+
     /**
      * If any exception generated while reading PdfObject, PdfReader will try to fix offsets of all objects.
      *
@@ -293,9 +335,13 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
-        PdfName type = stream.getAsName(PdfName.Type);
-        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
-            checkPdfStreamLength(stream);
+        if (concurrentReaders != null) {
+            return concurrentReaders.get().readStreamBytesRaw(stream);
+        }
+        // in concurrent read-only mode the length is checked before the stream is shared between threads
+        if (concurrentParent == null) {
+            checkStreamLength(stream);
+        }
         long offset = stream.getOffset();
         if (offset <= 0)
             return null;
@@ -308,24 +354,8 @@ public class PdfReader implements Closeable, Serializable {
             file.seek(stream.getOffset());
             bytes = new byte[length];
             file.readFully(bytes);
-            if (decrypt != null && !decrypt.isEmbeddedFilesOnly()) {
-                PdfObject filter = stream.get(PdfName.Filter, true);
-                boolean skip = false;
-                if (filter != null) {
-                    if (PdfName.Crypt.equals(filter)) {
-                        skip = true;
-                    } else if (filter.getType() == PdfObject.ARRAY) {
-                        PdfArray filters = (PdfArray) filter;
-                        for (int k = 0; k < filters.size(); k++) {
-                            if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
-                                skip = true;
-                                break;
-                            }
-                        }
-                    }
-                    filter.release();
-                }
-                if (!skip) {
+            if (isStreamToBeDecrypted(stream)) {
+                synchronized (decrypt) {
                     decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
                     bytes = decrypt.decryptByteArray(bytes);
                 }
@@ -340,7 +370,10 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     /**
-     * Reads, decrypt and optionally decode stream bytes into {@link ByteArrayInputStream}.
+     * Reads, decrypt and optionally decode stream bytes into {@link InputStream}.
+     * The stream content is read from the source, decrypted and decoded on the fly while the returned
+     * stream is being consumed, so large streams can be processed without loading them into memory.
+     * Filters that don't implement {@link IStreamFilterHandler} are applied to the whole data at once.
      * User is responsible for closing returned stream.
      *
      * @param decode true if to get decoded stream, false if to leave it originally encoded.
@@ -348,8 +381,97 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public InputStream readStream(PdfStream stream, boolean decode) throws IOException {
-        byte[] bytes = readStreamBytes(stream, decode);
-        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+        InputStream is = readStreamRaw(stream);
+        if (decode && is != null) {
+            return decodeStream(is, stream);
+        } else {
+            return is;
+        }
+    }
+
+    /**
+     * Creates {@link InputStream} which reads and decrypts stream bytes directly from the source of the document.
+     * Note, this method doesn't store actual bytes in any internal structures.
+     * User is responsible for closing returned stream.
+     *
+     * @return InputStream or {@code null} if reading was failed.
+     * @throws IOException on error.
+     */
+    public InputStream readStreamRaw(PdfStream stream) throws IOException {
+        if (concurrentReaders != null) {
+            return concurrentReaders.get().readStreamRaw(stream);
+        }
+        // in concurrent read-only mode the length is checked before the stream is shared between threads
+        if (concurrentParent == null) {
+            checkStreamLength(stream);
+        }
+        long offset = stream.getOffset();
+        if (offset <= 0)
+            return null;
+        int length = stream.getLength();
+        if (length <= 0)
+            return new ByteArrayInputStream(new byte[0]);
+        InputStream is = new RASInputStream(new WindowRandomAccessSource(tokens.getSafeFile().createSourceView(), offset, length));
+        if (isStreamToBeDecrypted(stream)) {
+            synchronized (decrypt) {
+                decrypt.setHashKeyForNextObject(stream.getIndirectReference().getObjNumber(), stream.getIndirectReference().getGenNumber());
+                is = decrypt.getDecryptionStream(is);
+            }
+        }
+        return is;
+    }
+
+    /**
+     * Decode stream applying the filters specified in the provided dictionary using default filter handlers.
+     *
+     * @param is               the stream with the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @return the stream with decoded bytes
+     * @throws IOException on error.
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream is, PdfDictionary streamDictionary) throws IOException {
+        return decodeStream(is, streamDictionary, FilterHandlers.getDefaultFilterHandlers());
+    }
+
+    /**
+     * Decode stream applying the filters specified in the provided dictionary using the provided filter handlers.
+     * Handlers implementing {@link IStreamFilterHandler} decode the data on the fly, others are given
+     * the whole data read from the previous step of the decoding chain.
+     *
+     * @param is               the stream with the bytes to decode
+     * @param streamDictionary the dictionary that contains filter information
+     * @param filterHandlers   the map used to look up a handler for each type of filter
+     * @return the stream with decoded bytes
+     * @throws IOException on error.
+     * @throws PdfException if there are any problems decoding the bytes
+     */
+    public static InputStream decodeStream(InputStream is, PdfDictionary streamDictionary, Map<PdfName, IFilterHandler> filterHandlers) throws IOException {
+        if (is == null) {
+            return null;
+        }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
+        for (int j = 0; j < filters.size(); ++j) {
+            PdfName filterName = (PdfName) filters.get(j);
+            IFilterHandler filterHandler = filterHandlers.get(filterName);
+            if (filterHandler == null)
+                throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
+
+            PdfDictionary decodeParams = getDecodeParamsEntry(dp, j);
+            if (filterHandler instanceof IStreamFilterHandler) {
+                is = ((IStreamFilterHandler) filterHandler).decode(is, filterName, decodeParams, streamDictionary);
+            } else {
+                byte[] b;
+                try {
+                    b = StreamUtil.inputStreamToArray(is);
+                } finally {
+                    is.close();
+                }
+                is = new ByteArrayInputStream(filterHandler.decode(b, filterName, decodeParams, streamDictionary));
+            }
+        }
+        return is;
     }
 
     /**
@@ -377,48 +499,15 @@ public class PdfReader implements Closeable, Serializable {
         if (b == null) {
             return null;
         }
-        PdfObject filter = streamDictionary.get(PdfName.Filter);
-        PdfArray filters = new PdfArray();
-        if (filter != null) {
-            if (filter.getType() == PdfObject.NAME) {
-                filters.add(filter);
-            } else if (filter.getType() == PdfObject.ARRAY) {
-                filters = ((PdfArray) filter);
-            }
-        }
-        PdfArray dp = new PdfArray();
-        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
-        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
-            if (dpo != null) dpo.release();
-            dpo = streamDictionary.get(PdfName.DP);
-        }
-        if (dpo != null) {
-            if (dpo.getType() == PdfObject.DICTIONARY) {
-                dp.add(dpo);
-            } else if (dpo.getType() == PdfObject.ARRAY) {
-                dp = ((PdfArray) dpo);
-            }
-            dpo.release();
-        }
+        PdfArray filters = getFilters(streamDictionary);
+        PdfArray dp = getDecodeParams(streamDictionary);
         for (int j = 0; j < filters.size(); ++j) {
             PdfName filterName = (PdfName) filters.get(j);
             IFilterHandler filterHandler = filterHandlers.get(filterName);
             if (filterHandler == null)
                 throw new PdfException(PdfException.Filter1IsNotSupported).setMessageParams(filterName);
 
-            PdfDictionary decodeParams;
-            if (j < dp.size()) {
-                PdfObject dpEntry = dp.get(j, true);
-                if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
-                    decodeParams = null;
-                } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
-                    decodeParams = (PdfDictionary) dpEntry;
-                } else {
-                    throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
-                }
-            } else {
-                decodeParams = null;
-            }
+            PdfDictionary decodeParams = getDecodeParamsEntry(dp, j);
             b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
         }
         return b;
@@ -546,50 +635,22 @@ public class PdfReader implements Closeable, Serializable {
 
     protected void readObjectStream(PdfStream objectStream) throws IOException {
         int objectStreamNumber = objectStream.getIndirectReference().getObjNumber();
-        int first = objectStream.getAsNumber(PdfName.First).intValue();
-        int n = objectStream.getAsNumber(PdfName.N).intValue();
-        byte[] bytes = readStreamBytes(objectStream, true);
+        ObjectStreamCache.DecodedObjectStream decodedObjectStream = decodeObjectStream(objectStream);
         PdfTokenizer saveTokens = tokens;
         try {
-            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
-            int[] address = new int[n];
-            int[] objNumber = new int[n];
-            boolean ok = true;
-            for (int k = 0; k < n; ++k) {
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                objNumber[k] = tokens.getIntValue();
-                ok = tokens.nextToken();
-                if (!ok)
-                    break;
-                if (tokens.getTokenType() != PdfTokenizer.TokenType.Number) {
-                    ok = false;
-                    break;
-                }
-                address[k] = tokens.getIntValue() + first;
-            }
-            if (!ok)
-                throw new PdfException(PdfException.ErrorWhileReadingObjectStream);
-            for (int k = 0; k < n; ++k) {
-                tokens.seek(address[k]);
-                tokens.nextToken();
-                PdfObject obj;
-                if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
-                    obj = new PdfNumber(tokens.getByteContent());
-                } else {
-                    tokens.seek(address[k]);
-                    obj = readObject(false, true);
-                }
-                PdfIndirectReference reference = pdfDocument.getXref().get(objNumber[k]);
-                // Check if this object has no incremental updates (e.g. no append mode)
-                if (reference.getObjStreamNumber() == objectStreamNumber) {
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(decodedObjectStream.getBytes())));
+            for (int k = 0; k < decodedObjectStream.size(); ++k) {
+                PdfObject obj = readObjectStreamMember(decodedObjectStream.getAddress(k));
+                PdfIndirectReference reference = pdfDocument.getXref().get(decodedObjectStream.getObjNumber(k));
+                // Check if this object has no incremental updates (e.g. no append mode).
+                // In concurrent mode and with object cache the objects that are still in use shall not be replaced.
+                if (reference.getObjStreamNumber() == objectStreamNumber
+                        && (concurrentParent == null && objectCache == null || reference.getLoadedRefersTo() == null)) {
                     reference.setRefersTo(obj);
                     obj.setIndirectReference(reference);
+                    if (objectCache != null) {
+                        objectStreamMembers.add(reference);
+                    }
                 }
             }
             objectStream.getIndirectReference().setState(PdfObject.ORIGINAL_OBJECT_STREAM);
@@ -599,6 +660,9 @@ public class PdfReader implements Closeable, Serializable {
     }
 
     protected PdfObject readObject(PdfIndirectReference reference) {
+        if (concurrentReaders != null) {
+            return concurrentReaders.get().readObjectConcurrently(reference);
+        }
         return readObject(reference, true);
     }
 
@@ -669,8 +733,13 @@ public class PdfReader implements Closeable, Serializable {
                         }
                     }
                 } else {
-                    reference = table.add((PdfIndirectReference) new PdfIndirectReference(pdfDocument,
-                            num, tokens.getGenNr(), 0).setState(PdfObject.READING));
+                    synchronized (table) {
+                        reference = table.get(num);
+                        if (reference == null) {
+                            reference = table.add((PdfIndirectReference) new PdfIndirectReference(pdfDocument,
+                                    num, tokens.getGenNr(), 0).setState(PdfObject.READING));
+                        }
+                    }
                 }
                 return reference;
             case EndOfFile:
@@ -828,34 +897,36 @@ public class PdfReader implements Closeable, Serializable {
                     end--;
                     continue;
                 }
-                PdfIndirectReference reference = xref.get(num);
+                if (xref.hasCompactEntry(num)) {
+                    // the entry has already been read from a more recent section
+                    continue;
+                }
+                PdfIndirectReference reference = xref.getMaterialized(num);
                 boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen;
                 boolean refFirstEncountered = reference == null
                         || !refReadingState && reference.getDocument() == null; // for references that are added by xref table itself (like 0 entry)
 
-                if (refFirstEncountered) {
-                    reference = new PdfIndirectReference(pdfDocument, num, gen, pos);
-                } else if (reference.checkState(PdfObject.READING) && reference.getGenNumber() == gen) {
+                if (refReadingState) {
                     reference.setOffset(pos);
                     reference.clearState(PdfObject.READING);
-                } else {
+                } else if (!refFirstEncountered) {
                     continue;
                 }
 
+                byte entryType = PdfXrefTable.IN_USE_ENTRY;
                 if (tokens.tokenValueEqualsTo(PdfTokenizer.N)) {
                     if (pos == 0) {
                         tokens.throwError(PdfException.FilePosition1CrossReferenceEntryInThisXrefSubsection);
                     }
                 } else if (tokens.tokenValueEqualsTo(PdfTokenizer.F)) {
-                    if (refFirstEncountered) {
-                        reference.setState(PdfObject.FREE);
-                    }
+                    entryType = PdfXrefTable.FREE_ENTRY;
                 } else {
                     tokens.throwError(PdfException.InvalidCrossReferenceEntryInThisXrefSubsection);
                 }
 
                 if (refFirstEncountered) {
-                    xref.add(reference);
+                    // the reference itself is created on demand
+                    xref.addCompactEntry(pdfDocument, num, entryType, gen, pos);
                 }
             }
         }
@@ -952,33 +1023,46 @@ public class PdfReader implements Closeable, Serializable {
                     field3 = (field3 << 8) + (b[bptr++] & 0xff);
                 }
                 int base = start;
-                PdfIndirectReference newReference;
+                byte entryType;
+                int genNr;
+                long offset;
+                int objStreamNumber = 0;
                 switch (type) {
                     case 0:
-                        newReference = (PdfIndirectReference) new PdfIndirectReference(pdfDocument, base, field3, field2).setState(PdfObject.FREE);
+                        entryType = PdfXrefTable.FREE_ENTRY;
+                        genNr = field3;
+                        offset = field2;
                         break;
                     case 1:
-                        newReference = new PdfIndirectReference(pdfDocument, base, field3, field2);
+                        entryType = PdfXrefTable.IN_USE_ENTRY;
+                        genNr = field3;
+                        offset = field2;
                         break;
                     case 2:
-                        newReference = new PdfIndirectReference(pdfDocument, base, 0, field3);
-                        newReference.setObjStreamNumber((int) field2);
+                        entryType = PdfXrefTable.COMPRESSED_ENTRY;
+                        genNr = 0;
+                        offset = field3;
+                        objStreamNumber = (int) field2;
                         break;
                     default:
                         throw new PdfException(PdfException.InvalidXrefStream);
                 }
 
-                PdfIndirectReference reference = xref.get(base);
-                boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == newReference.getGenNumber();
-                boolean refFirstEncountered = reference == null
-                        || !refReadingState && reference.getDocument() == null; // for references that are added by xref table itself (like 0 entry)
+                if (!xref.hasCompactEntry(base)) {
+                    PdfIndirectReference reference = xref.getMaterialized(base);
+                    boolean refReadingState = reference != null && reference.checkState(PdfObject.READING) && reference.getGenNumber() == genNr;
+                    boolean refFirstEncountered = reference == null
+                            || !refReadingState && reference.getDocument() == null; // for references that are added by xref table itself (like 0 entry)
 
-                if (refFirstEncountered) {
-                    xref.add(newReference);
-                } else if (refReadingState) {
-                    reference.setOffset(newReference.getOffset());
-                    reference.setObjStreamNumber(newReference.getObjStreamNumber());
-                    reference.clearState(PdfObject.READING);
+                    if (refFirstEncountered) {
+                        // the reference itself is created on demand
+                        xref.addCompactEntry(pdfDocument, base, entryType,
+                                entryType == PdfXrefTable.COMPRESSED_ENTRY ? objStreamNumber : genNr, offset);
+                    } else if (refReadingState) {
+                        reference.setOffset(offset);
+                        reference.setObjStreamNumber(objStreamNumber);
+                        reference.clearState(PdfObject.READING);
+                    }
                 }
                 ++start;
             }
@@ -1078,6 +1162,159 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    /**
+     * Creates a per thread reader for concurrent read-only mode.
+     */
+    private PdfReader(PdfReader parent) {
+        this.concurrentParent = parent;
+        this.tokens = new PdfTokenizer(parent.tokens.getSafeFile());
+        this.properties = parent.properties;
+        this.sourcePath = parent.sourcePath;
+        this.unethicalReading = parent.unethicalReading;
+        this.decrypt = parent.decrypt;
+        this.headerPdfVersion = parent.headerPdfVersion;
+        this.lastXref = parent.lastXref;
+        this.eofPos = parent.eofPos;
+        this.trailer = parent.trailer;
+        this.pdfDocument = parent.pdfDocument;
+        this.pdfAConformanceLevel = parent.pdfAConformanceLevel;
+        this.encrypted = parent.encrypted;
+        this.rebuiltXref = parent.rebuiltXref;
+        this.hybridXref = parent.hybridXref;
+        this.fixedXref = parent.fixedXref;
+        this.xrefStm = parent.xrefStm;
+        this.objectCache = parent.objectCache;
+        this.objectStreamCache = parent.objectStreamCache;
+        if (objectCache != null) {
+            objectStreamMembers = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Reads the object in concurrent read-only mode. An object is read only once even if several threads request it
+     * at the same time. Objects from an object stream are guarded by the object stream's reference,
+     * since all of them are read together.
+     */
+    private PdfObject readObjectConcurrently(PdfIndirectReference reference) {
+        PdfIndirectReference lock = reference;
+        if (reference.getObjStreamNumber() > 0) {
+            PdfIndirectReference objectStreamReference = pdfDocument.getXref().get(reference.getObjStreamNumber());
+            if (objectStreamReference != null) {
+                lock = objectStreamReference;
+            }
+        }
+        synchronized (lock) {
+            PdfObject object = reference.getLoadedRefersTo();
+            if (object == null) {
+                object = readObject(reference, true);
+                if (object != null && object.isStream()) {
+                    // the stream dictionary shall not be changed once other threads can access it
+                    try {
+                        checkStreamLength((PdfStream) object);
+                    } catch (IOException e) {
+                        throw new PdfException(PdfException.CannotReadPdfObject, e);
+                    }
+                }
+                reference.setRefersTo(object);
+            }
+            return object;
+        }
+    }
+
+    /**
+     * Keeps all the read objects in memory regardless of the object cache policy. The objects of a document
+     * with a writer may be changed in place, so they shall not be evicted and read from the source again.
+     */
+    void disableObjectCache() {
+        objectCache = null;
+        objectStreamMembers = null;
+    }
+
+    private void initObjectCache() {
+        if (properties.objectCachePolicy != null && properties.objectCachePolicy != ObjectCachePolicy.STRONG) {
+            objectCache = new ReaderObjectCache(properties.objectCachePolicy, properties.recentObjectsCount);
+            objectStreamMembers = new ArrayList<>();
+        }
+        if (properties.objectStreamCacheSize > 0) {
+            objectStreamCache = new ObjectStreamCache(properties.objectStreamCacheSize);
+        }
+    }
+
+    private static IRandomAccessSource createSource(String filename, ReaderProperties properties) throws IOException {
+        RandomAccessSourceFactory factory = new RandomAccessSourceFactory().setForceRead(false);
+        return properties.concurrentReadOnly ? factory.createConcurrentSource(filename) : factory.createBestSource(filename);
+    }
+
+    /**
+     * Reads the single object stored in an object stream. The decoded object stream is kept in the object stream
+     * cache, so the other objects of the same stream are read later without decoding the stream once again.
+     */
+    private PdfObject readObjectFromCachedObjectStream(PdfIndirectReference reference) throws IOException {
+        int objectStreamNumber = reference.getObjStreamNumber();
+        PdfIndirectReference objectStreamReference = pdfDocument.getXref().get(objectStreamNumber);
+        ObjectStreamCache.DecodedObjectStream decodedObjectStream = objectStreamCache.get(objectStreamNumber);
+        if (decodedObjectStream == null) {
+            decodedObjectStream = decodeObjectStream((PdfStream) objectStreamReference.getRefersTo(false));
+            objectStreamCache.put(objectStreamNumber, decodedObjectStream);
+        }
+        objectStreamReference.setState(PdfObject.ORIGINAL_OBJECT_STREAM);
+        int index = decodedObjectStream.indexOf(reference.getObjNumber(), reference.getIndex());
+        if (index < 0) {
+            return null;
+        }
+        PdfTokenizer saveTokens = tokens;
+        try {
+            tokens = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(decodedObjectStream.getBytes())));
+            PdfObject obj = readObjectStreamMember(decodedObjectStream.getAddress(index));
+            reference.setRefersTo(obj);
+            obj.setIndirectReference(reference);
+            return obj;
+        } finally {
+            tokens = saveTokens;
+        }
+    }
+
+    private ObjectStreamCache.DecodedObjectStream decodeObjectStream(PdfStream objectStream) throws IOException {
+        int first = objectStream.getAsNumber(PdfName.First).intValue();
+        int n = objectStream.getAsNumber(PdfName.N).intValue();
+        byte[] bytes = readStreamBytes(objectStream, true);
+        PdfTokenizer tokenizer = new PdfTokenizer(new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(bytes)));
+        int[] address = new int[n];
+        int[] objNumber = new int[n];
+        boolean ok = true;
+        for (int k = 0; k < n; ++k) {
+            ok = tokenizer.nextToken();
+            if (!ok)
+                break;
+            if (tokenizer.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            objNumber[k] = tokenizer.getIntValue();
+            ok = tokenizer.nextToken();
+            if (!ok)
+                break;
+            if (tokenizer.getTokenType() != PdfTokenizer.TokenType.Number) {
+                ok = false;
+                break;
+            }
+            address[k] = tokenizer.getIntValue() + first;
+        }
+        if (!ok)
+            throw new PdfException(PdfException.ErrorWhileReadingObjectStream);
+        return new ObjectStreamCache.DecodedObjectStream(bytes, objNumber, address);
+    }
+
+    private PdfObject readObjectStreamMember(int address) throws IOException {
+        tokens.seek(address);
+        tokens.nextToken();
+        if (tokens.getTokenType() == PdfTokenizer.TokenType.Number) {
+            return new PdfNumber(tokens.getByteContent());
+        }
+        tokens.seek(address);
+        return readObject(false, true);
+    }
+
     /**
      * Utility method that checks the provided byte source to see if it has junk bytes at the beginning.  If junk bytes
      * are found, construct a tokeniser that ignores the junk.  Otherwise, construct a tokeniser for the byte source as it is
@@ -1096,18 +1333,53 @@ public class PdfReader implements Closeable, Serializable {
         return tok;
     }
 
+    /**
+     * Switches the reader to concurrent reading once the document structure has been read.
+     * From then on objects and streams are read by per thread readers, each with its own tokenizer over the shared source.
+     */
+    void startConcurrentReading() {
+        // lengths of the streams read so far are corrected now, since the per thread readers do not change shared streams
+        PdfXrefTable xref = pdfDocument.getXref();
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference reference = xref.getMaterialized(i);
+            PdfObject object = reference != null ? reference.getLoadedRefersTo() : null;
+            if (object != null && object.isStream()) {
+                try {
+                    checkStreamLength((PdfStream) object);
+                } catch (IOException e) {
+                    throw new PdfException(PdfException.CannotReadPdfObject, e);
+                }
+            }
+        }
+        final PdfReader parent = this;
+        concurrentReaders = new ThreadLocal<PdfReader>() {
+            @Override
+            protected PdfReader initialValue() {
+                return new PdfReader(parent);
+            }
+        };
+    }
+
     private PdfObject readObject(PdfIndirectReference reference, boolean fixXref) {
         if (reference == null)
             return null;
-        if (reference.refersTo != null)
-            return reference.refersTo;
+        PdfObject loadedObject = reference.getLoadedRefersTo();
+        if (loadedObject != null)
+            return loadedObject;
         try {
             currentIndirectReference = reference;
-            if (reference.getObjStreamNumber() > 0) {
+            if (reference.getObjStreamNumber() > 0 && objectStreamCache != null) {
+                return readObjectFromCachedObjectStream(reference);
+            } else if (reference.getObjStreamNumber() > 0) {
                 PdfStream objectStream = (PdfStream) pdfDocument.getXref().
                         get(reference.getObjStreamNumber()).getRefersTo(false);
                 readObjectStream(objectStream);
-                return reference.refersTo;
+                PdfObject object = reference.refersTo;
+                if (objectCache != null) {
+                    objectCache.add(objectStreamMembers);
+                    objectStreamMembers.clear();
+                }
+                return object;
             } else if (reference.getOffset() > 0) {
                 PdfObject object;
                 try {
@@ -1120,7 +1392,9 @@ public class PdfReader implements Closeable, Serializable {
                     }
                     object = readObject(false);
                 } catch (RuntimeException ex) {
-                    if (fixXref && reference.getObjStreamNumber() == 0) {
+                    // In concurrent mode other threads read the cross-reference table without locking,
+                    // so it is never rebuilt once the concurrent reading has started.
+                    if (fixXref && reference.getObjStreamNumber() == 0 && concurrentParent == null) {
                         fixXref();
                         object = readObject(reference, false);
                     } else {
@@ -1136,6 +1410,80 @@ public class PdfReader implements Closeable, Serializable {
         }
     }
 
+    private boolean isStreamToBeDecrypted(PdfStream stream) {
+        if (decrypt == null || decrypt.isEmbeddedFilesOnly()) {
+            return false;
+        }
+        PdfObject filter = stream.get(PdfName.Filter, true);
+        boolean skip = false;
+        if (filter != null) {
+            if (PdfName.Crypt.equals(filter)) {
+                skip = true;
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                PdfArray filters = (PdfArray) filter;
+                for (int k = 0; k < filters.size(); k++) {
+                    if (!filters.isEmpty() && PdfName.Crypt.equals(filters.get(k, true))) {
+                        skip = true;
+                        break;
+                    }
+                }
+            }
+            filter.release();
+        }
+        return !skip;
+    }
+
+    private static PdfArray getFilters(PdfDictionary streamDictionary) {
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        PdfArray filters = new PdfArray();
+        if (filter != null) {
+            if (filter.getType() == PdfObject.NAME) {
+                filters.add(filter);
+            } else if (filter.getType() == PdfObject.ARRAY) {
+                filters = ((PdfArray) filter);
+            }
+        }
+        return filters;
+    }
+
+    private static PdfArray getDecodeParams(PdfDictionary streamDictionary) {
+        PdfArray dp = new PdfArray();
+        PdfObject dpo = streamDictionary.get(PdfName.DecodeParms);
+        if (dpo == null || (dpo.getType() != PdfObject.DICTIONARY && dpo.getType() != PdfObject.ARRAY)) {
+            if (dpo != null) dpo.release();
+            dpo = streamDictionary.get(PdfName.DP);
+        }
+        if (dpo != null) {
+            if (dpo.getType() == PdfObject.DICTIONARY) {
+                dp.add(dpo);
+            } else if (dpo.getType() == PdfObject.ARRAY) {
+                dp = ((PdfArray) dpo);
+            }
+            dpo.release();
+        }
+        return dp;
+    }
+
+    private static PdfDictionary getDecodeParamsEntry(PdfArray dp, int index) {
+        if (index >= dp.size()) {
+            return null;
+        }
+        PdfObject dpEntry = dp.get(index, true);
+        if (dpEntry == null || dpEntry.getType() == PdfObject.NULL) {
+            return null;
+        } else if (dpEntry.getType() == PdfObject.DICTIONARY) {
+            return (PdfDictionary) dpEntry;
+        } else {
+            throw new PdfException(PdfException.DecodeParameterType1IsNotSupported).setMessageParams(dpEntry.getClass().toString());
+        }
+    }
+
+    private void checkStreamLength(PdfStream stream) throws IOException {
+        PdfName type = stream.getAsName(PdfName.Type);
+        if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
+            checkPdfStreamLength(stream);
+    }
+
     private void checkPdfStreamLength(PdfStream pdfStream) throws IOException {
         if (!correctStreamLength)
             return;
@@ -1209,8 +1557,12 @@ public class PdfReader implements Closeable, Serializable {
      */
     private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
         in.defaultReadObject();
+        initObjectCache();
         if (sourcePath != null && tokens == null) {
-            tokens = getOffsetTokeniser(new RandomAccessSourceFactory().setForceRead(false).createBestSource(sourcePath));
+            tokens = getOffsetTokeniser(createSource(sourcePath, properties));
+            if (properties.concurrentReadOnly && pdfDocument != null) {
+                startConcurrentReading();
+            }
         }
     }
 
@@ -277,8 +277,10 @@ public class PdfString extends PdfPrimitiveObject {
     protected byte[] decodeContent() {
         byte[] decodedBytes = PdfTokenizer.decodeStringContent(content, hexWriting);
         if (decryption != null && !checkState(PdfObject.UNENCRYPTED)) {
-            decryption.setHashKeyForNextObject(decryptInfoNum, decryptInfoGen);
-            decodedBytes = decryption.decryptByteArray(decodedBytes);
+            synchronized (decryption) {
+                decryption.setHashKeyForNextObject(decryptInfoNum, decryptInfoGen);
+                decodedBytes = decryption.decryptByteArray(decodedBytes);
+            }
         }
         return decodedBytes;
     }
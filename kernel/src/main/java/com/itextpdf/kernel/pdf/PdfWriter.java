@@ -93,6 +93,12 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     private SmartModePdfObjectsSerializer smartModeSerializer = new SmartModePdfObjectsSerializer();
 
+    /**
+     * Is used to compress streams in parallel if {@link WriterProperties#useParallelCompression(java.util.concurrent.Executor)}
+     * was called, otherwise it is {@code null}.
+     */
+    private transient StreamCompressor streamCompressor;
+
     //forewarned is forearmed
     protected boolean isUserWarnedAboutAcroFormCopying;
 
@@ -120,6 +126,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         if (properties.debugMode) {
             setDebugMode();
         }
+        if (properties.compressionExecutor != null) {
+            streamCompressor = new StreamCompressor(properties.compressionExecutor);
+        }
     }
 
     /**
@@ -244,6 +253,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         try {
             super.close();
         } finally {
+            if (streamCompressor != null) {
+                streamCompressor.clear();
+            }
             try {
                 if (duplicateStream != null) {
                     duplicateStream.close();
@@ -273,6 +285,54 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         return objectStream;
     }
 
+    @Override
+    protected ByteArrayOutputStream compressStreamContent(PdfStream pdfStream) throws IOException {
+        if (streamCompressor != null) {
+            ByteArrayOutputStream compressed = streamCompressor.take(pdfStream, pdfStream.getCompressionLevel());
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return super.compressStreamContent(pdfStream);
+    }
+
+    /**
+     * Starts parallel compression of the streams which are going to be written soon.
+     * Does nothing if parallel compression is not enabled.
+     *
+     * @param streams the streams to compress
+     */
+    void precompressStreams(Iterable<PdfStream> streams) {
+        if (streamCompressor == null) {
+            return;
+        }
+        for (PdfStream stream : streams) {
+            if (stream == null || stream.isFlushed() || stream instanceof PdfObjectStream
+                    || stream.getInputStream() != null || stream.getOutputStream() == null) {
+                continue;
+            }
+            boolean userDefinedCompression = stream.getCompressionLevel() != CompressionConstants.UNDEFINED_COMPRESSION;
+            int compressionLevel = userDefinedCompression ? stream.getCompressionLevel() : getCompressionLevel();
+            if (compressionLevel == CompressionConstants.NO_COMPRESSION) {
+                continue;
+            }
+            PdfObject filter = stream.get(PdfName.Filter);
+            boolean toCompress;
+            if (filter == null) {
+                toCompress = userDefinedCompression || isNotMetadataPdfStream(stream);
+            } else {
+                toCompress = userDefinedCompression && (filter.isName() || filter.isArray()) && !containsFlateFilter(stream);
+            }
+            if (toCompress) {
+                streamCompressor.submit(stream, compressionLevel);
+            }
+        }
+    }
+
+    boolean isParallelCompression() {
+        return streamCompressor != null;
+    }
+
     protected void initCryptoIfSpecified(PdfVersion version) {
         EncryptionProperties encryptProps = properties.encryptionProperties;
         if (properties.isStandardEncryptionUsed()) {
@@ -301,6 +361,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
             writeToBody(pdfObject);
         }
         indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
+        document.getXref().clearPending(indirectReference.getObjNumber());
         switch (pdfObject.getType()) {
             case PdfObject.BOOLEAN:
             case PdfObject.NAME:
@@ -353,7 +414,8 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
 
         SerializedObjectContent serializedContent = null;
         if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
-            serializedContent = smartModeSerializer.serializeObject(obj);
+            serializedContent = properties.smartModeStructuralHashing
+                    ? smartModeSerializer.hashObject(obj) : smartModeSerializer.serializeObject(obj);
             PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
             if (objectRef != null) {
                 copiedObjects.put(copiedObjectKey, objectRef);
@@ -412,8 +474,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         boolean needFlush = true;
         while (needFlush) {
             needFlush = false;
-            for (int i = 1; i < xref.size(); i++) {
-                PdfIndirectReference indirectReference = xref.get(i);
+            if (streamCompressor != null) {
+                precompressStreams(collectStreams(xref, PdfObject.MUST_BE_FLUSHED, forbiddenToFlush));
+            }
+            for (int i = xref.nextPending(1); i >= 0; i = xref.nextPending(i + 1)) {
+                PdfIndirectReference indirectReference = xref.getMaterialized(i);
                 if (indirectReference != null && !indirectReference.isFree()
                         && indirectReference.checkState(PdfObject.MUST_BE_FLUSHED)
                         && !forbiddenToFlush.contains(indirectReference)) {
@@ -437,8 +502,11 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     protected void flushModifiedWaitingObjects(Set<PdfIndirectReference> forbiddenToFlush) {
         PdfXrefTable xref = document.getXref();
-        for (int i = 1; i < xref.size(); i++) {
-            PdfIndirectReference indirectReference = xref.get(i);
+        if (streamCompressor != null) {
+            precompressStreams(collectStreams(xref, PdfObject.MODIFIED, forbiddenToFlush));
+        }
+        for (int i = xref.nextPending(1); i >= 0; i = xref.nextPending(i + 1)) {
+            PdfIndirectReference indirectReference = xref.getMaterialized(i);
             if (null != indirectReference && !indirectReference.isFree() && !forbiddenToFlush.contains(indirectReference)) {
                 boolean isModified = indirectReference.checkState(PdfObject.MODIFIED);
                 if (isModified) {
@@ -477,6 +545,21 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    private static List<PdfStream> collectStreams(PdfXrefTable xref, short state, Set<PdfIndirectReference> forbiddenToFlush) {
+        List<PdfStream> streams = new ArrayList<>();
+        for (int i = xref.nextPending(1); i >= 0; i = xref.nextPending(i + 1)) {
+            PdfIndirectReference indirectReference = xref.getMaterialized(i);
+            if (indirectReference != null && !indirectReference.isFree() && indirectReference.checkState(state)
+                    && !indirectReference.checkState(PdfObject.FLUSHED) && !forbiddenToFlush.contains(indirectReference)) {
+                PdfObject obj = indirectReference.getRefersTo(false);
+                if (obj != null && obj.isStream()) {
+                    streams.add((PdfStream) obj);
+                }
+            }
+        }
+        return streams;
+    }
+
     private void markArrayContentToFlush(PdfArray array) {
         for (int i = 0; i < array.size(); i++) {
             markObjectToFlush(array.get(i, false));
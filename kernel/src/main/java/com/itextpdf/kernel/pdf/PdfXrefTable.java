@@ -56,6 +56,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -71,9 +72,42 @@ class PdfXrefTable implements Serializable {
     private static final byte[] freeXRefEntry = ByteUtils.getIsoBytes("f \n");
     private static final byte[] inUseXRefEntry = ByteUtils.getIsoBytes("n \n");
 
+    /**
+     * Type of the compact entry of free object.
+     */
+    static final byte FREE_ENTRY = 1;
+    /**
+     * Type of the compact entry of object stored at a byte offset.
+     */
+    static final byte IN_USE_ENTRY = 2;
+    /**
+     * Type of the compact entry of object stored in an object stream.
+     */
+    static final byte COMPRESSED_ENTRY = 3;
+
     private PdfIndirectReference[] xref;
     private int count = 0;
 
+    /**
+     * Compact entries read from the cross-reference sections of the document. Unlike {@link #xref} they are
+     * stored in parallel primitive arrays, and {@link PdfIndirectReference} instance is created only when
+     * the entry is requested for the first time. Type of the entry is {@code 0} if there is no compact entry,
+     * otherwise the entry has either been read, or one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY},
+     * {@link #COMPRESSED_ENTRY}. Generation array holds the object stream number for compressed entries,
+     * while offset array holds the index of the object in the object stream.
+     */
+    private byte[] compactTypes;
+    private long[] compactOffsets;
+    private int[] compactGenerations;
+    private PdfDocument compactEntriesDocument;
+
+    /**
+     * Object numbers of the references that may still have to be flushed or freed when the document is closed,
+     * or {@code null} if they are not tracked. Allows the document to be closed at the cost proportional
+     * to the number of pending references rather than to the size of the document.
+     */
+    private BitSet pendingReferences;
+
     /**
      * Free references linked list is stored in a form of a map, where:
      * key - free reference obj number;
@@ -107,14 +141,121 @@ class PdfXrefTable implements Serializable {
         this.count = Math.max(this.count, objNr);
         ensureCount(objNr);
         xref[objNr] = reference;
+        if (compactTypes != null) {
+            compactTypes[objNr] = 0;
+        }
+        markPending(reference);
         return reference;
     }
 
+    /**
+     * Adds the entry read from the cross-reference section, for which {@link PdfIndirectReference}
+     * will be created only when it is requested with {@link #get(int)}.
+     * Replaces the reference with the same object number, if any.
+     *
+     * @param document        the document the entry belongs to
+     * @param objNr           the object number
+     * @param type            one of {@link #FREE_ENTRY}, {@link #IN_USE_ENTRY}, {@link #COMPRESSED_ENTRY}
+     * @param genNr           the generation number, or the object stream number for {@link #COMPRESSED_ENTRY}
+     * @param offset          the byte offset, or the index of the object in the object stream
+     *                        for {@link #COMPRESSED_ENTRY}
+     */
+    void addCompactEntry(PdfDocument document, int objNr, byte type, int genNr, long offset) {
+        this.count = Math.max(this.count, objNr);
+        ensureCount(objNr);
+        if (compactTypes == null) {
+            compactTypes = new byte[xref.length];
+            compactOffsets = new long[xref.length];
+            compactGenerations = new int[xref.length];
+        }
+        compactEntriesDocument = document;
+        xref[objNr] = null;
+        compactTypes[objNr] = type;
+        compactOffsets[objNr] = offset;
+        compactGenerations[objNr] = genNr;
+    }
+
+    /**
+     * Checks if there is a compact entry for the object number whose reference has not been created yet.
+     *
+     * @param objNr the object number
+     * @return {@code true} if there is such compact entry
+     */
+    boolean hasCompactEntry(int objNr) {
+        return objNr <= count && compactTypes != null && compactTypes[objNr] != 0 && xref[objNr] == null;
+    }
+
     public int size() {
         return count + 1;
     }
 
+    /**
+     * Starts tracking of the references which are to be flushed or freed when the document is closed.
+     *
+     * @param allReferences {@code true} if all the references which are neither free nor flushed are pending,
+     *                      which is the case for the documents written from scratch or fully rewritten,
+     *                      {@code false} if only modified references are pending, which is the case for append mode
+     */
+    void startPendingReferencesTracking(boolean allReferences) {
+        pendingReferences = new BitSet(size());
+        for (int i = 1; i < size(); i++) {
+            PdfIndirectReference reference = xref[i];
+            if (allReferences ? !isFreeOrAbsent(i) && (reference == null || !reference.checkState(PdfObject.FLUSHED))
+                    : reference != null && (reference.checkState(PdfObject.MODIFIED) || reference.checkState(PdfObject.MUST_BE_FLUSHED))) {
+                pendingReferences.set(i);
+            }
+        }
+    }
+
+    /**
+     * Marks the reference as one which may have to be flushed or freed when the document is closed.
+     *
+     * @param reference the reference
+     */
+    void markPending(PdfIndirectReference reference) {
+        if (pendingReferences != null && !reference.isFree()) {
+            pendingReferences.set(reference.getObjNumber());
+        }
+    }
+
+    /**
+     * Gets the number of the next reference which may have to be flushed or freed.
+     * If the pending references are not tracked, all the references are considered pending.
+     *
+     * @param objNr the object number to start from, inclusive
+     * @return the object number of the next pending reference, or {@code -1} if there is no such reference
+     */
+    int nextPending(int objNr) {
+        int next = pendingReferences == null ? objNr : pendingReferences.nextSetBit(objNr);
+        return next < size() ? next : -1;
+    }
+
+    void clearPending(int objNr) {
+        if (pendingReferences != null) {
+            pendingReferences.clear(objNr);
+        }
+    }
+
     public PdfIndirectReference get(int index) {
+        if (index > count) {
+            return null;
+        }
+        if (compactTypes != null) {
+            // in concurrent read-only mode the references are created from the compact entries by several threads,
+            // so the slot is read under the same lock the reference is stored with
+            return getOrCreateReferenceFromCompactEntry(index);
+        }
+        return xref[index];
+    }
+
+    /**
+     * Gets the reference only if its instance has already been created, i.e. the reference
+     * is not just a compact entry.
+     *
+     * @param index the object number
+     * @return the reference, or {@code null} if there is no reference instance for the object number
+     */
+    PdfIndirectReference getMaterialized(int index) {
         if (index > count) {
             return null;
         }
@@ -124,33 +265,32 @@ class PdfXrefTable implements Serializable {
     void initFreeReferencesList(PdfDocument pdfDocument) {
         freeReferencesLinkedList.clear();
 
-        xref[0].setState(PdfObject.FREE); // ensure zero object is free
+        get(0).setState(PdfObject.FREE); // ensure zero object is free
         TreeSet<Integer> freeReferences = new TreeSet<>();
         for (int i = 1; i < size(); ++i) {
-            PdfIndirectReference ref = xref[i];
-            if (ref == null || ref.isFree()) {
+            if (isFreeOrAbsent(i)) {
                 freeReferences.add(i);
             }
         }
 
-        PdfIndirectReference prevFreeRef = xref[0];
+        PdfIndirectReference prevFreeRef = get(0);
         while (!freeReferences.<Integer>isEmpty()) {
             int currFreeRefObjNr = -1;
             if (prevFreeRef.getOffset() <= Integer.MAX_VALUE) {
                 currFreeRefObjNr = (int) prevFreeRef.getOffset();
             }
-            if (!freeReferences.contains(currFreeRefObjNr) || xref[currFreeRefObjNr] == null) {
+            if (!freeReferences.contains(currFreeRefObjNr) || get(currFreeRefObjNr) == null) {
                 break;
             }
 
             freeReferencesLinkedList.put(currFreeRefObjNr, prevFreeRef);
-            prevFreeRef = xref[currFreeRefObjNr];
+            prevFreeRef = get(currFreeRefObjNr);
             freeReferences.remove(currFreeRefObjNr);
         }
 
         while (!freeReferences.<Integer>isEmpty()) {
             int next = freeReferences.pollFirst();
-            if (xref[next] == null) {
+            if (get(next) == null) {
                 if (pdfDocument.properties.appendMode) {
                     continue;
                 }
@@ -162,7 +302,7 @@ class PdfXrefTable implements Serializable {
                 ((PdfIndirectReference) prevFreeRef.setState(PdfObject.MODIFIED)).setOffset(next);
             }
             freeReferencesLinkedList.put(next, prevFreeRef);
-            prevFreeRef = xref[next];
+            prevFreeRef = get(next);
         }
 
         if (prevFreeRef.getOffset() != 0) {
@@ -205,6 +345,7 @@ class PdfXrefTable implements Serializable {
         }
 
         reference.setState(PdfObject.FREE).setState(PdfObject.MODIFIED);
+        clearPending(reference.getObjNumber());
 
         appendNewRefToFreeList(reference);
 
@@ -230,7 +371,7 @@ class PdfXrefTable implements Serializable {
 
         if (!document.properties.appendMode) {
             for (int i = count; i > 0; --i) {
-                PdfIndirectReference lastRef = xref[i];
+                PdfIndirectReference lastRef = get(i);
                 if (lastRef == null || lastRef.isFree()) {
                     removeFreeRefFromList(i);
                     --count;
@@ -244,7 +385,8 @@ class PdfXrefTable implements Serializable {
         int first = 0;
         int len = 0;
         for (int i = 0; i < size(); i++) {
-            PdfIndirectReference reference = xref[i];
+            // compact entries are never modified, so there is no need to create references for them in append mode
+            PdfIndirectReference reference = document.properties.appendMode ? xref[i] : get(i);
             if (document.properties.appendMode && reference != null && !reference.checkState(PdfObject.MODIFIED)) {
                 reference = null;
             }
@@ -363,6 +505,8 @@ class PdfXrefTable implements Serializable {
                 writeLong(startxref).
                 writeString("\n%%EOF\n");
         xref = null;
+        clearCompactEntries();
+        pendingReferences = null;
         freeReferencesLinkedList.clear();
     }
 
@@ -372,6 +516,9 @@ class PdfXrefTable implements Serializable {
                 continue;
             }
             xref[i] = null;
+            if (compactTypes != null && compactTypes[i] != FREE_ENTRY) {
+                compactTypes[i] = 0;
+            }
         }
         count = 1;
     }
@@ -451,7 +598,7 @@ class PdfXrefTable implements Serializable {
         if (freeRefObjNr < 0) {
             Integer leastFreeRefObjNum = null;
             for (Map.Entry<Integer, PdfIndirectReference> entry : freeReferencesLinkedList.entrySet()) {
-                if (entry.getKey() <= 0 || xref[entry.getKey()].getGenNumber() >= MAX_GENERATION) {
+                if (entry.getKey() <= 0 || get(entry.getKey()).getGenNumber() >= MAX_GENERATION) {
                     continue;
                 }
                 leastFreeRefObjNum = entry.getKey();
@@ -463,7 +610,7 @@ class PdfXrefTable implements Serializable {
             freeRefObjNr = (int)leastFreeRefObjNum;
         }
 
-        PdfIndirectReference freeRef = xref[freeRefObjNr];
+        PdfIndirectReference freeRef = get(freeRefObjNr);
         if (!freeRef.isFree()) {
             return null;
         }
@@ -487,5 +634,51 @@ class PdfXrefTable implements Serializable {
         PdfIndirectReference[] newXref = new PdfIndirectReference[capacity];
         System.arraycopy(xref, 0, newXref, 0, xref.length);
         xref = newXref;
+        if (compactTypes != null) {
+            byte[] newTypes = new byte[capacity];
+            System.arraycopy(compactTypes, 0, newTypes, 0, compactTypes.length);
+            compactTypes = newTypes;
+            long[] newOffsets = new long[capacity];
+            System.arraycopy(compactOffsets, 0, newOffsets, 0, compactOffsets.length);
+            compactOffsets = newOffsets;
+            int[] newGenerations = new int[capacity];
+            System.arraycopy(compactGenerations, 0, newGenerations, 0, compactGenerations.length);
+            compactGenerations = newGenerations;
+        }
+    }
+
+    private boolean isFreeOrAbsent(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference != null) {
+            return reference.isFree();
+        }
+        return compactTypes == null || compactTypes[index] == 0 || compactTypes[index] == FREE_ENTRY;
+    }
+
+    private synchronized PdfIndirectReference getOrCreateReferenceFromCompactEntry(int index) {
+        PdfIndirectReference reference = xref[index];
+        if (reference != null || compactTypes[index] == 0) {
+            return reference;
+        }
+        byte type = compactTypes[index];
+        if (type == COMPRESSED_ENTRY) {
+            reference = new PdfIndirectReference(compactEntriesDocument, index, 0, compactOffsets[index]);
+            reference.setObjStreamNumber(compactGenerations[index]);
+        } else {
+            reference = new PdfIndirectReference(compactEntriesDocument, index, compactGenerations[index], compactOffsets[index]);
+            if (type == FREE_ENTRY) {
+                reference.setState(PdfObject.FREE);
+            }
+        }
+        xref[index] = reference;
+        compactTypes[index] = 0;
+        return reference;
+    }
+
+    private void clearCompactEntries() {
+        compactTypes = null;
+        compactOffsets = null;
+        compactGenerations = null;
+        compactEntriesDocument = null;
     }
 }
@@ -0,0 +1,132 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Keeps the most recently read objects of a document strongly referenced, while the other objects read by
+ * {@link PdfReader} are only softly or weakly referenced by their indirect references, so the garbage collector
+ * can evict them. An evicted object is transparently read again on the next access.
+ * Objects are evicted only if they are neither modified, flushed, nor forbidden to be released,
+ * and only when no one else references them, so there are never two instances of the same object in use.
+ */
+class ReaderObjectCache {
+
+    private final ObjectCachePolicy policy;
+    private final int recentObjectsCount;
+    private final LinkedHashMap<PdfIndirectReference, Boolean> recentObjects = new LinkedHashMap<>();
+
+    ReaderObjectCache(ObjectCachePolicy policy, int recentObjectsCount) {
+        this.policy = policy;
+        this.recentObjectsCount = Math.max(0, recentObjectsCount);
+    }
+
+    /**
+     * Registers the references whose objects have just been read. The objects stay strongly referenced
+     * until {@link #trim()} is called.
+     *
+     * @param references the references of the read objects
+     */
+    synchronized void add(List<PdfIndirectReference> references) {
+        for (PdfIndirectReference reference : references) {
+            recentObjects.put(reference, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Registers the reference whose object has just been read and evicts the least recently read objects
+     * if there are too many of them.
+     *
+     * @param reference the reference of the read object
+     */
+    synchronized void addAndTrim(PdfIndirectReference reference) {
+        recentObjects.put(reference, Boolean.TRUE);
+        trim();
+    }
+
+    /**
+     * Gets back the evicted object of the reference, if it has not been garbage collected yet.
+     *
+     * @param reference the reference of the evicted object
+     * @return the object, or {@code null} if it has been garbage collected and shall be read again
+     */
+    synchronized PdfObject restore(PdfIndirectReference reference) {
+        PdfObject object = reference.refersTo;
+        if (object == null && reference.evictedRefersTo != null) {
+            object = reference.evictedRefersTo.get();
+            reference.evictedRefersTo = null;
+            if (object != null) {
+                reference.refersTo = object;
+                recentObjects.put(reference, Boolean.TRUE);
+                trim();
+            }
+        }
+        return object;
+    }
+
+    private void trim() {
+        Iterator<PdfIndirectReference> iterator = recentObjects.keySet().iterator();
+        while (recentObjects.size() > recentObjectsCount) {
+            PdfIndirectReference reference = iterator.next();
+            iterator.remove();
+            evict(reference);
+        }
+    }
+
+    private void evict(PdfIndirectReference reference) {
+        PdfObject object = reference.refersTo;
+        if (object == null || object.getIndirectReference() != reference || object.isReleaseForbidden()
+                || reference.checkState(PdfObject.MODIFIED) || reference.checkState(PdfObject.FLUSHED)) {
+            return;
+        }
+        reference.evictedRefersTo = policy == ObjectCachePolicy.SOFT
+                ? new SoftReference<PdfObject>(object) : new WeakReference<PdfObject>(object);
+        reference.refersTo = null;
+    }
+}
@@ -59,6 +59,13 @@ public class ReaderProperties implements Serializable {
     protected String certificateKeyProvider; //added by Aiken Sam for certificate decryption
     protected IExternalDecryptionProcess externalDecryptionProcess;
 
+    protected boolean concurrentReadOnly;
+
+    protected ObjectCachePolicy objectCachePolicy = ObjectCachePolicy.STRONG;
+    protected int recentObjectsCount;
+
+    protected int objectStreamCacheSize;
+
     /**
      * Defines the password which will be used if the document is encrypted with standard encryption.
      * This could be either user or owner password.
@@ -94,6 +101,61 @@ public class ReaderProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Defines whether the document will be read from several threads at the same time.
+     * <br>
+     * In concurrent read-only mode the source is opened so that it can be read without locking, every thread
+     * parses objects and streams with its own tokenizer and lazily loaded objects are resolved exactly once.
+     * A document opened in this mode cannot be written or stamped. Note that objects that are modified,
+     * released or flushed by one of the threads are not safe to be used by the others.
+     * The cross-reference table is not rebuilt once the document has been opened in this mode,
+     * so an object with an invalid offset fails to be read instead of being looked up anew.
+     *
+     * @param concurrentReadOnly true to allow reading the document from several threads
+     * @return this {@code ReaderProperties} instance
+     */
+    public ReaderProperties setConcurrentReadOnly(boolean concurrentReadOnly) {
+        this.concurrentReadOnly = concurrentReadOnly;
+        return this;
+    }
+
+    /**
+     * Defines how the objects read from the document are kept in memory.
+     * <br>
+     * By default all the read objects stay in memory until they are released with {@link PdfObject#release()}.
+     * With {@link ObjectCachePolicy#SOFT} or {@link ObjectCachePolicy#WEAK} policy only the given number of the most
+     * recently read objects are kept strongly referenced. Other objects, unless they are modified or in use,
+     * can be evicted by the garbage collector and are transparently read again on the next access,
+     * which keeps memory usage flat while walking through large documents.
+     * The policy is applied only if the document is opened in reading mode. If the document is opened with
+     * a writer, all the read objects stay in memory, since they may be changed in place.
+     *
+     * @param policy             the object cache policy
+     * @param recentObjectsCount the number of the most recently read objects that are never evicted
+     * @return this {@code ReaderProperties} instance
+     */
+    public ReaderProperties setObjectCachePolicy(ObjectCachePolicy policy, int recentObjectsCount) {
+        this.objectCachePolicy = policy;
+        this.recentObjectsCount = recentObjectsCount;
+        return this;
+    }
+
+    /**
+     * Defines the number of the decoded object streams kept in memory.
+     * <br>
+     * By default all the objects of an object stream are parsed at once when any of them is read.
+     * If the cache size is positive, the objects are parsed one by one straight from the cached decoded
+     * object stream, and the same object stream is not decoded again while it stays in the cache,
+     * which speeds up random access to the objects of compressed documents, e.g. reading pages in random order.
+     *
+     * @param objectStreamCacheSize the maximum number of the decoded object streams kept in memory
+     * @return this {@code ReaderProperties} instance
+     */
+    public ReaderProperties setObjectStreamCacheSize(int objectStreamCacheSize) {
+        this.objectStreamCacheSize = objectStreamCacheSize;
+        return this;
+    }
+
     private void clearEncryptionParams() {
         this.password = null;
         this.certificate = null;
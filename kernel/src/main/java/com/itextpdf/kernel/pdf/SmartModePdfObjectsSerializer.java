@@ -47,14 +47,31 @@ import com.itextpdf.kernel.PdfException;
 
 import java.io.Serializable;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 class SmartModePdfObjectsSerializer implements Serializable {
 
     private static final long serialVersionUID = 2502203520776244051L;
 
+    private static final byte NULL_TAG = 'Z';
+    private static final byte REFERENCE_TAG = 'R';
+    private static final byte DICTIONARY_TAG = 'D';
+    private static final byte DICTIONARY_END_TAG = 'd';
+    private static final byte ARRAY_TAG = 'A';
+    private static final byte ARRAY_END_TAG = 'a';
+    private static final byte STREAM_BYTES_TAG = 'B';
+    private static final byte STRING_TAG = 'S';
+    private static final byte NAME_TAG = 'N';
+    private static final byte LITERAL_TAG = 'L';
+
     private transient MessageDigest md5;
+    /**
+     * Digests used by {@link #hashObject(PdfObject)}, one per nesting level of indirect objects.
+     */
+    private transient List<MessageDigest> structuralDigests;
     private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
 
     SmartModePdfObjectsSerializer() {
@@ -94,6 +111,32 @@ class SmartModePdfObjectsSerializer implements Serializable {
         return new SerializedObjectContent(content);
     }
 
+    /**
+     * Computes the 128-bit digest of the object structure and content. Unlike {@link #serializeObject(PdfObject)}
+     * the digest is computed incrementally without building the serialized form of the object,
+     * and only the digests of the referenced objects are cached.
+     *
+     * @param obj the dictionary or stream to hash
+     * @return the content holding the digest, or {@code null} if the object is neither a dictionary nor a stream
+     */
+    public SerializedObjectContent hashObject(PdfObject obj) {
+        if (!obj.isStream() && !obj.isDictionary()) {
+            return null;
+        }
+        PdfIndirectReference indRef = obj.getIndirectReference();
+        assert indRef != null;
+        Map<PdfIndirectReference, byte[]> hashesCache = indRef.getDocument().structuralHashesCache;
+
+        byte[] digest = hashesCache.get(indRef);
+        if (digest == null) {
+            MessageDigest md = getStructuralDigest(0);
+            int level = 100;
+            hashObject(obj, md, 0, level, hashesCache);
+            digest = md.digest();
+        }
+        return new SerializedObjectContent(digest);
+    }
+
     private void serObject(PdfObject obj, ByteBuffer bb, int level, Map<PdfIndirectReference, byte[]> serializedCache) {
         if (level <= 0) {
             return;
@@ -169,6 +212,97 @@ class SmartModePdfObjectsSerializer implements Serializable {
         bb.append("$\\A");
     }
 
+    private void hashObject(PdfObject obj, MessageDigest md, int depth, int level,
+                            Map<PdfIndirectReference, byte[]> hashesCache) {
+        if (level <= 0) {
+            return;
+        }
+        if (obj != null && obj.isIndirectReference()) {
+            PdfIndirectReference reference = (PdfIndirectReference) obj;
+            byte[] digest = hashesCache.get(reference);
+            if (digest == null) {
+                MessageDigest referenceMd = getStructuralDigest(depth + 1);
+                hashDirectObject(reference.getRefersTo(), referenceMd, depth + 1, level, hashesCache);
+                digest = referenceMd.digest();
+                hashesCache.put(reference, digest);
+            }
+            md.update(REFERENCE_TAG);
+            md.update(digest);
+        } else {
+            hashDirectObject(obj, md, depth, level, hashesCache);
+        }
+    }
+
+    private void hashDirectObject(PdfObject obj, MessageDigest md, int depth, int level,
+                                  Map<PdfIndirectReference, byte[]> hashesCache) {
+        if (obj == null) {
+            md.update(NULL_TAG);
+        } else if (obj.isStream()) {
+            hashDic((PdfDictionary) obj, md, depth, level - 1, hashesCache);
+            byte[] bytes = ((PdfStream) obj).getBytes(false);
+            hashBytes(STREAM_BYTES_TAG, bytes, md);
+        } else if (obj.isDictionary()) {
+            hashDic((PdfDictionary) obj, md, depth, level - 1, hashesCache);
+        } else if (obj.isArray()) {
+            PdfArray array = (PdfArray) obj;
+            md.update(ARRAY_TAG);
+            if (level - 1 <= 0) {
+                return;
+            }
+            for (int k = 0; k < array.size(); ++k) {
+                hashObject(array.get(k, false), md, depth, level - 1, hashesCache);
+            }
+            md.update(ARRAY_END_TAG);
+        } else if (obj.isString()) {
+            hashBytes(STRING_TAG, ((PdfString) obj).getValueBytes(), md);
+        } else if (obj.isName()) {
+            hashBytes(NAME_TAG, ((PdfName) obj).getInternalContent(), md);
+        } else {
+            // PdfNumber, PdfBoolean, PdfLiteral and PdfNull cases
+            hashBytes(LITERAL_TAG, ((PdfPrimitiveObject) obj).getInternalContent(), md);
+        }
+    }
+
+    private void hashDic(PdfDictionary dic, MessageDigest md, int depth, int level,
+                         Map<PdfIndirectReference, byte[]> hashesCache) {
+        md.update(DICTIONARY_TAG);
+        if (level <= 0)
+            return;
+        for (PdfName key : dic.keySet()) {
+            if (isKeyRefersBack(dic, key)) {
+                continue;
+            }
+            hashObject(key, md, depth, level, hashesCache);
+            hashObject(dic.get(key, false), md, depth, level, hashesCache);
+        }
+        md.update(DICTIONARY_END_TAG);
+    }
+
+    private static void hashBytes(byte tag, byte[] bytes, MessageDigest md) {
+        // the length makes the digest unambiguous for the adjacent values
+        int length = bytes.length;
+        md.update(tag);
+        md.update((byte) (length >>> 24));
+        md.update((byte) (length >>> 16));
+        md.update((byte) (length >>> 8));
+        md.update((byte) length);
+        md.update(bytes);
+    }
+
+    private MessageDigest getStructuralDigest(int depth) {
+        if (structuralDigests == null) {
+            structuralDigests = new ArrayList<>();
+        }
+        while (structuralDigests.size() <= depth) {
+            try {
+                structuralDigests.add(MessageDigest.getInstance("MD5"));
+            } catch (Exception e) {
+                throw new PdfException(e);
+            }
+        }
+        return structuralDigests.get(depth);
+    }
+
     private boolean isKeyRefersBack(PdfDictionary dic, PdfName key) {
         // TODO review this method?
         // ignore recursive call
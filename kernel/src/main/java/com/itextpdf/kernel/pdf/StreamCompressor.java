@@ -0,0 +1,247 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.PdfException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compresses the content of {@link PdfStream} instances on the threads of an {@link Executor}
+ * before the streams are written by {@link PdfWriter}.
+ * <br>
+ * Only compression is moved off the writing thread: the objects are still serialized one by one,
+ * so offsets, object numbers and the cross-reference table are exactly the same as with serial compression.
+ * A precompressed result is used only if the stream content and compression level have not changed
+ * since the stream was submitted, otherwise the stream is compressed again at the moment it is written.
+ * <br>
+ * Submitted streams are compressed in the order of submission, which is expected to be the order of writing.
+ * Only a limited number of streams is compressed or holds its compressed content at the same time, the next
+ * submitted stream is started each time a precompressed stream is taken for writing.
+ */
+class StreamCompressor {
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private final Executor executor;
+    private final int maxTasks;
+    private final Map<PdfStream, CompressionTask> tasks = new IdentityHashMap<>();
+    // streams which wait for a free slot, with their compression levels, in the order of submission
+    private final Deque<PdfStream> waitingStreams = new ArrayDeque<>();
+    private final Map<PdfStream, Integer> waitingCompressionLevels = new IdentityHashMap<>();
+
+    StreamCompressor(Executor executor) {
+        this(executor, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    StreamCompressor(Executor executor, int maxTasks) {
+        this.executor = executor;
+        this.maxTasks = maxTasks;
+    }
+
+    /**
+     * Gets the shared executor with one daemon thread per available processor.
+     *
+     * @return the shared compression executor
+     */
+    static Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (StreamCompressor.class) {
+                if (defaultExecutor == null) {
+                    final AtomicInteger threadNumber = new AtomicInteger();
+                    defaultExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread thread = new Thread(r, "itext-stream-compressor-" + threadNumber.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Schedules compressing the content of the stream with the given compression level. The compression is started
+     * at once if the number of the streams being compressed allows it, otherwise it is started later by {@link #take}.
+     * Streams that have already been submitted are ignored.
+     *
+     * @param stream           the stream whose content shall be compressed
+     * @param compressionLevel the compression level the stream will be written with
+     */
+    void submit(PdfStream stream, int compressionLevel) {
+        if (tasks.containsKey(stream) || waitingCompressionLevels.containsKey(stream)) {
+            return;
+        }
+        waitingStreams.add(stream);
+        waitingCompressionLevels.put(stream, compressionLevel);
+        startWaitingTasks();
+    }
+
+    /**
+     * Takes the precompressed content of the stream.
+     *
+     * @param stream           the stream which is being written
+     * @param compressionLevel the compression level the stream is written with
+     * @return the compressed content, or {@code null} if the stream was not submitted or has changed since then
+     * @throws IOException if compression of the stream content failed
+     */
+    ByteArrayOutputStream take(PdfStream stream, int compressionLevel) throws IOException {
+        CompressionTask task = tasks.remove(stream);
+        if (task == null) {
+            // the stream is written before its compression has been started
+            waitingCompressionLevels.remove(stream);
+            return null;
+        }
+        startWaitingTasks();
+        PdfOutputStream content = stream.getOutputStream();
+        if (task.compressionLevel != compressionLevel || task.content != content
+                || task.modificationCount != content.getModificationCount()) {
+            task.future.cancel(false);
+            return null;
+        }
+        try {
+            return task.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PdfException(PdfException.IoException, cause);
+        }
+    }
+
+    /**
+     * Forgets all the submitted streams.
+     */
+    void clear() {
+        for (CompressionTask task : tasks.values()) {
+            task.future.cancel(false);
+        }
+        tasks.clear();
+        waitingStreams.clear();
+        waitingCompressionLevels.clear();
+    }
+
+    /**
+     * Gets the number of streams which are being compressed or hold the compressed content which has not been taken yet.
+     *
+     * @return the number of started compression tasks
+     */
+    int getStartedTasksCount() {
+        return tasks.size();
+    }
+
+    private void startWaitingTasks() {
+        if (tasks.size() >= maxTasks && !waitingStreams.isEmpty()) {
+            // streams written without compression, e.g. because the compression level has been changed, are never taken
+            Iterator<Map.Entry<PdfStream, CompressionTask>> iterator = tasks.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<PdfStream, CompressionTask> entry = iterator.next();
+                if (entry.getKey().isFlushed()) {
+                    entry.getValue().future.cancel(false);
+                    iterator.remove();
+                }
+            }
+        }
+        while (tasks.size() < maxTasks && !waitingStreams.isEmpty()) {
+            PdfStream stream = waitingStreams.poll();
+            Integer compressionLevel = waitingCompressionLevels.remove(stream);
+            if (compressionLevel == null || stream.isFlushed() || stream.getOutputStream() == null) {
+                // the stream has already been written
+                continue;
+            }
+            CompressionTask task = new CompressionTask(stream, (int) compressionLevel);
+            try {
+                executor.execute(task.future);
+                tasks.put(stream, task);
+            } catch (RejectedExecutionException ignored) {
+                // the stream will be compressed on writing
+            }
+        }
+    }
+
+    private static class CompressionTask {
+        final int compressionLevel;
+        final PdfOutputStream content;
+        final int modificationCount;
+        final FutureTask<ByteArrayOutputStream> future;
+
+        CompressionTask(final PdfStream stream, final int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+            // the content stream is replaced when the stream is released and written by every mutation,
+            // so together they identify the exact bytes which are being compressed
+            this.content = stream.getOutputStream();
+            this.modificationCount = content.getModificationCount();
+            this.future = new FutureTask<>(new Callable<ByteArrayOutputStream>() {
+                @Override
+                public ByteArrayOutputStream call() throws IOException {
+                    return PdfOutputStream.deflateStreamContent(stream, compressionLevel);
+                }
+            });
+        }
+    }
+}
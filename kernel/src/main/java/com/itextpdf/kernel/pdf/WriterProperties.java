@@ -45,6 +45,7 @@ package com.itextpdf.kernel.pdf;
 
 import java.io.Serializable;
 import java.security.cert.Certificate;
+import java.util.concurrent.Executor;
 
 public class WriterProperties implements Serializable {
 
@@ -62,6 +63,11 @@ public class WriterProperties implements Serializable {
      * and reused if there's an object with the same content later.
      */
     protected boolean smartMode;
+    /**
+     * Indicates if in smart mode the objects are compared by the digests of their structure and content
+     * instead of their serialized form.
+     */
+    protected boolean smartModeStructuralHashing;
     protected boolean debugMode;
     protected boolean addXmpMetadata;
     protected boolean addUAXmpMetadata;
@@ -77,6 +83,12 @@ public class WriterProperties implements Serializable {
      */
     protected PdfString modifiedDocumentId;
 
+    /**
+     * The executor used to compress stream content in parallel, or {@code null} if streams are compressed
+     * one by one at the moment they are written.
+     */
+    protected transient Executor compressionExecutor;
+
     public WriterProperties() {
         smartMode = false;
         debugMode = false;
@@ -113,6 +125,22 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables smart mode with structural hashing.
+     * <br>
+     * Unlike {@link #useSmartMode()}, the copied dictionaries and streams are compared by the 128-bit digests
+     * of their structure and content, which are computed incrementally without building the serialized
+     * form of the objects. Only the digests are cached, which considerably speeds up merging
+     * of a large number of similar documents and lowers memory consumption.
+     *
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useSmartModeWithStructuralHashing() {
+        this.smartMode = true;
+        this.smartModeStructuralHashing = true;
+        return this;
+    }
+
     /**
      * If true, default XMPMetadata based on {@link PdfDocumentInfo} will be added.
      * For PDF 2.0 documents, metadata will be added in any case.
@@ -148,6 +176,32 @@ public class WriterProperties implements Serializable {
         return this;
     }
 
+    /**
+     * Enables parallel compression of stream content using the passed executor.
+     * <br>
+     * Streams that are about to be written (page content streams on page flush and all the remaining
+     * streams on document close) are deflated by the executor's threads a few streams ahead of writing,
+     * while the objects themselves are still written one by one. The resultant document is byte-to-byte identical to the one
+     * produced with serial compression.
+     *
+     * @param executor the executor that will compress the streams, or {@code null} to disable parallel compression
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelCompression(Executor executor) {
+        this.compressionExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Enables parallel compression of stream content using a shared pool of daemon threads,
+     * one thread per available processor. See {@link #useParallelCompression(Executor)}.
+     *
+     * @return this {@code WriterProperties} instance
+     */
+    public WriterProperties useParallelCompression() {
+        return useParallelCompression(StreamCompressor.getDefaultExecutor());
+    }
+
     /**
      * Sets the encryption options for the document. The userPassword and the
      * ownerPassword can be null or have zero length. In this case the ownerPassword
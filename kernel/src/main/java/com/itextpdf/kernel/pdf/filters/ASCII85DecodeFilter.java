@@ -50,11 +50,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCII85Decode filter
  */
-public class ASCII85DecodeFilter implements IFilterHandler {
+public class ASCII85DecodeFilter implements IFilterHandler, IStreamFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -62,6 +64,11 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCII85InputStream(in);
+    }
+
     /**
      * Decodes the input bytes according to ASCII85.
      *
@@ -117,4 +124,94 @@ public class ASCII85DecodeFilter implements IFilterHandler {
         }
         return out.toByteArray();
     }
+
+    private static class ASCII85InputStream extends InputStream {
+
+        private InputStream in;
+        private boolean eod;
+        private int[] chn = new int[5];
+        private byte[] group = new byte[4];
+        private int groupPos;
+        private int groupLength;
+
+        ASCII85InputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (groupPos >= groupLength && !nextGroup()) {
+                return -1;
+            }
+            return group[groupPos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < len) {
+                if (groupPos >= groupLength && !nextGroup()) {
+                    break;
+                }
+                int n = Math.min(len - count, groupLength - groupPos);
+                System.arraycopy(group, groupPos, b, off + count, n);
+                groupPos += n;
+                count += n;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean nextGroup() throws IOException {
+            groupPos = 0;
+            groupLength = 0;
+            if (eod) {
+                return false;
+            }
+            int state = 0;
+            while (true) {
+                int ch = in.read();
+                if (ch == -1 || ch == '~') {
+                    eod = true;
+                    break;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                if (ch == 'z' && state == 0) {
+                    group[0] = group[1] = group[2] = group[3] = 0;
+                    groupLength = 4;
+                    return true;
+                }
+                if (ch < '!' || ch > 'u')
+                    throw new PdfException(PdfException.IllegalCharacterInAscii85decode);
+                chn[state] = ch - '!';
+                ++state;
+                if (state == 5) {
+                    break;
+                }
+            }
+            if (state < 2) {
+                return false;
+            }
+            // a partial group is padded the same way as in ASCII85Decode(byte[])
+            for (int j = state; j < 5; ++j)
+                chn[j] = 85;
+            int r = 0;
+            for (int j = 0; j < 5; ++j)
+                r = r * 85 + chn[j];
+            group[0] = (byte) (r >> 24);
+            group[1] = (byte) (r >> 16);
+            group[2] = (byte) (r >> 8);
+            group[3] = (byte) r;
+            groupLength = state - 1;
+            return true;
+        }
+    }
 }
@@ -51,11 +51,13 @@ import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfObject;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Handles ASCIIHexDecode filter
  */
-public class ASCIIHexDecodeFilter implements IFilterHandler {
+public class ASCIIHexDecodeFilter implements IFilterHandler, IStreamFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
@@ -63,6 +65,11 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return new ASCIIHexInputStream(in);
+    }
+
     /**
      * Decodes a byte[] according to ASCII Hex encoding.
      *
@@ -92,4 +99,65 @@ public class ASCIIHexDecodeFilter implements IFilterHandler {
             out.write((byte)(n1 << 4));
         return out.toByteArray();
     }
+
+    private static class ASCIIHexInputStream extends InputStream {
+
+        private InputStream in;
+        private boolean eod;
+
+        ASCIIHexInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int n1 = nextHexDigit();
+            if (n1 == -1) {
+                return -1;
+            }
+            int n2 = nextHexDigit();
+            if (n2 == -1) {
+                n2 = 0;
+            }
+            return (n1 << 4) + n2;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < len) {
+                int ch = read();
+                if (ch == -1) {
+                    break;
+                }
+                b[off + count++] = (byte) ch;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private int nextHexDigit() throws IOException {
+            while (!eod) {
+                int ch = in.read();
+                if (ch == -1 || ch == '>') {
+                    eod = true;
+                    break;
+                }
+                if (PdfTokenizer.isWhitespace(ch))
+                    continue;
+                int n = ByteBuffer.getHex(ch);
+                if (n == -1)
+                    throw new PdfException(PdfException.IllegalCharacterInAsciihexdecode);
+                return n;
+            }
+            return -1;
+        }
+    }
 }
@@ -43,7 +43,10 @@
  */
 package com.itextpdf.kernel.pdf.filters;
 
+import com.itextpdf.io.util.FilterUtil;
+import com.itextpdf.io.util.ZlibPool;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfNumber;
@@ -53,12 +56,14 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
 
 /**
  * Handles FlateDecode filter.
  */
-public class FlateDecodeFilter implements IFilterHandler {
+public class FlateDecodeFilter implements IFilterHandler, IStreamFilterHandler {
 
     /**
      * Defines how the corrupted streams should be treated.
@@ -103,14 +108,56 @@ public class FlateDecodeFilter implements IFilterHandler {
 
     @Override
     public byte[] decode(byte[] b, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
-        byte[] res = flateDecode(b, true);
+        int expectedLength = getExpectedDecodedLength(filterName, decodeParams, streamDictionary);
+        byte[] res = FilterUtil.flateDecode(b, true, expectedLength);
         if (res == null && !strictDecoding) {
-            res = flateDecode(b, false);
+            res = FilterUtil.flateDecode(b, false, expectedLength);
         }
         b = decodePredictor(res, decodeParams);
         return b;
     }
 
+    @Override
+    public InputStream decode(InputStream in, PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        return decodePredictor(new FlateInputStream(in, strictDecoding), decodeParams);
+    }
+
+    /**
+     * Gets the length of the data decoded by this filter from the /DL entry of the stream dictionary.
+     * /DL is the length of the data decoded by the whole filter chain, so it is only taken into account
+     * when this filter is the last one and no predictor is applied after it.
+     *
+     * @return the expected length of the decoded data, or -1 if it is unknown
+     */
+    private static int getExpectedDecodedLength(PdfName filterName, PdfObject decodeParams, PdfDictionary streamDictionary) {
+        PdfNumber decodedLength = streamDictionary.getAsNumber(PdfName.DL);
+        if (decodedLength == null) {
+            return -1;
+        }
+        PdfObject filter = streamDictionary.get(PdfName.Filter);
+        if (filter != null && filter.isArray()) {
+            PdfArray filters = (PdfArray) filter;
+            for (int i = 0; i < filters.size() - 1; i++) {
+                if (filterName.equals(filters.get(i))) {
+                    // the same filter is applied several times, it is not known which of them is decoded now
+                    return -1;
+                }
+            }
+            if (filters.isEmpty() || !filterName.equals(filters.get(filters.size() - 1))) {
+                return -1;
+            }
+        } else if (filter != null && !filterName.equals(filter)) {
+            return -1;
+        }
+        if (decodeParams != null && decodeParams.isDictionary()) {
+            PdfNumber predictor = ((PdfDictionary) decodeParams).getAsNumber(PdfName.Predictor);
+            if (predictor != null && predictor.intValue() > 1) {
+                return -1;
+            }
+        }
+        return decodedLength.intValue();
+    }
+
     /**
      * A helper to flateDecode.
      *
@@ -119,23 +166,7 @@ public class FlateDecodeFilter implements IFilterHandler {
      * @return the decoded data
      */
     public static byte[] flateDecode(byte[] in, boolean strict) {
-        ByteArrayInputStream stream = new ByteArrayInputStream(in);
-        InflaterInputStream zip = new InflaterInputStream(stream);
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        byte[] b = new byte[strict ? 4092 : 1];
-        try {
-            int n;
-            while ((n = zip.read(b)) >= 0) {
-                out.write(b, 0, n);
-            }
-            zip.close();
-            out.close();
-            return out.toByteArray();
-        } catch (Exception e) {
-            if (strict)
-                return null;
-            return out.toByteArray();
-        }
+        return FilterUtil.flateDecode(in, strict);
     }
 
     /**
@@ -153,18 +184,9 @@ public class FlateDecodeFilter implements IFilterHandler {
         int predictor = ((PdfNumber) obj).intValue();
         if (predictor < 10 && predictor != 2)
             return in;
-        int width = 1;
-        obj = dic.get(PdfName.Columns);
-        if (obj != null && obj.getType() == PdfObject.NUMBER)
-            width = ((PdfNumber) obj).intValue();
-        int colors = 1;
-        obj = dic.get(PdfName.Colors);
-        if (obj != null && obj.getType() == PdfObject.NUMBER)
-            colors = ((PdfNumber) obj).intValue();
-        int bpc = 8;
-        obj = dic.get(PdfName.BitsPerComponent);
-        if (obj != null && obj.getType() == PdfObject.NUMBER)
-            bpc = ((PdfNumber) obj).intValue();
+        int width = getIntParam(dic, PdfName.Columns, 1);
+        int colors = getIntParam(dic, PdfName.Colors, 1);
+        int bpc = getIntParam(dic, PdfName.BitsPerComponent, 8);
         DataInputStream dataStream = new DataInputStream(new ByteArrayInputStream(in));
         ByteArrayOutputStream fout = new ByteArrayOutputStream(in.length);
         int bytesPerPixel = colors * bpc / 8;
@@ -197,58 +219,7 @@ public class FlateDecodeFilter implements IFilterHandler {
                 return fout.toByteArray();
             }
 
-            switch (filter) {
-                case 0: //PNG_FILTER_NONE
-                    break;
-                case 1: //PNG_FILTER_SUB
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += curr[i - bytesPerPixel];
-                    }
-                    break;
-                case 2: //PNG_FILTER_UP
-                    for (int i = 0; i < bytesPerRow; i++) {
-                        curr[i] += prior[i];
-                    }
-                    break;
-                case 3: //PNG_FILTER_AVERAGE
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += (byte) (prior[i] / 2);
-                    }
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
-                    }
-                    break;
-                case 4: //PNG_FILTER_PAETH
-                    for (int i = 0; i < bytesPerPixel; i++) {
-                        curr[i] += prior[i];
-                    }
-
-                    for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-                        int a = curr[i - bytesPerPixel] & 0xff;
-                        int b = prior[i] & 0xff;
-                        int c = prior[i - bytesPerPixel] & 0xff;
-
-                        int p = a + b - c;
-                        int pa = Math.abs(p - a);
-                        int pb = Math.abs(p - b);
-                        int pc = Math.abs(p - c);
-
-                        int ret;
-
-                        if (pa <= pb && pa <= pc) {
-                            ret = a;
-                        } else if (pb <= pc) {
-                            ret = b;
-                        } else {
-                            ret = c;
-                        }
-                        curr[i] += (byte) ret;
-                    }
-                    break;
-                default:
-                    // Error -- unknown filter type
-                    throw new PdfException(PdfException.PngFilterUnknown);
-            }
+            decodePngRow(filter, curr, prior, bytesPerPixel, bytesPerRow);
             try {
                 fout.write(curr);
             } catch (IOException ioe) {
@@ -262,4 +233,198 @@ public class FlateDecodeFilter implements IFilterHandler {
             curr = tmp;
         }
     }
+
+    /**
+     * Wraps the stream so that the predictor specified in the decode parameters is reverted
+     * while the data is being read.
+     *
+     * @param in           the stream with predicted data
+     * @param decodeParams PdfDictionary of decodeParams.
+     * @return the stream with the predictor reverted, or the same stream if no predictor is used
+     */
+    public static InputStream decodePredictor(InputStream in, PdfObject decodeParams) {
+        if (decodeParams == null || decodeParams.getType() != PdfObject.DICTIONARY)
+            return in;
+        PdfDictionary dic = (PdfDictionary) decodeParams;
+        PdfObject obj = dic.get(PdfName.Predictor);
+        if (obj == null || obj.getType() != PdfObject.NUMBER)
+            return in;
+        int predictor = ((PdfNumber) obj).intValue();
+        if (predictor < 10 && predictor != 2)
+            return in;
+        int width = getIntParam(dic, PdfName.Columns, 1);
+        int colors = getIntParam(dic, PdfName.Colors, 1);
+        int bpc = getIntParam(dic, PdfName.BitsPerComponent, 8);
+        int bytesPerPixel = colors * bpc / 8;
+        int bytesPerRow = (colors * width * bpc + 7) / 8;
+        if (bytesPerRow <= 0 || predictor == 2 && bpc != 8)
+            return in;
+        return new PredictorInputStream(in, predictor, bytesPerPixel, bytesPerRow);
+    }
+
+    /**
+     * Reverts the PNG filter of a single row of samples in place.
+     *
+     * @param filter        the PNG filter type of the row
+     * @param curr          the row to be decoded
+     * @param prior         the previous decoded row
+     * @param bytesPerPixel number of bytes per complete sample
+     * @param bytesPerRow   number of bytes in a row
+     */
+    static void decodePngRow(int filter, byte[] curr, byte[] prior, int bytesPerPixel, int bytesPerRow) {
+        switch (filter) {
+            case 0: //PNG_FILTER_NONE
+                break;
+            case 1: //PNG_FILTER_SUB
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += curr[i - bytesPerPixel];
+                }
+                break;
+            case 2: //PNG_FILTER_UP
+                for (int i = 0; i < bytesPerRow; i++) {
+                    curr[i] += prior[i];
+                }
+                break;
+            case 3: //PNG_FILTER_AVERAGE
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += (byte) (prior[i] / 2);
+                }
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += (byte) (((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2);
+                }
+                break;
+            case 4: //PNG_FILTER_PAETH
+                for (int i = 0; i < bytesPerPixel; i++) {
+                    curr[i] += prior[i];
+                }
+
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    int a = curr[i - bytesPerPixel] & 0xff;
+                    int b = prior[i] & 0xff;
+                    int c = prior[i - bytesPerPixel] & 0xff;
+
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+
+                    int ret;
+
+                    if (pa <= pb && pa <= pc) {
+                        ret = a;
+                    } else if (pb <= pc) {
+                        ret = b;
+                    } else {
+                        ret = c;
+                    }
+                    curr[i] += (byte) ret;
+                }
+                break;
+            default:
+                // Error -- unknown filter type
+                throw new PdfException(PdfException.PngFilterUnknown);
+        }
+    }
+
+    private static int getIntParam(PdfDictionary decodeParams, PdfName key, int defaultValue) {
+        PdfObject obj = decodeParams.get(key);
+        if (obj != null && obj.getType() == PdfObject.NUMBER)
+            return ((PdfNumber) obj).intValue();
+        return defaultValue;
+    }
+
+    /**
+     * Inflates the underlying stream. If the decoding is not strict, a corrupted deflate stream
+     * is treated as if it ended at the point where the corruption was found.
+     * <p>
+     * The data inflated by the call which has found the corruption is lost, so to return it the consumed compressed data
+     * is decoded again the same way as a corrupted byte array is. Only the first {@link #MAX_RETAINED_INPUT_LENGTH} bytes
+     * of the compressed data are kept for that, a stream which is corrupted further is returned up to the last data
+     * which has been delivered before the failing call.
+     */
+    static class FlateInputStream extends InflaterInputStream {
+
+        static final int MAX_RETAINED_INPUT_LENGTH = 1 << 20;
+
+        private boolean strict;
+        private boolean released;
+        // the compressed data consumed so far, kept in lenient mode while it is not longer than MAX_RETAINED_INPUT_LENGTH
+        private ByteArrayOutputStream consumedInput;
+        private long delivered;
+        private byte[] recovered;
+        private int recoveredPos;
+
+        FlateInputStream(InputStream in, boolean strict) {
+            super(in, ZlibPool.acquireInflater(), 8192);
+            this.strict = strict;
+            if (!strict) {
+                consumedInput = new ByteArrayOutputStream();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (!released) {
+                released = true;
+                ZlibPool.releaseInflater(inf);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (recovered != null) {
+                if (recoveredPos >= recovered.length) {
+                    return -1;
+                }
+                int n = Math.min(len, recovered.length - recoveredPos);
+                System.arraycopy(recovered, recoveredPos, b, off, n);
+                recoveredPos += n;
+                return n;
+            }
+            try {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    delivered += n;
+                }
+                return n;
+            } catch (ZipException e) {
+                if (strict) {
+                    throw e;
+                }
+                if (consumedInput == null) {
+                    recovered = new byte[0];
+                    return -1;
+                }
+                // the bytes inflated by the failing call are lost, so the consumed data is decoded again
+                // the same way as a corrupted byte array is, and the part not delivered yet is returned
+                recovered = FilterUtil.flateDecode(consumedInput.toByteArray(), false);
+                consumedInput = null;
+                recoveredPos = (int) Math.min(delivered, recovered.length);
+                return read(b, off, len);
+            } catch (IOException e) {
+                if (strict) {
+                    throw e;
+                }
+                recovered = new byte[0];
+                return -1;
+            }
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            super.fill();
+            if (consumedInput != null) {
+                if (consumedInput.size() + len > MAX_RETAINED_INPUT_LENGTH) {
+                    consumedInput = null;
+                } else {
+                    consumedInput.write(buf, 0, len);
+                }
+            }
+        }
+
+        int getRetainedInputLength() {
+            return consumedInput == null ? 0 : consumedInput.size();
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+
+@Category(UnitTest.class)
+public class PdfFontUsedGlyphsTest {
+
+    private static final String fontsFolder = "./src/test/resources/com/itextpdf/kernel/pdf/fonts/";
+
+    @Test
+    public void type0FontUsedGlyphsTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(fontsFolder + "abserif4_5.ttf");
+        PdfType0Font usedFont = (PdfType0Font) PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H);
+        usedFont.convertToBytes("ab");
+        PdfType0Font font = (PdfType0Font) PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H);
+        font.convertToBytes("c");
+
+        Assert.assertTrue(font.addUsedGlyphs(usedFont));
+        Assert.assertEquals(3, font.longTag.size());
+        Assert.assertTrue(font.longTag.containsAll(usedFont.longTag));
+    }
+
+    @Test
+    public void trueTypeFontUsedGlyphsTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(fontsFolder + "abserif4_5.ttf");
+        PdfTrueTypeFont usedFont = (PdfTrueTypeFont) PdfFontFactory.createFont(fontProgram, PdfEncodings.WINANSI, true);
+        usedFont.convertToBytes("ab");
+        PdfTrueTypeFont font = (PdfTrueTypeFont) PdfFontFactory.createFont(fontProgram, PdfEncodings.WINANSI, true);
+
+        Assert.assertTrue(font.addUsedGlyphs(usedFont));
+        Assert.assertEquals(1, font.shortTag['a']);
+        Assert.assertEquals(1, font.shortTag['b']);
+        Assert.assertEquals(0, font.shortTag['c']);
+    }
+
+    @Test
+    public void incompatibleFontsTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(fontsFolder + "abserif4_5.ttf");
+        PdfFont font = PdfFontFactory.createFont(fontProgram, PdfEncodings.WINANSI, true);
+
+        Assert.assertFalse(font.addUsedGlyphs(PdfFontFactory.createFont(fontProgram, PdfEncodings.IDENTITY_H)));
+        Assert.assertFalse(font.addUsedGlyphs(PdfFontFactory.createFont(fontProgram, "Cp1250", true)));
+        Assert.assertFalse(font.addUsedGlyphs(PdfFontFactory.createFont(fontProgram, PdfEncodings.WINANSI, false)));
+        Assert.assertFalse(font.addUsedGlyphs(PdfFontFactory.createFont(
+                FontProgramFactory.createFont(fontsFolder + "abserif4_5.ttf", false), PdfEncodings.WINANSI, true)));
+    }
+}
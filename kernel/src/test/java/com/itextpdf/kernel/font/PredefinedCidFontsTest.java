@@ -0,0 +1,84 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.font;
+
+import com.itextpdf.io.font.CidFontProperties;
+import com.itextpdf.io.font.FontCache;
+import com.itextpdf.io.font.cmap.CMapCidUni;
+import com.itextpdf.io.font.cmap.CMapUniCid;
+import com.itextpdf.io.util.IntHashtable;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class PredefinedCidFontsTest {
+
+    @Test
+    public void parsedCmapIsReusedTest() {
+        CMapUniCid uniCid = FontCache.getUni2CidCmap("UniJIS-UCS2-H");
+        Assert.assertSame(uniCid, FontCache.getUni2CidCmap("UniJIS-UCS2-H"));
+        Assert.assertNotEquals(0, uniCid.lookup('\u65e5'));
+
+        CMapCidUni cidUni = FontCache.getCid2UniCmap("UniJIS-UCS2-H");
+        Assert.assertSame(cidUni, FontCache.getCid2UniCmap("UniJIS-UCS2-H"));
+        Assert.assertEquals('\u65e5', cidUni.lookup(uniCid.lookup('\u65e5')));
+    }
+
+    @Test
+    public void cidFontPropertiesTest() {
+        Assert.assertTrue(CidFontProperties.isCidFont("KozMinPro-Regular", "UniJIS-UCS2-H"));
+        Assert.assertFalse(CidFontProperties.isCidFont("KozMinPro-Regular", "UniGB-UCS2-H"));
+        Assert.assertFalse(CidFontProperties.isCidFont("Helvetica", "UniJIS-UCS2-H"));
+
+        Map<String, Map<String, Object>> allFonts = FontCache.getAllPredefinedCidFonts();
+        Assert.assertEquals(FontCache.getRegistryNames().get("fonts").size(), allFonts.size());
+        Map<String, Object> properties = allFonts.get("KozMinPro-Regular");
+        Assert.assertEquals("Adobe_Japan1", properties.get("Registry"));
+        Assert.assertTrue(properties.get("W") instanceof IntHashtable);
+        Assert.assertSame(properties, CidFontProperties.getAllFonts().get("KozMinPro-Regular"));
+    }
+}
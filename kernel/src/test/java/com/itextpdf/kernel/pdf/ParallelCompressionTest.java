@@ -0,0 +1,181 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Category(UnitTest.class)
+public class ParallelCompressionTest extends ExtendedITextTest {
+
+    @Test
+    public void parallelCompressionTest() throws IOException {
+        Assert.assertArrayEquals(createDocument(new WriterProperties(), false),
+                createDocument(new WriterProperties().useParallelCompression(), false));
+    }
+
+    @Test
+    public void parallelFullCompressionTest() throws IOException {
+        Assert.assertArrayEquals(createDocument(new WriterProperties().setFullCompressionMode(true), false),
+                createDocument(new WriterProperties().setFullCompressionMode(true).useParallelCompression(), false));
+    }
+
+    @Test
+    public void parallelCompressionWithPageFlushingTest() throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assert.assertArrayEquals(createDocument(new WriterProperties().setFullCompressionMode(true), true),
+                    createDocument(new WriterProperties().setFullCompressionMode(true).useParallelCompression(executor), true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void streamModifiedAfterPrecompressionTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfWriter writer = new PdfWriter(baos, new WriterProperties().useParallelCompression());
+        PdfDocument pdfDocument = new PdfDocument(writer);
+        PdfStream stream = (PdfStream) new PdfStream("first content".getBytes()).makeIndirect(pdfDocument);
+        pdfDocument.getCatalog().put(new PdfName("TestStream"), stream);
+        pdfDocument.addNewPage();
+        writer.precompressStreams(Collections.singletonList(stream));
+        stream.setData("second content".getBytes(), true);
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfStream resultStream = resultDocument.getCatalog().getPdfObject().getAsStream(new PdfName("TestStream"));
+        Assert.assertEquals("first contentsecond content", new String(resultStream.getBytes()));
+        resultDocument.close();
+    }
+
+    @Test
+    public void streamReplacedWithSameLengthAfterPrecompressionTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfWriter writer = new PdfWriter(baos, new WriterProperties().useParallelCompression());
+        PdfDocument pdfDocument = new PdfDocument(writer);
+        PdfStream stream = (PdfStream) new PdfStream("first content".getBytes()).makeIndirect(pdfDocument);
+        pdfDocument.getCatalog().put(new PdfName("TestStream"), stream);
+        pdfDocument.addNewPage();
+        writer.precompressStreams(Collections.singletonList(stream));
+        stream.setData("other content".getBytes());
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfStream resultStream = resultDocument.getCatalog().getPdfObject().getAsStream(new PdfName("TestStream"));
+        Assert.assertEquals("other content", new String(resultStream.getBytes()));
+        resultDocument.close();
+    }
+
+    @Test
+    public void compressionWindowIsBoundedTest() throws IOException {
+        final List<Runnable> startedTasks = new ArrayList<>();
+        StreamCompressor compressor = new StreamCompressor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                startedTasks.add(command);
+            }
+        }, 3);
+        List<PdfStream> streams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            PdfStream stream = new PdfStream(("content " + i).getBytes());
+            streams.add(stream);
+            compressor.submit(stream, CompressionConstants.DEFAULT_COMPRESSION);
+        }
+        Assert.assertEquals(3, compressor.getStartedTasksCount());
+        Assert.assertEquals(3, startedTasks.size());
+
+        for (int i = 0; i < 10; i++) {
+            // the tasks are run in the order of writing, each taken stream lets the next one start
+            startedTasks.get(i).run();
+            Assert.assertNotNull(compressor.take(streams.get(i), CompressionConstants.DEFAULT_COMPRESSION));
+            Assert.assertTrue(compressor.getStartedTasksCount() <= 3);
+        }
+        Assert.assertEquals(10, startedTasks.size());
+        Assert.assertEquals(0, compressor.getStartedTasksCount());
+    }
+
+    private static byte[] createDocument(WriterProperties properties, boolean flushPages) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        properties.setInitialDocumentId(new PdfString("initial id"));
+        properties.setModifiedDocumentId(new PdfString("modified id"));
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        pdfDocument.getDocumentInfo().setMoreInfo("CreationDate", "D:20170101000000+00'00'");
+        pdfDocument.getDocumentInfo().setMoreInfo("ModDate", "D:20170101000000+00'00'");
+        for (int i = 0; i < 10; i++) {
+            PdfPage page = pdfDocument.addNewPage(PageSize.A4);
+            PdfFormXObject xObject = new PdfFormXObject(new Rectangle(100, 100));
+            PdfCanvas xObjectCanvas = new PdfCanvas(xObject, pdfDocument);
+            for (int j = 0; j < 50; j++) {
+                xObjectCanvas.rectangle(j, j, 100 - 2 * j, 100 - 2 * j).stroke();
+            }
+            PdfCanvas canvas = new PdfCanvas(page);
+            for (int j = 0; j < 200; j++) {
+                canvas.moveTo(i, j).lineTo(595 - i, 842 - j).stroke();
+                canvas.addXObject(xObject, j, j);
+            }
+            if (flushPages) {
+                page.flush(true);
+            }
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+}
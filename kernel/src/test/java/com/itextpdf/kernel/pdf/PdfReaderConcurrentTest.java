@@ -0,0 +1,170 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.ExpectedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Category(IntegrationTest.class)
+public class PdfReaderConcurrentTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/PdfReaderConcurrentTest/";
+
+    private static final int PAGE_COUNT = 60;
+
+    @Rule
+    public ExpectedException junitExpectedException = ExpectedException.none();
+
+    @BeforeClass
+    public static void beforeClass() {
+        createOrClearDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void concurrentTextExtractionTest() throws Exception {
+        byte[] pdf = createDocument(new WriterProperties().setFullCompressionMode(true));
+        String fileName = destinationFolder + "concurrentTextExtraction.pdf";
+        FileOutputStream fos = new FileOutputStream(fileName);
+        fos.write(pdf);
+        fos.close();
+
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(fileName, new ReaderProperties().setConcurrentReadOnly(true)));
+        Assert.assertTrue(pdfDocument.getReader().isConcurrentReadOnly());
+        checkConcurrentTextExtraction(pdfDocument);
+    }
+
+    @Test
+    public void concurrentTextExtractionOfEncryptedDocumentTest() throws Exception {
+        byte[] password = "password".getBytes();
+        byte[] pdf = createDocument(new WriterProperties()
+                .setStandardEncryption(password, password, EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.STANDARD_ENCRYPTION_128));
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setPassword(password).setConcurrentReadOnly(true)));
+        checkConcurrentTextExtraction(pdfDocument);
+    }
+
+    @Test
+    public void concurrentTextExtractionWithWrongStreamLengthsTest() throws Exception {
+        byte[] pdf = createDocument(new WriterProperties().setCompressionLevel(CompressionConstants.NO_COMPRESSION));
+        // the offsets stay the same, so only the stream lengths have to be corrected
+        String corrupted = new String(pdf, "ISO-8859-1").replaceAll("/Length \\d\\d\\b", "/Length 99");
+        Assert.assertNotEquals(new String(pdf, "ISO-8859-1"), corrupted);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(corrupted.getBytes("ISO-8859-1")),
+                new ReaderProperties().setConcurrentReadOnly(true)));
+        checkConcurrentTextExtraction(pdfDocument);
+    }
+
+    @Test
+    public void concurrentReadOnlyDocumentCannotBeWrittenTest() throws IOException {
+        junitExpectedException.expect(PdfException.class);
+        junitExpectedException.expectMessage(PdfException.DocumentOpenedInConcurrentReadOnlyModeCannotBeWritten);
+        byte[] pdf = createDocument(new WriterProperties());
+        new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf), new ReaderProperties().setConcurrentReadOnly(true)),
+                new PdfWriter(new ByteArrayOutputStream()));
+    }
+
+    private static void checkConcurrentTextExtraction(final PdfDocument pdfDocument) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                final int pageNum = i;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        return PdfTextExtractor.getTextFromPage(pdfDocument.getPage(pageNum));
+                    }
+                }));
+            }
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                Assert.assertEquals(getPageText(i), results.get(i - 1).get());
+            }
+        } finally {
+            executor.shutdown();
+            pdfDocument.close();
+        }
+    }
+
+    private static byte[] createDocument(WriterProperties properties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFontAndSize(font, 12)
+                    .moveText(36, 700)
+                    .showText(getPageText(i))
+                    .endText();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static String getPageText(int pageNum) {
+        return "Text of page " + pageNum;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class PdfReaderObjectCacheTest extends ExtendedITextTest {
+
+    private static final int PAGE_COUNT = 40;
+
+    @Test
+    public void weakObjectCacheTest() throws IOException {
+        checkObjectCache(new WriterProperties(), ObjectCachePolicy.WEAK);
+    }
+
+    @Test
+    public void weakObjectCacheWithObjectStreamsTest() throws IOException {
+        checkObjectCache(new WriterProperties().setFullCompressionMode(true), ObjectCachePolicy.WEAK);
+    }
+
+    @Test
+    public void softObjectCacheTest() throws IOException {
+        checkObjectCache(new WriterProperties().setFullCompressionMode(true), ObjectCachePolicy.SOFT);
+    }
+
+    @Test
+    public void evictedObjectIsReadAgainTest() throws IOException {
+        byte[] pdf = createDocument(new WriterProperties().setFullCompressionMode(true));
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setObjectCachePolicy(ObjectCachePolicy.WEAK, 0)));
+        PdfIndirectReference contentReference = (PdfIndirectReference) pdfDocument.getPage(1).getPdfObject()
+                .get(PdfName.Contents, false);
+
+        PdfStream contentStream = (PdfStream) contentReference.getRefersTo();
+        Assert.assertSame(contentStream, contentReference.getRefersTo());
+        // the object in use is still the same instance after its eviction
+        readAllPages(pdfDocument);
+        Assert.assertNull(contentReference.refersTo);
+        Assert.assertSame(contentStream, contentReference.getRefersTo());
+
+        contentStream = null;
+        readAllPages(pdfDocument);
+        System.gc();
+        PdfObject reread = contentReference.getRefersTo();
+        Assert.assertNotNull(reread);
+        Assert.assertSame(contentReference, reread.getIndirectReference());
+        Assert.assertTrue(new String(((PdfStream) reread).getBytes()).contains("Page 1"));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void modifiedObjectIsNotEvictedTest() throws IOException {
+        byte[] pdf = createDocument(new WriterProperties().setFullCompressionMode(true));
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setObjectCachePolicy(ObjectCachePolicy.WEAK, 0)));
+        PdfIndirectReference contentReference = (PdfIndirectReference) pdfDocument.getPage(1).getPdfObject()
+                .get(PdfName.Contents, false);
+
+        PdfStream contentStream = (PdfStream) contentReference.getRefersTo();
+        contentStream.put(new PdfName("Marker"), new PdfString("modified"));
+        contentStream.setModified();
+        contentStream = null;
+
+        readAllPages(pdfDocument);
+        System.gc();
+        PdfStream actual = (PdfStream) contentReference.getRefersTo();
+        Assert.assertEquals(new PdfString("modified"), actual.get(new PdfName("Marker")));
+        pdfDocument.close();
+    }
+
+    @Test
+    public void objectsAreNotEvictedInStampingModeTest() throws IOException {
+        byte[] pdf = createDocument(new WriterProperties().setFullCompressionMode(true));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setObjectCachePolicy(ObjectCachePolicy.WEAK, 0)), new PdfWriter(baos));
+        Assert.assertNull(pdfDocument.getReader().objectCache);
+        PdfIndirectReference contentReference = (PdfIndirectReference) pdfDocument.getPage(1).getPdfObject()
+                .get(PdfName.Contents, false);
+
+        // the stream is changed in place without marking it as modified
+        ((PdfStream) contentReference.getRefersTo()).put(new PdfName("Marker"), new PdfString("changed"));
+        readAllPages(pdfDocument);
+        System.gc();
+        Assert.assertNotNull(contentReference.refersTo);
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        PdfStream resultStream = resultDocument.getPage(1).getFirstContentStream();
+        Assert.assertEquals(new PdfString("changed"), resultStream.get(new PdfName("Marker")));
+        resultDocument.close();
+    }
+
+    @Test
+    public void objectStreamCacheRandomAccessTest() throws IOException {
+        byte[] pdf = createDocument(new WriterProperties().setFullCompressionMode(true));
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setObjectStreamCacheSize(2)));
+        for (int i = PAGE_COUNT; i > 0; i -= 3) {
+            Assert.assertEquals(getPageText(i), PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)));
+        }
+
+        // only the requested objects are parsed from the object streams
+        PdfIndirectReference pageReference = pdfDocument.getPage(PAGE_COUNT).getPdfObject().getIndirectReference();
+        Assert.assertTrue(pageReference.getObjStreamNumber() > 0);
+        PdfXrefTable xref = pdfDocument.getXref();
+        boolean notLoadedObjectFound = false;
+        for (int i = 1; i < xref.size(); i++) {
+            PdfIndirectReference reference = xref.get(i);
+            if (reference != null && reference.getObjStreamNumber() == pageReference.getObjStreamNumber()
+                    && reference.refersTo == null) {
+                notLoadedObjectFound = true;
+            }
+        }
+        Assert.assertTrue(notLoadedObjectFound);
+        pdfDocument.close();
+    }
+
+    @Test
+    public void objectStreamCacheWithWeakObjectCacheTest() throws IOException {
+        byte[] pdf = createDocument(new WriterProperties().setFullCompressionMode(true));
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setObjectStreamCacheSize(1).setObjectCachePolicy(ObjectCachePolicy.WEAK, 5)));
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = PAGE_COUNT; i > 0; i--) {
+                Assert.assertEquals(getPageText(i), PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)));
+            }
+            System.gc();
+        }
+        pdfDocument.close();
+    }
+
+    private static void checkObjectCache(WriterProperties writerProperties, ObjectCachePolicy policy) throws IOException {
+        byte[] pdf = createDocument(writerProperties);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf),
+                new ReaderProperties().setObjectCachePolicy(policy, 5)));
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 1; i <= PAGE_COUNT; i++) {
+                Assert.assertEquals(getPageText(i), PdfTextExtractor.getTextFromPage(pdfDocument.getPage(i)));
+            }
+            System.gc();
+        }
+        pdfDocument.close();
+    }
+
+    private static void readAllPages(PdfDocument pdfDocument) {
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            pdfDocument.getPage(i).getContentBytes();
+        }
+    }
+
+    private static byte[] createDocument(WriterProperties writerProperties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, writerProperties));
+        for (int i = 1; i <= PAGE_COUNT; i++) {
+            new PdfCanvas(pdfDocument.addNewPage())
+                    .beginText()
+                    .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                    .moveText(36, 700)
+                    .showText(getPageText(i))
+                    .endText();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static String getPageText(int pageNum) {
+        return "Page " + pageNum;
+    }
+}
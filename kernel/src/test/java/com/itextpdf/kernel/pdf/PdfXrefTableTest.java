@@ -50,6 +50,8 @@ package com.itextpdf.kernel.pdf;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import org.junit.Assert;
@@ -67,6 +69,8 @@ public class PdfXrefTableTest extends ExtendedITextTest {
     public static final String sourceFolder = "./src/test/resources/com/itextpdf/kernel/pdf/PdfXrefTableTest/";
     public static final String destinationFolder = "./target/test/com/itextpdf/kernel/pdf/PdfXrefTableTest/";
 
+    private static final PdfName FIRST_TEST_OBJECT = new PdfName("FirstTestObject");
+
     @BeforeClass
     public static void beforeClass() {
         createOrClearDestinationFolder(destinationFolder);
@@ -167,4 +171,122 @@ public class PdfXrefTableTest extends ExtendedITextTest {
         Assert.assertEquals(1, freeRef2.genNr);
         pdfDocument.close();
     }
+
+    @Test
+    public void referencesAreCreatedOnDemandTest() throws IOException {
+        checkReferencesAreCreatedOnDemand(new WriterProperties());
+    }
+
+    @Test
+    public void referencesAreCreatedOnDemandFromXrefStreamTest() throws IOException {
+        checkReferencesAreCreatedOnDemand(new WriterProperties().setFullCompressionMode(true));
+    }
+
+    @Test
+    public void appendModeWithCompactEntriesTest() throws IOException {
+        byte[] pdf = createDocumentWithManyObjects(new WriterProperties().setFullCompressionMode(true), 1000);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)), new PdfWriter(baos),
+                new StampingProperties().useAppendMode());
+        int objectNumber = pdfDocument.getCatalog().getPdfObject().getAsNumber(FIRST_TEST_OBJECT).intValue() + 100;
+        PdfDictionary object = (PdfDictionary) pdfDocument.getPdfObject(objectNumber);
+        int count = object.getAsNumber(PdfName.Count).intValue();
+        object.put(PdfName.Name, new PdfString("updated"));
+        object.setModified();
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+        object = (PdfDictionary) pdfDocument.getPdfObject(objectNumber);
+        Assert.assertEquals("updated", object.getAsString(PdfName.Name).getValue());
+        Assert.assertEquals(count, object.getAsNumber(PdfName.Count).intValue());
+        pdfDocument.close();
+    }
+
+    @Test
+    public void onlyPendingReferencesAreVisitedOnCloseTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        for (int i = 0; i < 500; i++) {
+            PdfPage page = pdfDocument.addNewPage();
+            PdfDictionary object = new PdfDictionary();
+            object.put(PdfName.Count, new PdfNumber(i));
+            page.getPdfObject().put(PdfName.Name, object.makeIndirect(pdfDocument));
+            object.flush();
+            page.flush();
+        }
+        PdfXrefTable xref = pdfDocument.getXref();
+        Assert.assertTrue(xref.size() > 1000);
+        // only the catalog, the document info and the page tree nodes are left to be flushed
+        Assert.assertTrue(getNumberOfPendingReferences(xref) < 100);
+        pdfDocument.close();
+
+        pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())),
+                new PdfWriter(new ByteArrayOutputStream()), new StampingProperties().useAppendMode());
+        // in append mode only modified references are pending, e.g. the document info
+        int pendingReferences = getNumberOfPendingReferences(pdfDocument.getXref());
+        Assert.assertTrue(pendingReferences < 5);
+        pdfDocument.getPage(250).getPdfObject().getAsDictionary(PdfName.Name).setModified();
+        Assert.assertEquals(pendingReferences + 1, getNumberOfPendingReferences(pdfDocument.getXref()));
+        pdfDocument.close();
+    }
+
+    private static int getNumberOfPendingReferences(PdfXrefTable xref) {
+        int count = 0;
+        for (int i = xref.nextPending(1); i >= 0; i = xref.nextPending(i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void checkReferencesAreCreatedOnDemand(WriterProperties writerProperties) throws IOException {
+        int objectsCount = 20000;
+        byte[] pdf = createDocumentWithManyObjects(writerProperties, objectsCount);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        PdfXrefTable xref = pdfDocument.getXref();
+        Assert.assertTrue(xref.size() > objectsCount);
+        // only the references of the read objects and of the objects from the same object streams are created
+        Assert.assertTrue(getNumberOfMaterializedReferences(xref) < objectsCount / 10);
+
+        int firstObjectNumber = pdfDocument.getCatalog().getPdfObject().getAsNumber(FIRST_TEST_OBJECT).intValue();
+        int count = 0;
+        for (int i = firstObjectNumber; i < xref.size(); i++) {
+            PdfObject object = pdfDocument.getPdfObject(i);
+            // object streams are interleaved with the test objects in full compression mode
+            if (object.isDictionary() && ((PdfDictionary) object).containsKey(PdfName.Count)) {
+                Assert.assertEquals(++count, ((PdfDictionary) object).getAsNumber(PdfName.Count).intValue());
+                Assert.assertSame(xref.get(i), object.getIndirectReference());
+            }
+        }
+        Assert.assertEquals(objectsCount, count);
+        Assert.assertTrue(getNumberOfMaterializedReferences(xref) > objectsCount);
+        pdfDocument.close();
+    }
+
+    private static int getNumberOfMaterializedReferences(PdfXrefTable xref) {
+        int count = 0;
+        for (int i = 0; i < xref.size(); i++) {
+            if (xref.getMaterialized(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static byte[] createDocumentWithManyObjects(WriterProperties writerProperties, int objectsCount) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, writerProperties));
+        pdfDocument.addNewPage();
+        // the objects are not referenced, so that reading the catalog doesn't create references for all of them
+        for (int i = 1; i <= objectsCount; i++) {
+            PdfDictionary object = new PdfDictionary();
+            object.put(PdfName.Count, new PdfNumber(i));
+            object.makeIndirect(pdfDocument);
+            if (i == 1) {
+                pdfDocument.getCatalog().put(FIRST_TEST_OBJECT, new PdfNumber(object.getIndirectReference().getObjNumber()));
+            }
+            object.flush();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
 }
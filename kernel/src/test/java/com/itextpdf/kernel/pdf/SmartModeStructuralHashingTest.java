@@ -0,0 +1,149 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class SmartModeStructuralHashingTest extends ExtendedITextTest {
+
+    private static final int DOCUMENT_COUNT = 200;
+
+    @Test
+    public void mergeSimilarDocumentsTest() throws IOException {
+        byte[][] invoices = new byte[DOCUMENT_COUNT][];
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            invoices[i] = createInvoice(i);
+        }
+
+        byte[] structuralHashing = merge(invoices, new WriterProperties().useSmartModeWithStructuralHashing());
+        byte[] serialization = merge(invoices, new WriterProperties().useSmartMode());
+        byte[] noSmartMode = merge(invoices, new WriterProperties());
+
+        int structuralHashingObjects = getNumberOfObjects(structuralHashing);
+        Assert.assertEquals(getNumberOfObjects(serialization), structuralHashingObjects);
+        Assert.assertTrue(structuralHashingObjects < getNumberOfObjects(noSmartMode));
+
+        PdfDocument merged = new PdfDocument(new PdfReader(new ByteArrayInputStream(structuralHashing)));
+        Assert.assertEquals(DOCUMENT_COUNT, merged.getNumberOfPages());
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            Assert.assertTrue(PdfTextExtractor.getTextFromPage(merged.getPage(i + 1)).contains(getInvoiceText(i)));
+        }
+        merged.close();
+    }
+
+    @Test
+    public void differentDictionariesAreNotMergedTest() throws IOException {
+        byte[] pdf = merge(new byte[][] {createInvoice(1, "Logo 1"), createInvoice(2, "Logo 2")},
+                new WriterProperties().useSmartModeWithStructuralHashing());
+        PdfDocument merged = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        Assert.assertTrue(PdfTextExtractor.getTextFromPage(merged.getPage(1)).contains("Logo 1"));
+        Assert.assertTrue(PdfTextExtractor.getTextFromPage(merged.getPage(2)).contains("Logo 2"));
+        merged.close();
+    }
+
+    private static byte[] merge(byte[][] documents, WriterProperties writerProperties) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, writerProperties));
+        for (byte[] document : documents) {
+            PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(document)));
+            source.copyPagesTo(1, source.getNumberOfPages(), pdfDocument);
+            source.close();
+        }
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static int getNumberOfObjects(byte[] pdf) throws IOException {
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        int numberOfObjects = pdfDocument.getNumberOfPdfObjects();
+        pdfDocument.close();
+        return numberOfObjects;
+    }
+
+    private static byte[] createInvoice(int number) throws IOException {
+        return createInvoice(number, "ACME Corporation");
+    }
+
+    private static byte[] createInvoice(int number, String logoText) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+        PdfPage page = pdfDocument.addNewPage();
+
+        PdfFormXObject logo = new PdfFormXObject(new Rectangle(200, 50));
+        new PdfCanvas(logo, pdfDocument)
+                .beginText()
+                .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD), 16)
+                .moveText(0, 20)
+                .showText(logoText)
+                .endText();
+
+        new PdfCanvas(page)
+                .addXObject(logo, 36, 750)
+                .beginText()
+                .setFontAndSize(PdfFontFactory.createFont(StandardFonts.HELVETICA), 12)
+                .moveText(36, 700)
+                .showText(getInvoiceText(number))
+                .endText();
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static String getInvoiceText(int number) {
+        return "Invoice " + number;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.pdf.filters;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.EncryptionConstants;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+@Category(UnitTest.class)
+public class StreamFilterHandlerTest {
+
+    private static final PdfName TEST_STREAM = new PdfName("TestStream");
+
+    @Test
+    public void flateDecodeWithPngPredictorTest() throws IOException {
+        int columns = 5;
+        int rows = 40;
+        java.io.ByteArrayOutputStream predicted = new java.io.ByteArrayOutputStream();
+        for (int row = 0; row < rows; row++) {
+            // cycle through all PNG filter types
+            predicted.write(row % 5);
+            for (int col = 0; col < columns; col++) {
+                predicted.write((row * 31 + col * 7) & 0xff);
+            }
+        }
+        byte[] encoded = deflate(predicted.toByteArray());
+        PdfDictionary decodeParams = new PdfDictionary();
+        decodeParams.put(PdfName.Predictor, new PdfNumber(12));
+        decodeParams.put(PdfName.Columns, new PdfNumber(columns));
+
+        FlateDecodeFilter filter = new FlateDecodeFilter();
+        byte[] expected = filter.decode(encoded, PdfName.FlateDecode, decodeParams, new PdfDictionary());
+        byte[] actual = readAll(filter.decode(new ByteArrayInputStream(encoded), PdfName.FlateDecode, decodeParams, new PdfDictionary()));
+        Assert.assertArrayEquals(expected, actual);
+        Assert.assertEquals(columns * rows, actual.length);
+    }
+
+    @Test
+    public void flateDecodeCorruptedStreamTest() throws IOException {
+        byte[] data = createData(10000);
+        byte[] encoded = deflate(data);
+        encoded[encoded.length / 2] ^= 0x5a;
+        encoded[encoded.length / 2 + 1] ^= 0x5a;
+
+        InputStream lenient = new FlateDecodeFilter().decode(new ByteArrayInputStream(encoded), PdfName.FlateDecode, null, new PdfDictionary());
+        byte[] decoded = readAll(lenient);
+        Assert.assertArrayEquals(FlateDecodeFilter.flateDecode(encoded, false), decoded);
+
+        InputStream strict = new FlateDecodeFilter(true).decode(new ByteArrayInputStream(encoded), PdfName.FlateDecode, null, new PdfDictionary());
+        try {
+            readAll(strict);
+            Assert.fail("Corrupted stream is expected to fail in strict mode");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void flateDecodeRetainsBoundedInputTest() throws IOException {
+        byte[] data = new byte[4 * FlateDecodeFilter.FlateInputStream.MAX_RETAINED_INPUT_LENGTH];
+        Random random = new Random(1);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) random.nextInt(16);
+        }
+        byte[] encoded = deflate(data);
+        Assert.assertTrue(encoded.length > FlateDecodeFilter.FlateInputStream.MAX_RETAINED_INPUT_LENGTH);
+        encoded[encoded.length - 1000] ^= 0x5a;
+
+        FlateDecodeFilter.FlateInputStream lenient = (FlateDecodeFilter.FlateInputStream) new FlateDecodeFilter()
+                .decode(new ByteArrayInputStream(encoded), PdfName.FlateDecode, null, new PdfDictionary());
+        byte[] buffer = new byte[8192];
+        int maxRetainedInputLength = 0;
+        java.io.ByteArrayOutputStream decoded = new java.io.ByteArrayOutputStream();
+        int n;
+        while ((n = lenient.read(buffer, 0, buffer.length)) != -1) {
+            decoded.write(buffer, 0, n);
+            maxRetainedInputLength = Math.max(maxRetainedInputLength, lenient.getRetainedInputLength());
+        }
+        lenient.close();
+
+        Assert.assertTrue(maxRetainedInputLength <= FlateDecodeFilter.FlateInputStream.MAX_RETAINED_INPUT_LENGTH);
+        Assert.assertEquals(0, lenient.getRetainedInputLength());
+        // the data before the corruption is returned
+        int validLength = 3 * FlateDecodeFilter.FlateInputStream.MAX_RETAINED_INPUT_LENGTH;
+        byte[] decodedBytes = decoded.toByteArray();
+        Assert.assertTrue(decodedBytes.length > validLength);
+        Assert.assertArrayEquals(Arrays.copyOf(data, validLength), Arrays.copyOf(decodedBytes, validLength));
+    }
+
+    @Test
+    public void flateDecodeWithHugeDecodedLengthTest() throws IOException {
+        byte[] data = createData(1000);
+        byte[] encoded = deflate(data);
+        PdfDictionary streamDictionary = new PdfDictionary();
+        streamDictionary.put(PdfName.Filter, PdfName.FlateDecode);
+        streamDictionary.put(PdfName.DL, new PdfNumber(2000000000));
+
+        byte[] decoded = new FlateDecodeFilter().decode(encoded, PdfName.FlateDecode, null, streamDictionary);
+        Assert.assertArrayEquals(data, decoded);
+    }
+
+    @Test
+    public void asciiHexDecodeTest() throws IOException {
+        byte[] encoded = "61 62 6 3\n646>ignored".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] expected = ASCIIHexDecodeFilter.ASCIIHexDecode(encoded);
+        byte[] actual = readAll(new ASCIIHexDecodeFilter().decode(new ByteArrayInputStream(encoded), PdfName.ASCIIHexDecode, null, new PdfDictionary()));
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void ascii85DecodeTest() throws IOException {
+        byte[] encoded = "9jqo^BlbD-BleB1DJ+*+F(f,q/0JhKF<GL>Cj@.4Gp$d7F!,L7@<6@)/0JDEF<G%<+EV:2F!,O<DJ+*.@<*K0@<6L(Df-\\0Ec5e;DffZ(EZee.Bl.9pF\"AGXBPCsi+DGm>@3BB/F*&OCAfu2/AKYi(DIb:@FD,*)+C]U=@3BN#EcYf8ATD3s@q?d$AftVqCh[NqF<G:8+EV:.+Cf>-FD5W8ARlolDIal(DId<j@<?3r@:F%a+D58'ATD4$Bl@l3De:,-DJs`8ARoFb/0JMK@qB4^F!,R<AKZ&-DfTqBG%G>uD.RTpAKYo'+CT/5+Cei#DII?(E,9)oF*2M7/c~>".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] expected = ASCII85DecodeFilter.ASCII85Decode(encoded);
+        byte[] actual = readAll(new ASCII85DecodeFilter().decode(new ByteArrayInputStream(encoded), PdfName.ASCII85Decode, null, new PdfDictionary()));
+        Assert.assertArrayEquals(expected, actual);
+
+        byte[] partialGroup = "z87cURD]i,\"Ebo8~>".getBytes(StandardCharsets.ISO_8859_1);
+        expected = ASCII85DecodeFilter.ASCII85Decode(partialGroup);
+        actual = readAll(new ASCII85DecodeFilter().decode(new ByteArrayInputStream(partialGroup), PdfName.ASCII85Decode, null, new PdfDictionary()));
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void readStreamFromDocumentTest() throws IOException {
+        byte[] pdf = createDocumentWithStream(null);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+        assertStreamReadConsistently(pdfDocument);
+        pdfDocument.close();
+    }
+
+    @Test
+    public void readStreamFromEncryptedDocumentTest() throws IOException {
+        byte[] password = "password".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] pdf = createDocumentWithStream(password);
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf), new ReaderProperties().setPassword(password)));
+        assertStreamReadConsistently(pdfDocument);
+        pdfDocument.close();
+    }
+
+    private static void assertStreamReadConsistently(PdfDocument pdfDocument) throws IOException {
+        PdfReader reader = pdfDocument.getReader();
+        PdfStream stream = pdfDocument.getCatalog().getPdfObject().getAsStream(TEST_STREAM);
+        Assert.assertArrayEquals(createData(100000), readAll(reader.readStream(stream, true)));
+        Assert.assertArrayEquals(reader.readStreamBytes(stream, true), readAll(reader.readStream(stream, true)));
+        Assert.assertArrayEquals(reader.readStreamBytes(stream, false), readAll(reader.readStream(stream, false)));
+    }
+
+    private static byte[] createDocumentWithStream(byte[] password) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WriterProperties properties = new WriterProperties();
+        if (password != null) {
+            properties.setStandardEncryption(password, password, 0, EncryptionConstants.ENCRYPTION_AES_128);
+        }
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, properties));
+        pdfDocument.addNewPage();
+        PdfStream stream = new PdfStream(createData(100000));
+        pdfDocument.getCatalog().put(TEST_STREAM, stream.makeIndirect(pdfDocument));
+        pdfDocument.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] createData(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i % 251 ^ i / 997);
+        }
+        return data;
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+        DeflaterOutputStream zip = new DeflaterOutputStream(baos, new Deflater(Deflater.BEST_COMPRESSION));
+        zip.write(data);
+        zip.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream is) throws IOException {
+        try {
+            return StreamUtil.inputStreamToArray(is);
+        } finally {
+            is.close();
+        }
+    }
+}
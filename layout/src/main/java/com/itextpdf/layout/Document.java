@@ -56,6 +56,10 @@ import com.itextpdf.layout.renderer.DocumentRenderer;
 import com.itextpdf.layout.renderer.IRenderer;
 import com.itextpdf.layout.renderer.RootRenderer;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Document is the default root element when creating a self-sufficient PDF. It
  * mainly operates high-level operations e.g. setting page size and rotation,
@@ -89,6 +93,9 @@ public class Document extends RootElement<Document> {
     @Deprecated
     protected float bottomMargin = 36;
 
+    // The layout state saved before each of the child elements was added, or null if it could not be saved
+    private List<RootRenderer.LayoutCheckpoint> layoutCheckpoints = new ArrayList<>();
+
     /**
      * Creates a document from a {@link PdfDocument}. Initializes the first page
      * with the {@link PdfDocument}'s current default {@link PageSize}.
@@ -147,6 +154,7 @@ public class Document extends RootElement<Document> {
     public Document add(AreaBreak areaBreak) {
         checkClosingStatus();
         childElements.add(areaBreak);
+        saveLayoutCheckpoint();
         ensureRootRendererNotNull().addChild(areaBreak.createRendererSubTree());
         if (immediateFlush) {
             childElements.remove(childElements.size() - 1);
@@ -182,6 +190,7 @@ public class Document extends RootElement<Document> {
      */
     public void setRenderer(DocumentRenderer documentRenderer) {
         this.rootRenderer = documentRenderer;
+        invalidateLayoutCheckpoints();
     }
 
     /**
@@ -190,6 +199,7 @@ public class Document extends RootElement<Document> {
      */
     public void flush() {
         rootRenderer.flush();
+        invalidateLayoutCheckpoints();
     }
 
     /**
@@ -214,11 +224,55 @@ public class Document extends RootElement<Document> {
         }
 
         rootRenderer = (RootRenderer) nextRelayoutRenderer;
+        layoutCheckpoints.clear();
         for (IElement element : childElements) {
             createAndAddRendererSubTree(element);
         }
     }
 
+    /**
+     * Performs a recalculation of the document flow starting from the specified child element.
+     * The element itself and the elements added after it may have been changed since the last layout,
+     * while the elements added before it must be left intact.
+     * <p>
+     * The pages, which had been laid out before the element was reached, are reused: the layout continues
+     * from the state in which it was before the element had been added. If that state could not be saved
+     * (e.g. because of floating elements or margins collapsing), the layout continues from the nearest
+     * previous element for which it was saved, or the entire flow is recalculated as in {@link #relayout()}.
+     * <p>
+     * Do not use when you have set {@link #immediateFlush} to <code>true</code>.
+     *
+     * @param firstChangedElement the first of the document's child elements which have been changed
+     */
+    public void relayout(IElement firstChangedElement) {
+        if (immediateFlush) {
+            throw new IllegalStateException("Operation not supported with immediate flush");
+        }
+        int firstChangedElementIndex = childElements.indexOf(firstChangedElement);
+        if (firstChangedElementIndex == -1) {
+            throw new IllegalArgumentException("The element is not a child of the document");
+        }
+
+        int checkpointIndex = Math.min(firstChangedElementIndex, layoutCheckpoints.size() - 1);
+        while (checkpointIndex >= 0 && layoutCheckpoints.get(checkpointIndex) == null) {
+            checkpointIndex--;
+        }
+        if (checkpointIndex == -1 || rootRenderer == null || !rootRenderer.restoreLayoutCheckpoint(layoutCheckpoints.get(checkpointIndex))) {
+            relayout();
+            return;
+        }
+
+        int lastReusedPageNumber = layoutCheckpoints.get(checkpointIndex).getPageNumber();
+        while (pdfDocument.getNumberOfPages() > lastReusedPageNumber) {
+            pdfDocument.removePage(pdfDocument.getNumberOfPages());
+        }
+
+        layoutCheckpoints.subList(checkpointIndex, layoutCheckpoints.size()).clear();
+        for (int i = checkpointIndex; i < childElements.size(); i++) {
+            createAndAddRendererSubTree(childElements.get(i));
+        }
+    }
+
     /**
      * Gets the left margin, measured in points
      *
@@ -344,6 +398,12 @@ public class Document extends RootElement<Document> {
     }
 
 
+    @Override
+    protected void createAndAddRendererSubTree(IElement element) {
+        saveLayoutCheckpoint();
+        super.createAndAddRendererSubTree(element);
+    }
+
     @Override
     protected RootRenderer ensureRootRendererNotNull() {
         if (rootRenderer == null)
@@ -359,4 +419,17 @@ public class Document extends RootElement<Document> {
             throw new PdfException(PdfException.DocumentClosedItIsImpossibleToExecuteAction);
         }
     }
+
+    /**
+     * Makes the saved checkpoints unusable, while keeping the checkpoint of each child element at the index of the element.
+     */
+    private void invalidateLayoutCheckpoints() {
+        Collections.fill(layoutCheckpoints, null);
+    }
+
+    private void saveLayoutCheckpoint() {
+        if (!immediateFlush) {
+            layoutCheckpoints.add(rootRenderer != null ? rootRenderer.createLayoutCheckpoint() : null);
+        }
+    }
 }
@@ -55,6 +55,7 @@ import com.itextpdf.layout.property.BaseDirection;
 import com.itextpdf.layout.property.BorderRadius;
 import com.itextpdf.layout.property.FontKerning;
 import com.itextpdf.layout.property.HorizontalAlignment;
+import com.itextpdf.layout.property.IndexedPropertyMap;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.property.TextAlignment;
 import com.itextpdf.layout.property.TransparentColor;
@@ -63,7 +64,6 @@ import com.itextpdf.layout.property.UnitValue;
 import com.itextpdf.layout.splitting.ISplitCharacters;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -75,7 +75,7 @@ import java.util.Map;
  */
 public abstract class ElementPropertyContainer<T extends IPropertyContainer> implements IPropertyContainer {
 
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new IndexedPropertyMap();
 
     @Override
     public void setProperty(int property, Object value) {
@@ -89,7 +89,7 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
 
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return IndexedPropertyMap.containsKey(properties, property);
     }
 
     @Override
@@ -104,7 +104,7 @@ public abstract class ElementPropertyContainer<T extends IPropertyContainer> imp
 
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.<T1>get(property);
+        return (T1) IndexedPropertyMap.get(properties, property);
     }
 
     @Override
@@ -0,0 +1,66 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+
+/**
+ * Processes the pages of the sections after {@link ParallelSectionLayout} has appended all of them to the document.
+ * The sections are laid out at the same time, so the number of the page a section starts at is not known
+ * while the section is being written. Content which depends on it, like page numbers or "page X of Y" footers,
+ * shall be added by this handler instead.
+ */
+public interface ISectionPagesHandler {
+
+    /**
+     * Is called once on the thread which has called {@link ParallelSectionLayout#addSections(int, ISectionWriter, ISectionPagesHandler)}
+     * after the pages of all the sections are appended. The pages are not flushed yet, so they can be modified.
+     *
+     * @param pdfDocument        the document the sections have been appended to
+     * @param sectionStartPages  the 1-based number of the first page of each section in the document,
+     *                           for a section without content it is the page the next section starts at
+     * @param sectionPagesCounts the number of pages of each section, 0 for sections without content
+     */
+    void handleSectionPages(PdfDocument pdfDocument, int[] sectionStartPages, int[] sectionPagesCounts);
+}
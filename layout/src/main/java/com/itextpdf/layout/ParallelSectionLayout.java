@@ -0,0 +1,415 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.io.font.FontEncoding;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfSimpleFont;
+import com.itextpdf.kernel.font.PdfTrueTypeFont;
+import com.itextpdf.kernel.font.PdfType0Font;
+import com.itextpdf.kernel.font.PdfType1Font;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lays out independent sections of a document on several threads and appends their pages
+ * to the {@link PdfDocument} in the order of the sections.
+ * <p>
+ * Each section is laid out into a separate in-memory document by an {@link ISectionWriter}, the resultant
+ * pages are then copied to the target document, so every section starts on a new page. Pages are
+ * appended on the calling thread, the target document is never accessed from the worker threads.
+ * If the target document is tagged, the sections are tagged as well and their tag structure is copied
+ * together with the pages.
+ * <p>
+ * Every section creates its own fonts. Embedded fonts of different sections which are created for the same
+ * {@link FontProgram} instance with the same encoding and options, e.g. by {@link PdfFontFactory} from the same
+ * font file with the default font program caching, are replaced by a single font of the target document when
+ * the pages are appended. That font is embedded once, with a subset containing the glyphs used by all the sections.
+ * Only the fonts of the page resources are replaced: a font used by a form XObject of a section stays embedded
+ * in the section's own copy.
+ * <p>
+ * Sections do not know the number of the page they start at, because the sections before them are laid out
+ * at the same time. Page numbers and other content which depends on the position of a section in the document
+ * shall be added by an {@link ISectionPagesHandler} after all the sections are appended.
+ * <p>
+ * The sections are laid out and then parsed again on the worker threads. Only copying their pages to the target
+ * document is done on the calling thread, one section after another.
+ * <p>
+ * Only a limited number of laid out sections is kept in memory while waiting to be appended, so large
+ * batches of sections can be processed with a steady memory footprint.
+ */
+public class ParallelSectionLayout {
+
+    private final PdfDocument pdfDocument;
+    private final int threadCount;
+    // fonts of the target document which replace the embedded fonts of the sections
+    private final Map<FontProgram, List<PdfFont>> sharedFonts = new HashMap<>();
+    private int maxPendingSections;
+    private PageSize pageSize;
+
+    /**
+     * Creates a layout that uses as many threads as there are available processors.
+     *
+     * @param pdfDocument the document to append the pages of the sections to
+     */
+    public ParallelSectionLayout(PdfDocument pdfDocument) {
+        this(pdfDocument, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a layout that uses the given number of threads.
+     *
+     * @param pdfDocument the document to append the pages of the sections to
+     * @param threadCount the number of threads to lay out the sections on
+     */
+    public ParallelSectionLayout(PdfDocument pdfDocument, int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount");
+        }
+        this.pdfDocument = pdfDocument;
+        this.threadCount = threadCount;
+        this.maxPendingSections = threadCount * 2;
+        this.pageSize = pdfDocument.getDefaultPageSize();
+    }
+
+    /**
+     * Sets the maximum number of sections which are laid out or wait to be appended at the same time.
+     * By default it is twice the number of threads.
+     *
+     * @param maxPendingSections the maximum number of pending sections
+     * @return this instance
+     */
+    public ParallelSectionLayout setMaxPendingSections(int maxPendingSections) {
+        if (maxPendingSections < 1) {
+            throw new IllegalArgumentException("maxPendingSections");
+        }
+        this.maxPendingSections = maxPendingSections;
+        return this;
+    }
+
+    /**
+     * Sets the page size of the section documents. By default it is the default page size of the target document.
+     *
+     * @param pageSize the page size
+     * @return this instance
+     */
+    public ParallelSectionLayout setPageSize(PageSize pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Lays out the sections and appends their pages to the document.
+     *
+     * @param sectionCount the number of sections
+     * @param writer       the writer which adds the content of each section
+     * @return the number of appended pages
+     */
+    public int addSections(int sectionCount, ISectionWriter writer) {
+        return addSections(sectionCount, writer, null);
+    }
+
+    /**
+     * Lays out the sections, appends their pages to the document and then passes the pages
+     * of the sections to the handler.
+     *
+     * @param sectionCount the number of sections
+     * @param writer       the writer which adds the content of each section
+     * @param pagesHandler the handler which processes the appended pages, e.g. adds page numbers, could be null
+     * @return the number of appended pages
+     */
+    public int addSections(int sectionCount, ISectionWriter writer, ISectionPagesHandler pagesHandler) {
+        int[] sectionStartPages = new int[sectionCount];
+        int[] sectionPagesCounts = new int[sectionCount];
+        int pagesCount = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, Math.max(sectionCount, 1)));
+        try {
+            Deque<Future<LaidOutSection>> pendingSections = new ArrayDeque<>();
+            int nextSection = 0;
+            int appendedSection = 0;
+            boolean tagged = pdfDocument.isTagged();
+            while (appendedSection < sectionCount) {
+                while (nextSection < sectionCount && pendingSections.size() < maxPendingSections) {
+                    pendingSections.add(executor.submit(new SectionTask(writer, nextSection++, tagged)));
+                }
+                LaidOutSection section = waitForSection(pendingSections.poll(), appendedSection);
+                sectionStartPages[appendedSection] = pdfDocument.getNumberOfPages() + 1;
+                sectionPagesCounts[appendedSection] = appendSection(section);
+                pagesCount += sectionPagesCounts[appendedSection];
+                ++appendedSection;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (pagesHandler != null) {
+            pagesHandler.handleSectionPages(pdfDocument, sectionStartPages, sectionPagesCounts);
+        }
+        return pagesCount;
+    }
+
+    private LaidOutSection waitForSection(Future<LaidOutSection> section, int sectionIndex) {
+        try {
+            return section.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfException(PdfException.CannotLayOutSection1, e).setMessageParams(sectionIndex);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PdfException(PdfException.CannotLayOutSection1, cause).setMessageParams(sectionIndex);
+        }
+    }
+
+    private int appendSection(LaidOutSection section) {
+        if (section == null) {
+            return 0;
+        }
+        PdfDocument sectionDocument = section.document;
+        Map<Integer, PdfFont> sharedFonts = getSharedFonts(section.embeddedFonts);
+        int sectionPages = sectionDocument.getNumberOfPages();
+        List<Map<PdfName, PdfFont>> pagesFonts = new ArrayList<>(sectionPages);
+        for (int page = 1; page <= sectionPages; ++page) {
+            // the replaced fonts are removed before copying, so that their own copies are not appended
+            pagesFonts.add(detachSharedFonts(sectionDocument.getPage(page), sharedFonts));
+        }
+        List<PdfPage> copiedPages = sectionDocument.copyPagesTo(1, sectionPages, pdfDocument);
+        for (int i = 0; i < copiedPages.size(); ++i) {
+            attachSharedFonts(copiedPages.get(i), pagesFonts.get(i));
+        }
+        sectionDocument.close();
+        return sectionPages;
+    }
+
+    /**
+     * Gets the fonts of the target document which replace the embedded fonts of a section.
+     *
+     * @param embeddedFonts the embedded fonts of the section by the object numbers of their dictionaries
+     * @return the fonts of the target document by the object numbers of the replaced fonts
+     */
+    private Map<Integer, PdfFont> getSharedFonts(Map<Integer, PdfFont> embeddedFonts) {
+        Map<Integer, PdfFont> fonts = new HashMap<>(embeddedFonts.size());
+        for (Map.Entry<Integer, PdfFont> entry : embeddedFonts.entrySet()) {
+            PdfFont sectionFont = entry.getValue();
+            List<PdfFont> candidates = sharedFonts.get(sectionFont.getFontProgram());
+            if (candidates == null) {
+                candidates = new ArrayList<>(1);
+                sharedFonts.put(sectionFont.getFontProgram(), candidates);
+            }
+            PdfFont sharedFont = null;
+            for (PdfFont candidate : candidates) {
+                if (candidate.addUsedGlyphs(sectionFont)) {
+                    sharedFont = candidate;
+                    break;
+                }
+            }
+            if (sharedFont == null) {
+                sharedFont = createSharedFont(sectionFont);
+                if (sharedFont == null || !sharedFont.addUsedGlyphs(sectionFont)) {
+                    // the section keeps its own font
+                    continue;
+                }
+                pdfDocument.addFont(sharedFont);
+                candidates.add(sharedFont);
+            }
+            fonts.put(entry.getKey(), sharedFont);
+        }
+        return fonts;
+    }
+
+    private static PdfFont createSharedFont(PdfFont sectionFont) {
+        String encoding;
+        if (sectionFont instanceof PdfType0Font) {
+            encoding = ((PdfType0Font) sectionFont).getCmap().getCmapName();
+        } else {
+            FontEncoding fontEncoding = ((PdfSimpleFont) sectionFont).getFontEncoding();
+            encoding = fontEncoding.isFontSpecific() ? FontEncoding.FONT_SPECIFIC : fontEncoding.getBaseEncoding();
+        }
+        if (encoding == null) {
+            return null;
+        }
+        PdfFont font = PdfFontFactory.createFont(sectionFont.getFontProgram(), encoding, sectionFont.isEmbedded());
+        if (font != null) {
+            font.setSubset(sectionFont.isSubset());
+        }
+        return font;
+    }
+
+    private static Map<PdfName, PdfFont> detachSharedFonts(PdfPage page, Map<Integer, PdfFont> sharedFonts) {
+        Map<PdfName, PdfFont> pageFonts = new LinkedHashMap<>();
+        PdfDictionary resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+        PdfDictionary fonts = resources != null ? resources.getAsDictionary(PdfName.Font) : null;
+        if (fonts == null || sharedFonts.isEmpty()) {
+            return pageFonts;
+        }
+        for (PdfName name : new ArrayList<>(fonts.keySet())) {
+            PdfObject font = fonts.get(name, false);
+            PdfFont sharedFont = font instanceof PdfIndirectReference
+                    ? sharedFonts.get(((PdfIndirectReference) font).getObjNumber()) : null;
+            if (sharedFont != null) {
+                fonts.remove(name);
+                pageFonts.put(name, sharedFont);
+            }
+        }
+        return pageFonts;
+    }
+
+    private static void attachSharedFonts(PdfPage page, Map<PdfName, PdfFont> pageFonts) {
+        if (pageFonts.isEmpty()) {
+            return;
+        }
+        PdfDictionary resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+        if (resources == null) {
+            resources = new PdfDictionary();
+            page.getPdfObject().put(PdfName.Resources, resources);
+        }
+        PdfDictionary fonts = resources.getAsDictionary(PdfName.Font);
+        if (fonts == null) {
+            fonts = new PdfDictionary();
+            resources.put(PdfName.Font, fonts);
+        }
+        for (Map.Entry<PdfName, PdfFont> entry : pageFonts.entrySet()) {
+            fonts.put(entry.getKey(), entry.getValue().getPdfObject());
+        }
+    }
+
+    private static class LaidOutSection {
+        final PdfDocument document;
+        final Map<Integer, PdfFont> embeddedFonts;
+
+        LaidOutSection(PdfDocument document, Map<Integer, PdfFont> embeddedFonts) {
+            this.document = document;
+            this.embeddedFonts = embeddedFonts;
+        }
+    }
+
+    private static class SectionPdfDocument extends PdfDocument {
+        private static final long serialVersionUID = -3309251538419428475L;
+
+        SectionPdfDocument(PdfWriter writer) {
+            super(writer);
+        }
+
+        /**
+         * Gets the embedded fonts which could be replaced by a font of the target document.
+         *
+         * @return the fonts by the object numbers of their dictionaries
+         */
+        Map<Integer, PdfFont> getEmbeddedFonts() {
+            Map<Integer, PdfFont> fonts = new HashMap<>();
+            for (PdfFont font : getDocumentFonts()) {
+                boolean supported = font instanceof PdfType0Font || font instanceof PdfTrueTypeFont || font instanceof PdfType1Font;
+                PdfIndirectReference reference = font.getPdfObject().getIndirectReference();
+                if (supported && font.isEmbedded() && reference != null) {
+                    fonts.put(reference.getObjNumber(), font);
+                }
+            }
+            return fonts;
+        }
+    }
+
+    private class SectionTask implements Callable<LaidOutSection> {
+        private final ISectionWriter writer;
+        private final int sectionIndex;
+        private final boolean tagged;
+
+        SectionTask(ISectionWriter writer, int sectionIndex, boolean tagged) {
+            this.writer = writer;
+            this.sectionIndex = sectionIndex;
+            this.tagged = tagged;
+        }
+
+        @Override
+        public LaidOutSection call() throws IOException {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            SectionPdfDocument sectionDocument = new SectionPdfDocument(new PdfWriter(baos));
+            if (tagged) {
+                sectionDocument.setTagged();
+            }
+            Document document = new Document(sectionDocument, pageSize);
+            writer.writeSection(document, sectionIndex);
+            if (sectionDocument.getNumberOfPages() == 0) {
+                // nothing was added, there are no pages to append
+                sectionDocument.addNewPage();
+                document.close();
+                return null;
+            }
+            document.close();
+
+            // The section is parsed here, so that the calling thread only copies the already read objects
+            PdfDocument laidOutDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+            for (int i = 1; i < laidOutDocument.getNumberOfPdfObjects(); ++i) {
+                laidOutDocument.getPdfObject(i);
+            }
+            return new LaidOutSection(laidOutDocument, sectionDocument.getEmbeddedFonts());
+        }
+    }
+}
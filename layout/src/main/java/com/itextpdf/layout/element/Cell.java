@@ -48,6 +48,7 @@ import com.itextpdf.kernel.pdf.tagutils.DefaultAccessibilityProperties;
 import com.itextpdf.kernel.pdf.tagutils.AccessibilityProperties;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.property.IndexedPropertyMap;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.property.UnitValue;
 import com.itextpdf.layout.renderer.CellRenderer;
@@ -57,7 +58,6 @@ import org.slf4j.LoggerFactory;
 
 import com.itextpdf.io.util.MessageFormatUtil;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 
 /**
@@ -185,7 +185,7 @@ public class Cell extends BlockElement<Cell> {
         Cell newCell = new Cell(rowspan, colspan);
         newCell.row = row;
         newCell.col = col;
-        newCell.properties = new HashMap<>(properties);
+        newCell.properties = new IndexedPropertyMap(properties);
         if (null != styles) {
             newCell.styles = new LinkedHashSet<>(styles);
         }
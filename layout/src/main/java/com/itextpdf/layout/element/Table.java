@@ -58,6 +58,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -87,6 +88,9 @@ public class Table extends BlockElement<Table> implements ILargeElement {
     private int rowWindowStart = 0;
     private Document document;
     private Cell[] lastAddedRow;
+    // Bottom borders of lastAddedRow. They are requested several times per layout of a large table,
+    // so they are resolved once per flushed row window.
+    private List<Border> lastRowBottomBorder;
 
     /**
      * Constructs a {@code Table} with the preferable column widths.
@@ -714,7 +718,7 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         }
         document.add(this);
         if (row != null && rowNum != rows.size()) {
-            lastAddedRow = row;
+            setLastAddedRow(row);
         }
     }
 
@@ -729,18 +733,20 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         int firstRow = lastAddedRowGroups.get(0).startRow;
         int lastRow = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).finishRow;
 
-        List<IElement> toRemove = new ArrayList<>();
+        // Keep only the cells which have not been flushed yet. Rebuilding the list keeps the operation linear
+        // in the window size, which matters for tables flushed in large row windows.
+        List<IElement> remainingCells = new ArrayList<>(childElements.size());
         for (IElement cell : childElements) {
-            if (((Cell) cell).getRow() >= firstRow && ((Cell) cell).getRow() <= lastRow) {
-                toRemove.add(cell);
+            if (((Cell) cell).getRow() < firstRow || ((Cell) cell).getRow() > lastRow) {
+                remainingCells.add(cell);
             }
         }
-        childElements.removeAll(toRemove);
+        childElements.clear();
+        childElements.addAll(remainingCells);
 
-        for (int i = 0; i < lastRow - firstRow; i++) {
-            rows.remove(firstRow - rowWindowStart);
-        }
-        lastAddedRow = rows.remove(firstRow - rowWindowStart);
+        List<Cell[]> flushedRows = rows.subList(firstRow - rowWindowStart, lastRow - rowWindowStart + 1);
+        setLastAddedRow(flushedRows.get(flushedRows.size() - 1));
+        flushedRows.clear();
         rowWindowStart = lastAddedRowGroups.get(lastAddedRowGroups.size() - 1).getFinishRow() + 1;
 
         lastAddedRowGroups = null;
@@ -757,6 +763,9 @@ public class Table extends BlockElement<Table> implements ILargeElement {
      * @return an array of {@link Border} objects
      */
     public List<Border> getLastRowBottomBorder() {
+        if (lastRowBottomBorder != null) {
+            return lastRowBottomBorder;
+        }
         List<Border> horizontalBorder = new ArrayList<>();
         if (lastAddedRow != null) {
             for (int i = 0; i < lastAddedRow.length; i++) {
@@ -774,8 +783,9 @@ public class Table extends BlockElement<Table> implements ILargeElement {
                 horizontalBorder.add(border);
             }
         }
+        lastRowBottomBorder = Collections.unmodifiableList(horizontalBorder);
 
-        return horizontalBorder;
+        return lastRowBottomBorder;
     }
 
     public Table setExtendBottomRow(boolean isExtended) {
@@ -900,6 +910,11 @@ public class Table extends BlockElement<Table> implements ILargeElement {
         currentColumn = -1;
     }
 
+    private void setLastAddedRow(Cell[] row) {
+        lastAddedRow = row;
+        lastRowBottomBorder = null;
+    }
+
     private boolean cellBelongsToAnyRowGroup(Cell cell, List<RowRange> rowGroups) {
         return rowGroups != null && rowGroups.size() > 0 && cell.getRow() >= rowGroups.get(0).getStartRow()
                 && cell.getRow() <= rowGroups.get(rowGroups.size() - 1).getFinishRow();
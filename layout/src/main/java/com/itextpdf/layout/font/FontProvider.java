@@ -44,6 +44,7 @@ package com.itextpdf.layout.font;
 
 import com.itextpdf.io.font.FontCache;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
 import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
 import com.itextpdf.io.font.Type1Font;
@@ -65,6 +66,10 @@ import java.util.Map;
  * Contains reusable {@link FontSet} and collection of {@link PdfFont}s.
  * FontProvider depends from {@link PdfDocument}, due to {@link PdfFont}, it cannot be reused for different documents,
  * but a new instance of FontProvider could be created with {@link FontProvider#getFontSet()}.
+ * {@link FontSelector}s of FontProvider itself are cached in the {@link FontSet} and shared by all FontProviders
+ * created with it, so a new FontProvider per document does not need to sort the fonts again.
+ * Subclasses may override {@link #createFontSelector(Collection, List, FontCharacteristics)} with a per-instance state,
+ * so each instance of a subclass keeps its own cache.
  * FontProvider the only end point for creating {@link PdfFont}.
  * <p>
  * It is recommended to use only one {@link FontProvider} per document. If temporary fonts per element needed,
@@ -87,7 +92,9 @@ public class FontProvider {
     public FontProvider(FontSet fontSet) {
         this.fontSet = fontSet != null ? fontSet : new FontSet();
         pdfFonts = new HashMap<>();
-        fontSelectorCache = new FontSelectorCache(this.fontSet);
+        // only selectors created by FontProvider itself are known not to depend on the provider instance
+        fontSelectorCache = getClass() == FontProvider.class
+                ? this.fontSet.getSharedFontSelectorCache() : new FontSelectorCache(this.fontSet);
     }
 
     /**
@@ -137,7 +144,15 @@ public class FontProvider {
         return fontSet.addDirectory(dir);
     }
 
+    public int addDirectory(String dir, FontProgramDescriptorIndex descriptorIndex) {
+        return fontSet.addDirectory(dir, false, descriptorIndex);
+    }
+
     public int addSystemFonts() {
+        return addSystemFonts(null);
+    }
+
+    public int addSystemFonts(FontProgramDescriptorIndex descriptorIndex) {
         int count = 0;
         String[] withSubDirs = {
                 FileUtil.getFontsDir(),
@@ -148,7 +163,7 @@ public class FontProvider {
                 "/usr/X11R6/lib/X11/fonts"
         };
         for (String directory : withSubDirs) {
-            count += fontSet.addDirectory(directory, true);
+            count += fontSet.addDirectory(directory, true, descriptorIndex);
         }
 
         String[] withoutSubDirs = {
@@ -156,7 +171,7 @@ public class FontProvider {
                 "/System/Library/Fonts"
         };
         for (String directory : withoutSubDirs) {
-            count += fontSet.addDirectory(directory, false);
+            count += fontSet.addDirectory(directory, false, descriptorIndex);
         }
 
         return count;
@@ -42,90 +42,109 @@
  */
 package com.itextpdf.layout.font;
 
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe cache of {@link FontSelector}s.
+ * <p>
+ * The cache belongs to a {@link FontSet} and is shared by all {@link FontProvider}s of the same class
+ * which are created with that {@link FontSet}, so that font selection results are reused across documents and threads.
+ * Every entry is bound to the versions of the default and temporary {@link FontSet}s, thus adding a font
+ * to any of them makes corresponding selectors unreachable. The number of entries is bounded,
+ * outdated entries are removed first when the bound is reached.
+ */
 class FontSelectorCache {
 
-    private final FontSetSelectors defaultSelectors;
+    static final int DEFAULT_MAX_SIZE = 1000;
+
     private final FontSet defaultFontSet;
-    private final Map<Long, FontSetSelectors> caches = new HashMap<>();
+    private final int maxSize;
+    private final Map<CacheKey, FontSelector> selectors = new ConcurrentHashMap<>();
 
     FontSelectorCache(FontSet defaultFontSet) {
+        this(defaultFontSet, DEFAULT_MAX_SIZE);
+    }
+
+    FontSelectorCache(FontSet defaultFontSet, int maxSize) {
         assert defaultFontSet != null;
-        this.defaultSelectors = new FontSetSelectors();
-        this.defaultSelectors.update(defaultFontSet);
         this.defaultFontSet = defaultFontSet;
+        this.maxSize = maxSize;
     }
 
     FontSelector get(FontSelectorKey key) {
-        if (update(null, null)) {
-            return null;
-        } else {
-            return defaultSelectors.map.get(key);
-        }
+        return get(key, null);
     }
 
     FontSelector get(FontSelectorKey key, FontSet fontSet) {
-        if (fontSet == null) {
-            return get(key);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
-            }
-            if (update(selectors, fontSet)) {
-                return null;
-            } else {
-                return selectors.map.get(key);
-            }
-        }
+        return selectors.get(new CacheKey(key, defaultFontSet, fontSet));
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector) {
-        //update defaultSelectors to reset counter before pushing if needed.
-        update(null, null);
-        defaultSelectors.map.put(key, fontSelector);
+        put(key, fontSelector, null);
     }
 
     void put(FontSelectorKey key, FontSelector fontSelector, FontSet fontSet) {
-        if (fontSet == null) {
-            put(key, fontSelector);
-        } else {
-            FontSetSelectors selectors = caches.get(fontSet.getId());
-            if (selectors == null) {
-                caches.put(fontSet.getId(), selectors = new FontSetSelectors());
-            }
-            //update selectors and defaultSelectors to reset counter before pushing if needed.
-            update(selectors, fontSet);
-            selectors.map.put(key, fontSelector);
+        if (selectors.size() >= maxSize) {
+            evict();
         }
+        selectors.put(new CacheKey(key, defaultFontSet, fontSet), fontSelector);
+    }
+
+    int size() {
+        return selectors.size();
     }
 
-    private boolean update(FontSetSelectors selectors, FontSet fontSet) {
-        boolean updated = false;
-        if (defaultSelectors.update(defaultFontSet)) {
-            updated = true;
+    private void evict() {
+        long defaultFontSetVersion = defaultFontSet.getVersion();
+        for (Iterator<CacheKey> iterator = selectors.keySet().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().defaultFontSetVersion != defaultFontSetVersion) {
+                iterator.remove();
+            }
         }
-        if (selectors != null && selectors.update(fontSet)) {
-            updated = true;
+        // Selectors for temporary font sets can not be validated without the sets themselves,
+        // so if the cache is still full, a quarter of entries is dropped in iteration order.
+        int toRemove = selectors.size() - maxSize * 3 / 4;
+        for (Iterator<CacheKey> iterator = selectors.keySet().iterator(); toRemove > 0 && iterator.hasNext(); toRemove--) {
+            iterator.next();
+            iterator.remove();
         }
-        return updated;
     }
 
-    private static class FontSetSelectors {
-        final Map<FontSelectorKey, FontSelector> map = new HashMap<>();
-        private int fontSetSize = -1;
-
-        boolean update(FontSet fontSet) {
-            assert fontSet != null;
-            if (fontSetSize == fontSet.size()) {
-                return false;
-            } else {
-                map.clear();
-                fontSetSize = fontSet.size();
-                return true;
-            }
+    private static final class CacheKey {
+        private final FontSelectorKey selectorKey;
+        private final long defaultFontSetVersion;
+        private final long tempFontSetId;
+        private final long tempFontSetVersion;
+        private final int hash;
+
+        CacheKey(FontSelectorKey selectorKey, FontSet defaultFontSet, FontSet tempFontSet) {
+            this.selectorKey = selectorKey;
+            this.defaultFontSetVersion = defaultFontSet.getVersion();
+            this.tempFontSetId = tempFontSet != null ? tempFontSet.getId() : 0;
+            this.tempFontSetVersion = tempFontSet != null ? tempFontSet.getVersion() : 0;
+            int result = selectorKey.hashCode();
+            result = 31 * result + (int) (defaultFontSetVersion ^ (defaultFontSetVersion >>> 32));
+            result = 31 * result + (int) (tempFontSetId ^ (tempFontSetId >>> 32));
+            result = 31 * result + (int) (tempFontSetVersion ^ (tempFontSetVersion >>> 32));
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            CacheKey that = (CacheKey) o;
+            return defaultFontSetVersion == that.defaultFontSetVersion
+                    && tempFontSetId == that.tempFontSetId
+                    && tempFontSetVersion == that.tempFontSetVersion
+                    && selectorKey.equals(that.selectorKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 }
@@ -44,6 +44,7 @@ package com.itextpdf.layout.font;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramDescriptorIndex;
 import com.itextpdf.io.util.FileUtil;
 import com.itextpdf.kernel.font.Type3Font;
 import org.slf4j.Logger;
@@ -78,6 +79,10 @@ public final class FontSet {
     private final Set<FontInfo> fonts = new LinkedHashSet<>();
     private final Map<FontInfo, FontProgram> fontPrograms = new HashMap<>();
     private final long id;
+    // Version stamp of the set content. It is changed on every modification and used to validate FontSelectorCache.
+    private volatile long version;
+    // FontSelectorCache shared by all the plain FontProviders created with this set.
+    private volatile FontSelectorCache sharedFontSelectorCache;
 
     /**
      * Creates a new instance of {@link FontSet}.
@@ -94,6 +99,20 @@ public final class FontSet {
      * @return number of added fonts.
      */
     public int addDirectory(String dir, boolean scanSubdirectories) {
+        return addDirectory(dir, scanSubdirectories, null);
+    }
+
+    /**
+     * Add all the fonts in a directory and possibly its subdirectories.
+     * Font descriptors are taken from the given index, so that only new or changed font files are parsed.
+     * Note, the index is not saved by this method, use {@link FontProgramDescriptorIndex#save()}.
+     *
+     * @param dir                path to directory.
+     * @param scanSubdirectories recursively scan subdirectories if {@code true}.
+     * @param descriptorIndex    persistent index of font descriptors, may be {@code null}.
+     * @return number of added fonts.
+     */
+    public int addDirectory(String dir, boolean scanSubdirectories, FontProgramDescriptorIndex descriptorIndex) {
         int count = 0;
         String[] files = FileUtil.listFilesInDirectory(dir, scanSubdirectories);
         if (files == null)
@@ -104,11 +123,11 @@ public final class FontSet {
                 if (".afm".equals(suffix) || ".pfm".equals(suffix)) {
                     // Add only Type 1 fonts with matching .pfb files.
                     String pfb = file.substring(0, file.length() - 4) + ".pfb";
-                    if (FileUtil.fileExists(pfb) && addFont(file)) {
+                    if (FileUtil.fileExists(pfb) && addFont(FontInfo.create(file, null, null, null, descriptorIndex))) {
                         count++;
                     }
                 } else if ((".ttf".equals(suffix) || ".otf".equals(suffix) || ".ttc".equals(suffix))
-                        && addFont(file)) {
+                        && addFont(FontInfo.create(file, null, null, null, descriptorIndex))) {
                     count++;
                 }
             } catch (Exception ignored) {
@@ -361,9 +380,9 @@ public final class FontSet {
         // (Yes, FontSet is final. Double check.)
         if (fontInfo != null && !fonts.contains(fontInfo)) {
             // NOTE! We SHALL NOT replace font, because it will influence on FontSelectorCache.
-            // FontSelectorCache reset cache ONLY if number of fonts has been changed,
-            // while replacing will modify list of fonts without size change.
+            // FontSelectorCache entries are bound to the version of the set, which is changed only on addition.
             fonts.add(fontInfo);
+            version++;
             return true;
         }
         return false;
@@ -457,6 +476,21 @@ public final class FontSet {
         return id;
     }
 
+    long getVersion() {
+        return version;
+    }
+
+    FontSelectorCache getSharedFontSelectorCache() {
+        if (sharedFontSelectorCache == null) {
+            synchronized (this) {
+                if (sharedFontSelectorCache == null) {
+                    sharedFontSelectorCache = new FontSelectorCache(this);
+                }
+            }
+        }
+        return sharedFontSelectorCache;
+    }
+
     FontProgram getFontProgram(FontInfo fontInfo) {
         return fontPrograms.get(fontInfo);
     }
@@ -0,0 +1,388 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map of properties, which stores the values of the {@link Property} constants in a flat array
+ * indexed by the property key, along with a bitset of the keys which are present.
+ * Lookups of these keys neither hash nor box the key. Keys out of the range of the {@link Property}
+ * constants, e.g. custom properties of the add-ons, are stored in a regular hash map.
+ * <p>
+ * Like {@link HashMap}, this map permits null values. It is not thread-safe.
+ */
+public final class IndexedPropertyMap extends AbstractMap<Integer, Object> {
+
+    // All Property constants are less than this limit, see Property#MAX_INHERITED_PROPERTY_ID
+    private static final int DENSE_KEYS_LIMIT = 128;
+    private static final int MIN_DENSE_CAPACITY = 16;
+
+    private Object[] values;
+    private long presentKeysLow;
+    private long presentKeysHigh;
+    private int denseSize;
+    private Map<Integer, Object> sparseValues;
+
+    /**
+     * Creates an empty map.
+     */
+    public IndexedPropertyMap() {
+    }
+
+    /**
+     * Creates a map with the same mappings as the specified map.
+     *
+     * @param properties the map whose mappings are to be placed in this map
+     */
+    public IndexedPropertyMap(Map<Integer, Object> properties) {
+        putAll(properties);
+    }
+
+    /**
+     * Gets the value of a property from the specified map, without boxing the key if the map is
+     * an {@link IndexedPropertyMap}.
+     *
+     * @param properties the map to look the property up in
+     * @param property   the property key
+     * @return the value of the property, or null if there is no such property in the map
+     */
+    public static Object get(Map<Integer, Object> properties, int property) {
+        return properties instanceof IndexedPropertyMap ? ((IndexedPropertyMap) properties).get(property) : properties.get(property);
+    }
+
+    /**
+     * Checks whether the specified map contains a property, without boxing the key if the map is
+     * an {@link IndexedPropertyMap}.
+     *
+     * @param properties the map to look the property up in
+     * @param property   the property key
+     * @return true if the map contains the property, false otherwise
+     */
+    public static boolean containsKey(Map<Integer, Object> properties, int property) {
+        return properties instanceof IndexedPropertyMap ? ((IndexedPropertyMap) properties).containsKey(property) : properties.containsKey(property);
+    }
+
+    /**
+     * Gets the value of a property.
+     *
+     * @param property the property key
+     * @return the value of the property, or null if there is no such property in the map
+     */
+    public Object get(int property) {
+        if (isDenseKey(property)) {
+            return property < denseCapacity() ? values[property] : null;
+        }
+        return sparseValues != null ? sparseValues.get(property) : null;
+    }
+
+    /**
+     * Checks whether the map contains a property.
+     *
+     * @param property the property key
+     * @return true if the map contains the property, false otherwise
+     */
+    public boolean containsKey(int property) {
+        if (isDenseKey(property)) {
+            return isPresent(property);
+        }
+        return sparseValues != null && sparseValues.containsKey(property);
+    }
+
+    /**
+     * Removes a property from the map.
+     *
+     * @param property the property key
+     * @return the previous value of the property, or null if there was no such property in the map
+     */
+    public Object remove(int property) {
+        if (!isDenseKey(property)) {
+            return sparseValues != null ? sparseValues.remove(property) : null;
+        }
+        if (!isPresent(property)) {
+            return null;
+        }
+        Object previous = values[property];
+        values[property] = null;
+        setPresent(property, false);
+        denseSize--;
+        return previous;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return key instanceof Integer ? get((int) (Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey((int) (Integer) key);
+    }
+
+    @Override
+    public Object put(Integer key, Object value) {
+        return putProperty((int) key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return key instanceof Integer ? remove((int) (Integer) key) : null;
+    }
+
+    @Override
+    public void putAll(Map<? extends Integer, ?> properties) {
+        if (properties instanceof IndexedPropertyMap) {
+            IndexedPropertyMap other = (IndexedPropertyMap) properties;
+            if (other.denseSize != 0) {
+                ensureDenseCapacity(other.denseCapacity());
+                for (int i = 0; i < other.denseCapacity(); i++) {
+                    if (other.isPresent(i)) {
+                        putProperty(i, other.values[i]);
+                    }
+                }
+            }
+            if (other.sparseValues != null && !other.sparseValues.isEmpty()) {
+                if (sparseValues == null) {
+                    sparseValues = new HashMap<>();
+                }
+                sparseValues.putAll(other.sparseValues);
+            }
+        } else {
+            super.putAll(properties);
+        }
+    }
+
+    @Override
+    public int size() {
+        return denseSize + (sparseValues != null ? sparseValues.size() : 0);
+    }
+
+    @Override
+    public void clear() {
+        values = null;
+        presentKeysLow = 0;
+        presentKeysHigh = 0;
+        denseSize = 0;
+        sparseValues = null;
+    }
+
+    @Override
+    public Set<Entry<Integer, Object>> entrySet() {
+        return new EntrySet();
+    }
+
+    private Object putProperty(int property, Object value) {
+        if (!isDenseKey(property)) {
+            if (sparseValues == null) {
+                sparseValues = new HashMap<>();
+            }
+            return sparseValues.put(property, value);
+        }
+        ensureDenseCapacity(property + 1);
+        Object previous = values[property];
+        values[property] = value;
+        if (!isPresent(property)) {
+            setPresent(property, true);
+            denseSize++;
+        }
+        return previous;
+    }
+
+    private static boolean isDenseKey(int property) {
+        return property >= 0 && property < DENSE_KEYS_LIMIT;
+    }
+
+    private int denseCapacity() {
+        return values != null ? values.length : 0;
+    }
+
+    private boolean isPresent(int property) {
+        return property < 64 ? (presentKeysLow & (1L << property)) != 0 : (presentKeysHigh & (1L << (property - 64))) != 0;
+    }
+
+    private void setPresent(int property, boolean present) {
+        if (property < 64) {
+            presentKeysLow = present ? presentKeysLow | (1L << property) : presentKeysLow & ~(1L << property);
+        } else {
+            presentKeysHigh = present ? presentKeysHigh | (1L << (property - 64)) : presentKeysHigh & ~(1L << (property - 64));
+        }
+    }
+
+    private void ensureDenseCapacity(int capacity) {
+        if (capacity <= denseCapacity()) {
+            return;
+        }
+        int newCapacity = Math.max(MIN_DENSE_CAPACITY, denseCapacity());
+        while (newCapacity < capacity) {
+            newCapacity <<= 1;
+        }
+        Object[] newValues = new Object[Math.min(newCapacity, DENSE_KEYS_LIMIT)];
+        if (values != null) {
+            System.arraycopy(values, 0, newValues, 0, values.length);
+        }
+        values = newValues;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Integer, Object>> {
+        @Override
+        public Iterator<Entry<Integer, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return IndexedPropertyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            IndexedPropertyMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Integer, Object>> {
+        private int nextDenseKey = nextPresentKey(0);
+        private int lastDenseKey = -1;
+        private Iterator<Entry<Integer, Object>> sparseIterator;
+        private boolean lastFromSparse;
+
+        @Override
+        public boolean hasNext() {
+            return nextDenseKey < DENSE_KEYS_LIMIT || getSparseIterator().hasNext();
+        }
+
+        @Override
+        public Entry<Integer, Object> next() {
+            if (nextDenseKey < DENSE_KEYS_LIMIT) {
+                lastDenseKey = nextDenseKey;
+                lastFromSparse = false;
+                nextDenseKey = nextPresentKey(nextDenseKey + 1);
+                return new DenseEntry(lastDenseKey);
+            }
+            if (!getSparseIterator().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastFromSparse = true;
+            return sparseIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastFromSparse) {
+                sparseIterator.remove();
+            } else if (lastDenseKey >= 0) {
+                IndexedPropertyMap.this.remove(lastDenseKey);
+                lastDenseKey = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int nextPresentKey(int from) {
+            int key = from;
+            while (key < denseCapacity() && !isPresent(key)) {
+                key++;
+            }
+            return key < denseCapacity() ? key : DENSE_KEYS_LIMIT;
+        }
+
+        private Iterator<Entry<Integer, Object>> getSparseIterator() {
+            if (sparseIterator == null) {
+                Map<Integer, Object> sparse = sparseValues != null ? sparseValues : new HashMap<Integer, Object>();
+                sparseIterator = sparse.entrySet().iterator();
+            }
+            return sparseIterator;
+        }
+    }
+
+    private final class DenseEntry implements Entry<Integer, Object> {
+        private final int key;
+
+        DenseEntry(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public Integer getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return values[key];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            return putProperty(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Object value = getValue();
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
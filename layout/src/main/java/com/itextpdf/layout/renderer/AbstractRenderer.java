@@ -82,6 +82,7 @@ import com.itextpdf.layout.property.BaseDirection;
 import com.itextpdf.layout.property.BorderRadius;
 import com.itextpdf.layout.property.BoxSizingPropertyValue;
 import com.itextpdf.layout.property.HorizontalAlignment;
+import com.itextpdf.layout.property.IndexedPropertyMap;
 import com.itextpdf.layout.property.OverflowPropertyValue;
 import com.itextpdf.layout.property.Property;
 import com.itextpdf.layout.property.Transform;
@@ -93,9 +94,9 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Defines the most common properties and behavior that are shared by most
@@ -121,9 +122,20 @@ public abstract class AbstractRenderer implements IRenderer {
     protected boolean flushed = false;
     protected LayoutArea occupiedArea;
     protected IRenderer parent;
-    protected Map<Integer, Object> properties = new HashMap<>();
+    protected Map<Integer, Object> properties = new IndexedPropertyMap();
     protected boolean isLastRendererForModelElement = true;
 
+    // Identifies the layout pass running in the current thread, min/max widths are memoized only within a pass.
+    private static final ThreadLocal<Long> currentMinMaxWidthPass = new ThreadLocal<>();
+    private static final AtomicLong minMaxWidthPassesCount = new AtomicLong();
+
+    // Min/max width calculated by the last measurement of this renderer, reused until the renderer changes.
+    private MinMaxWidth memoizedMinMaxWidth;
+    private long memoizedMinMaxWidthPass;
+    // Set if this renderer or any of its descendants may hold a memoized min/max width.
+    private boolean minMaxWidthMemoizedInSubtree;
+    private int minMaxWidthMeasurementsCount;
+
     /**
      * Creates a renderer.
      */
@@ -155,6 +167,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public void addChild(IRenderer renderer) {
+        invalidateMinMaxWidth(false);
         // https://www.webkit.org/blog/116/webcore-rendering-iii-layout-basics
         // "The rules can be summarized as follows:"...
         Integer positioning = renderer.<Integer>getProperty(Property.POSITION);
@@ -240,7 +253,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public boolean hasOwnProperty(int property) {
-        return properties.containsKey(property);
+        return IndexedPropertyMap.containsKey(properties, property);
     }
 
     /**
@@ -260,6 +273,7 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public void deleteOwnProperty(int property) {
         properties.remove(property);
+        invalidateMinMaxWidth(Property.isPropertyInherited(property));
     }
 
     /**
@@ -269,8 +283,9 @@ public abstract class AbstractRenderer implements IRenderer {
      * @param property the property key to be deleted
      */
     public void deleteProperty(int property) {
-        if (properties.containsKey(property)) {
+        if (IndexedPropertyMap.containsKey(properties, property)) {
             properties.remove(property);
+            invalidateMinMaxWidth(Property.isPropertyInherited(property));
         } else {
             if (modelElement != null) {
                 modelElement.deleteOwnProperty(property);
@@ -284,7 +299,7 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public <T1> T1 getProperty(int key) {
         Object property;
-        if ((property = properties.get(key)) != null || properties.containsKey(key)) {
+        if ((property = IndexedPropertyMap.get(properties, key)) != null || IndexedPropertyMap.containsKey(properties, key)) {
             return (T1) property;
         }
         if (modelElement != null && ((property = modelElement.<T1>getProperty(key)) != null || modelElement.hasProperty(key))) {
@@ -306,7 +321,7 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public <T1> T1 getOwnProperty(int property) {
-        return (T1) properties.get(property);
+        return (T1) IndexedPropertyMap.get(properties, property);
     }
 
     /**
@@ -324,6 +339,7 @@ public abstract class AbstractRenderer implements IRenderer {
     @Override
     public void setProperty(int property, Object value) {
         properties.put(property, value);
+        invalidateMinMaxWidth(Property.isPropertyInherited(property));
     }
 
     /**
@@ -968,6 +984,10 @@ public abstract class AbstractRenderer implements IRenderer {
      */
     @Override
     public IRenderer setParent(IRenderer parent) {
+        if (this.parent != parent) {
+            // Inherited properties of the whole subtree may change together with the parent
+            invalidateMinMaxWidth(true);
+        }
         this.parent = parent;
         return this;
     }
@@ -1818,6 +1838,121 @@ public abstract class AbstractRenderer implements IRenderer {
         return MinMaxWidthUtils.countDefaultMinMaxWidth(this);
     }
 
+    /**
+     * Starts a layout pass in the current thread, unless one is already running. Min/max widths are memoized
+     * only within a pass, so that changes made to the renderers or to their layout elements between two passes
+     * never result in stale widths.
+     *
+     * @return true if a new pass was started, in which case it shall be ended with {@link #endMinMaxWidthPass()}
+     */
+    static boolean beginMinMaxWidthPass() {
+        if (currentMinMaxWidthPass.get() != null) {
+            return false;
+        }
+        currentMinMaxWidthPass.set(minMaxWidthPassesCount.incrementAndGet());
+        return true;
+    }
+
+    /**
+     * Ends the layout pass started by {@link #beginMinMaxWidthPass()}.
+     */
+    static void endMinMaxWidthPass() {
+        currentMinMaxWidthPass.remove();
+    }
+
+    /**
+     * Gets the min/max width memoized by the last measurement of this renderer in the current layout pass.
+     * The returned object is a copy, so it can be freely modified by the caller.
+     *
+     * @return the memoized {@link MinMaxWidth}, or null if the renderer has not been measured
+     * in the current pass since it was last changed
+     */
+    MinMaxWidth retrieveMemoizedMinMaxWidth() {
+        MinMaxWidth memoized = memoizedMinMaxWidth;
+        if (memoized == null) {
+            return null;
+        }
+        Long pass = currentMinMaxWidthPass.get();
+        return pass != null && pass == memoizedMinMaxWidthPass ? copyMinMaxWidth(memoized) : null;
+    }
+
+    /**
+     * Memoizes the result of a measurement of this renderer for the rest of the current layout pass.
+     * The memoized value is dropped as soon as the renderer, one of its descendants or an inherited property
+     * of one of its ancestors is changed, and also when the renderer is laid out. Nothing is memoized
+     * if no layout pass is running.
+     *
+     * @param minMaxWidth the measured {@link MinMaxWidth}
+     * @return the passed {@link MinMaxWidth}
+     */
+    MinMaxWidth memoizeMinMaxWidth(MinMaxWidth minMaxWidth) {
+        minMaxWidthMeasurementsCount++;
+        Long pass = currentMinMaxWidthPass.get();
+        if (pass == null) {
+            return minMaxWidth;
+        }
+        memoizedMinMaxWidth = copyMinMaxWidth(minMaxWidth);
+        memoizedMinMaxWidthPass = (long) pass;
+        AbstractRenderer renderer = this;
+        while (renderer != null && !renderer.minMaxWidthMemoizedInSubtree) {
+            renderer.minMaxWidthMemoizedInSubtree = true;
+            renderer = renderer.parent instanceof AbstractRenderer ? (AbstractRenderer) renderer.parent : null;
+        }
+        return minMaxWidth;
+    }
+
+    /**
+     * Drops the min/max width memoized for this very renderer. Is called when the renderer is laid out,
+     * since layout may change the renderer's children.
+     */
+    void resetMemoizedMinMaxWidth() {
+        memoizedMinMaxWidth = null;
+    }
+
+    /**
+     * Gets the number of times the min/max width of this renderer was actually calculated,
+     * i.e. was not taken from the memoized value.
+     *
+     * @return the number of measurements of this renderer
+     */
+    int getMinMaxWidthMeasurementsCount() {
+        return minMaxWidthMeasurementsCount;
+    }
+
+    void invalidateMinMaxWidth(boolean includeDescendants) {
+        if (includeDescendants) {
+            invalidateSubtreeMinMaxWidth();
+        }
+        AbstractRenderer renderer = this;
+        while (renderer != null) {
+            renderer.memoizedMinMaxWidth = null;
+            renderer = renderer.parent instanceof AbstractRenderer ? (AbstractRenderer) renderer.parent : null;
+        }
+    }
+
+    /**
+     * Drops the min/max widths memoized in the subtree of this renderer.
+     *
+     * @return false if nothing was memoized in the subtree
+     */
+    boolean invalidateSubtreeMinMaxWidth() {
+        if (!minMaxWidthMemoizedInSubtree) {
+            return false;
+        }
+        memoizedMinMaxWidth = null;
+        minMaxWidthMemoizedInSubtree = false;
+        for (IRenderer child : getChildRenderers()) {
+            if (child instanceof AbstractRenderer) {
+                ((AbstractRenderer) child).invalidateSubtreeMinMaxWidth();
+            }
+        }
+        return true;
+    }
+
+    private static MinMaxWidth copyMinMaxWidth(MinMaxWidth minMaxWidth) {
+        return new MinMaxWidth(minMaxWidth.getChildrenMinWidth(), minMaxWidth.getChildrenMaxWidth(), minMaxWidth.getAdditionalWidth());
+    }
+
     protected boolean setMinMaxWidthBasedOnFixedWidth(MinMaxWidth minMaxWidth) {
         // retrieve returns max width, if there is no width.
         if (hasAbsoluteUnitValue(Property.WIDTH)) {
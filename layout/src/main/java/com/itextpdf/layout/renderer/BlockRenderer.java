@@ -89,6 +89,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
     @Override
     public LayoutResult layout(LayoutContext layoutContext) {
         this.isLastRendererForModelElement = true;
+        resetMemoizedMinMaxWidth();
 
         Map<Integer, IRenderer> waitingFloatsSplitRenderers = new LinkedHashMap<>();
         List<IRenderer> waitingOverflowFloatRenderers = new ArrayList<>();
@@ -281,6 +282,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
                         }
                         childPos--;
                     }
+                    invalidateMinMaxWidth(false);
                     layoutBox = areas.get(++currentAreaPos).clone();
                     break;
                 } else {
@@ -310,6 +312,7 @@ public abstract class BlockRenderer extends AbstractRenderer {
                         } else {
                             childRenderers.set(childPos, result.getSplitRenderer());
                             childRenderers.add(childPos + 1, result.getOverflowRenderer());
+                            invalidateMinMaxWidth(false);
                             layoutBox = areas.get(++currentAreaPos).clone();
                             break;
                         }
@@ -866,6 +869,10 @@ public abstract class BlockRenderer extends AbstractRenderer {
 
     @Override
     protected MinMaxWidth getMinMaxWidth() {
+        MinMaxWidth memoizedMinMaxWidth = retrieveMemoizedMinMaxWidth();
+        if (memoizedMinMaxWidth != null) {
+            return memoizedMinMaxWidth;
+        }
         MinMaxWidth minMaxWidth = new MinMaxWidth(calculateAdditionalWidth(this));
         if (!setMinMaxWidthBasedOnFixedWidth(minMaxWidth)) {
             Float minWidth = hasAbsoluteUnitValue(Property.MIN_WIDTH) ? retrieveMinWidth(0) : null;
@@ -909,10 +916,10 @@ public abstract class BlockRenderer extends AbstractRenderer {
         }
 
         if (this.getPropertyAsFloat(Property.ROTATION_ANGLE) != null) {
-            return RotationUtils.countRotationMinMaxWidth(minMaxWidth, this);
+            return memoizeMinMaxWidth(RotationUtils.countRotationMinMaxWidth(minMaxWidth, this));
         }
 
-        return minMaxWidth;
+        return memoizeMinMaxWidth(minMaxWidth);
     }
 
     private AbstractRenderer[] createSplitAndOverflowRenderers(int childPos, int layoutStatus, LayoutResult childResult, Map<Integer, IRenderer> waitingFloatsSplitRenderers,
@@ -91,6 +91,17 @@ public class DocumentRenderer extends RootRenderer {
         return new DocumentRenderer(document, immediateFlush);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The layout checkpoints are supported by {@link DocumentRenderer} itself, but not by its subclasses,
+     * as they may keep a layout state of their own. Subclasses which do not can override this method.
+     */
+    @Override
+    protected boolean supportsLayoutCheckpoints() {
+        return getClass() == DocumentRenderer.class;
+    }
+
     protected LayoutArea updateCurrentArea(LayoutResult overflowResult) {
         flushWaitingDrawingElements();
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
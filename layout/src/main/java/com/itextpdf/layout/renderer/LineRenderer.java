@@ -1188,14 +1188,25 @@ public class LineRenderer extends AbstractRenderer {
      * While resolving TextRenderer may split into several ones with different fonts.
      */
     private void resolveChildrenFonts() {
-        List<IRenderer> newChildRenderers = new ArrayList<>(childRenderers.size());
+        // The children of an overflow line are usually resolved already, so the new list is only
+        // created when a TextRenderer is actually replaced, not once per laid out line.
+        List<IRenderer> newChildRenderers = null;
+        List<IRenderer> resolvedRenderers = new ArrayList<>(1);
         boolean updateChildRendrers = false;
-        for (IRenderer child : childRenderers) {
+        for (int i = 0; i < childRenderers.size(); i++) {
+            IRenderer child = childRenderers.get(i);
             if (child instanceof TextRenderer) {
-                if (((TextRenderer) child).resolveFonts(newChildRenderers)) {
-                    updateChildRendrers = true;
+                boolean replaced = ((TextRenderer) child).resolveFonts(resolvedRenderers);
+                updateChildRendrers = updateChildRendrers || replaced;
+                if (newChildRenderers == null && (replaced || resolvedRenderers.size() != 1 || resolvedRenderers.get(0) != child)) {
+                    newChildRenderers = new ArrayList<>(childRenderers.size());
+                    newChildRenderers.addAll(childRenderers.subList(0, i));
                 }
-            } else {
+                if (newChildRenderers != null) {
+                    newChildRenderers.addAll(resolvedRenderers);
+                }
+                resolvedRenderers.clear();
+            } else if (newChildRenderers != null) {
                 newChildRenderers.add(child);
             }
         }
@@ -254,6 +254,7 @@ public class ListItemRenderer extends DivRenderer {
                     paragraphRenderer.addChild(childRenderers.get(0));
                     childRenderers.set(0, paragraphRenderer);
                     symbolAddedInside = true;
+                    invalidateMinMaxWidth(false);
                 }
                 if (!symbolAddedInside) {
                     Paragraph p = new Paragraph();
@@ -266,6 +267,7 @@ public class ListItemRenderer extends DivRenderer {
                     paragraphRenderer.addChild(symbolRenderer);
                     childRenderers.add(0, paragraphRenderer);
                     symbolAddedInside = true;
+                    invalidateMinMaxWidth(false);
                 }
             }
         }
@@ -95,6 +95,7 @@ public class ParagraphRenderer extends BlockRenderer {
     @Override
 
     public LayoutResult layout(LayoutContext layoutContext) {
+        resetMemoizedMinMaxWidth();
         boolean wasHeightClipped = false;
         boolean wasParentsHeightClipped = layoutContext.isClippedHeight();
         int pageNumber = layoutContext.getArea().getPageNumber();
@@ -610,6 +611,10 @@ public class ParagraphRenderer extends BlockRenderer {
 
     @Override
     protected MinMaxWidth getMinMaxWidth() {
+        MinMaxWidth memoizedMinMaxWidth = retrieveMemoizedMinMaxWidth();
+        if (memoizedMinMaxWidth != null) {
+            return memoizedMinMaxWidth;
+        }
         MinMaxWidth minMaxWidth = new MinMaxWidth();
         Float rotation = this.getPropertyAsFloat(Property.ROTATION_ANGLE);
         if (!setMinMaxWidthBasedOnFixedWidth(minMaxWidth)) {
@@ -639,7 +644,7 @@ public class ParagraphRenderer extends BlockRenderer {
             minMaxWidth.setAdditionalWidth(calculateAdditionalWidth(this));
         }
 
-        return rotation != null ? RotationUtils.countRotationMinMaxWidth(minMaxWidth, this) : minMaxWidth;
+        return memoizeMinMaxWidth(rotation != null ? RotationUtils.countRotationMinMaxWidth(minMaxWidth, this) : minMaxWidth);
     }
 
     protected ParagraphRenderer[] split() {
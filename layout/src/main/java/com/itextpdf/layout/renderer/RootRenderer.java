@@ -78,6 +78,17 @@ public abstract class RootRenderer extends AbstractRenderer {
     private boolean floatOverflowedCompletely = false;
 
     public void addChild(IRenderer renderer) {
+        boolean minMaxWidthPassStarted = beginMinMaxWidthPass();
+        try {
+            layoutAddedChild(renderer);
+        } finally {
+            if (minMaxWidthPassStarted) {
+                endMinMaxWidthPass();
+            }
+        }
+    }
+
+    private void layoutAddedChild(IRenderer renderer) {
         LayoutTaggingHelper taggingHelper = this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER);
         if (taggingHelper != null) {
             LayoutTaggingHelper.addTreeHints(taggingHelper, renderer);
@@ -347,6 +358,67 @@ public abstract class RootRenderer extends AbstractRenderer {
         return currentArea;
     }
 
+    /**
+     * Saves the layout state of this renderer, so that the layout could be continued from this point later on,
+     * after the renderers of the subsequently added elements are thrown away.
+     * <p>
+     * The state can be saved only when nothing is pending between the elements: there are no floats on the
+     * current area, no renderers waiting for the next page or for the next element to be kept with.
+     * Margins collapsing and tagging are not supported, as their state spans over the elements.
+     *
+     * @return the saved layout state, or null if the state of this renderer cannot be saved at the moment
+     * @see #restoreLayoutCheckpoint(LayoutCheckpoint)
+     */
+    public LayoutCheckpoint createLayoutCheckpoint() {
+        if (immediateFlush || !supportsLayoutCheckpoints() || currentArea == null || initialCurrentArea == null
+                || keepWithNextHangingRenderer != null || !waitingNextPageRenderers.isEmpty() || floatOverflowedCompletely
+                || (floatRendererAreas != null && !floatRendererAreas.isEmpty()) || !waitingDrawingElements.isEmpty()
+                || Boolean.TRUE.equals(getPropertyAsBoolean(Property.COLLAPSING_MARGINS))
+                || this.<LayoutTaggingHelper>getProperty(Property.TAGGING_HELPER) != null) {
+            return null;
+        }
+        return new LayoutCheckpoint(this, (RootLayoutArea) currentArea.clone(), initialCurrentArea.clone(), currentPageNumber,
+                childRenderers.size(), positionedRenderers.size());
+    }
+
+    /**
+     * Restores the layout state saved by {@link #createLayoutCheckpoint()}. The child renderers which were
+     * added after the state had been saved are removed, and the layout continues from the saved area.
+     *
+     * @param checkpoint the layout state saved by this renderer
+     * @return true if the state has been restored, false if the checkpoint does not belong to this renderer
+     * or the renderers placed before it have already been flushed
+     */
+    public boolean restoreLayoutCheckpoint(LayoutCheckpoint checkpoint) {
+        if (checkpoint.renderer != this || childRenderers.size() < checkpoint.childRenderersCount
+                || positionedRenderers.size() < checkpoint.positionedRenderersCount) {
+            return false;
+        }
+        childRenderers.subList(checkpoint.childRenderersCount, childRenderers.size()).clear();
+        positionedRenderers.subList(checkpoint.positionedRenderersCount, positionedRenderers.size()).clear();
+        currentArea = (RootLayoutArea) checkpoint.currentArea.clone();
+        initialCurrentArea = checkpoint.initialCurrentArea.clone();
+        currentPageNumber = checkpoint.pageNumber;
+        floatRendererAreas = new ArrayList<>();
+        keepWithNextHangingRenderer = null;
+        keepWithNextHangingRendererLayoutResult = null;
+        waitingNextPageRenderers.clear();
+        floatOverflowedCompletely = false;
+        waitingDrawingElements.clear();
+        return true;
+    }
+
+    /**
+     * Defines whether the layout state of this renderer can be saved with {@link #createLayoutCheckpoint()}.
+     * Subclasses which keep a layout state of their own should not support it, unless they save and restore
+     * that state as well.
+     *
+     * @return true if the layout checkpoints are supported, false otherwise
+     */
+    protected boolean supportsLayoutCheckpoints() {
+        return false;
+    }
+
     protected abstract void flushSingleRenderer(IRenderer resultRenderer);
 
     protected abstract LayoutArea updateCurrentArea(LayoutResult overflowResult);
@@ -484,4 +556,37 @@ public abstract class RootRenderer extends AbstractRenderer {
             addChild(renderer);
         }
     }
+
+    /**
+     * The layout state of a {@link RootRenderer} between two of its child elements.
+     *
+     * @see RootRenderer#createLayoutCheckpoint()
+     */
+    public static final class LayoutCheckpoint {
+        private final RootRenderer renderer;
+        private final RootLayoutArea currentArea;
+        private final LayoutArea initialCurrentArea;
+        private final int pageNumber;
+        private final int childRenderersCount;
+        private final int positionedRenderersCount;
+
+        private LayoutCheckpoint(RootRenderer renderer, RootLayoutArea currentArea, LayoutArea initialCurrentArea, int pageNumber,
+                                 int childRenderersCount, int positionedRenderersCount) {
+            this.renderer = renderer;
+            this.currentArea = currentArea;
+            this.initialCurrentArea = initialCurrentArea;
+            this.pageNumber = pageNumber;
+            this.childRenderersCount = childRenderersCount;
+            this.positionedRenderersCount = positionedRenderersCount;
+        }
+
+        /**
+         * Gets the number of the page on which the layout continues from this checkpoint.
+         *
+         * @return the page number
+         */
+        public int getPageNumber() {
+            return pageNumber;
+        }
+    }
 }
@@ -129,6 +129,7 @@ public class TableRenderer extends AbstractRenderer {
      */
     @Override
     public void addChild(IRenderer renderer) {
+        invalidateMinMaxWidth(false);
         if (renderer instanceof CellRenderer) {
             // In case rowspan or colspan save cell into bottom left corner.
             // In in this case it will be easier handle row heights in case rowspan.
@@ -246,6 +247,7 @@ public class TableRenderer extends AbstractRenderer {
      */
     @Override
     public LayoutResult layout(LayoutContext layoutContext) {
+        resetMemoizedMinMaxWidth();
         Float blockMinHeight = retrieveMinHeight();
         Float blockMaxHeight = retrieveMaxHeight();
 
@@ -1287,7 +1289,13 @@ public class TableRenderer extends AbstractRenderer {
 
     @Override
     protected MinMaxWidth getMinMaxWidth() {
+        MinMaxWidth memoizedMinMaxWidth = retrieveMemoizedMinMaxWidth();
         initializeTableLayoutBorders();
+        if (memoizedMinMaxWidth != null) {
+            // borders initialization also corrects the row range of the renderer, so it is not skipped
+            cleanTableLayoutBorders();
+            return memoizedMinMaxWidth;
+        }
         float rightMaxBorder = bordersHandler.getRightBorderMaxWidth();
         float leftMaxBorder = bordersHandler.getLeftBorderMaxWidth();
         TableWidths tableWidths = new TableWidths(this, MinMaxWidthUtils.getInfWidth(), true, rightMaxBorder, leftMaxBorder);
@@ -1310,7 +1318,23 @@ public class TableRenderer extends AbstractRenderer {
             logger.error(MessageFormatUtil.format(LogMessageConstant.PROPERTY_IN_PERCENTS_NOT_SUPPORTED, Property.MARGIN_LEFT));
         }
         float additionalWidth = marginLefttUV.getValue() + marginRightUV.getValue() + rightMaxBorder / 2 + leftMaxBorder / 2;
-        return new MinMaxWidth(minWidth, maxColTotalWidth, additionalWidth);
+        return memoizeMinMaxWidth(new MinMaxWidth(minWidth, maxColTotalWidth, additionalWidth));
+    }
+
+    @Override
+    boolean invalidateSubtreeMinMaxWidth() {
+        if (!super.invalidateSubtreeMinMaxWidth()) {
+            return false;
+        }
+        // cells are not added to the child renderers until the table is laid out
+        for (CellRenderer[] row : rows) {
+            for (CellRenderer cell : row) {
+                if (cell != null) {
+                    cell.invalidateSubtreeMinMaxWidth();
+                }
+            }
+        }
+        return true;
     }
 
     /**
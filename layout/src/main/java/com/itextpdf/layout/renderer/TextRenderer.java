@@ -124,6 +124,9 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
 
     protected GlyphLine savedWordBreakAtLineEnding;
 
+    // Special whitespaces of the glyph list behind the text are replaced once and not rescanned by the overflow renderers
+    private boolean specialWhitespaceGlyphsReplaced = false;
+
     /**
      * Creates a TextRenderer from its corresponding layout object.
      *
@@ -155,14 +158,16 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         this.otfFeaturesApplied = other.otfFeaturesApplied;
         this.tabAnchorCharacterPosition = other.tabAnchorCharacterPosition;
         this.reversedRanges = other.reversedRanges;
+        this.specialWhitespaceGlyphsReplaced = other.specialWhitespaceGlyphsReplaced;
     }
 
     @Override
     public LayoutResult layout(LayoutContext layoutContext) {
         updateFontAndText();
-        if (null != text) {
+        if (null != text && !specialWhitespaceGlyphsReplaced) {
             // if text != null => font != null
             text = replaceSpecialWhitespaceGlyphs(text, font);
+            specialWhitespaceGlyphsReplaced = true;
         }
 
         LayoutArea area = layoutContext.getArea();
@@ -409,11 +414,15 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                                 String word = text.toUnicodeString(wordBounds[0], wordBounds[1]);
                                 Hyphenation hyph = hyphenationConfig.hyphenate(word);
                                 if (hyph != null) {
+                                    // the text before the word is the same for all the hyphenation choices, so it is measured once
+                                    GlyphLine textBeforeWord = convertToGlyphLine(text.toUnicodeString(currentTextPos, wordBounds[0]));
+                                    float textBeforeWordWidth = addGlyphLineWidth(0, null, textBeforeWord, fontSize.getValue(), hScale, characterSpacing, wordSpacing);
+                                    Glyph lastGlyphBeforeWord = textBeforeWord.end > textBeforeWord.start ? textBeforeWord.get(textBeforeWord.end - 1) : null;
                                     for (int i = hyph.length() - 1; i >= 0; i--) {
                                         String pre = hyph.getPreHyphenText(i);
                                         String pos = hyph.getPostHyphenText(i);
                                         float currentHyphenationChoicePreTextWidth =
-                                                getGlyphLineWidth(convertToGlyphLine(text.toUnicodeString(currentTextPos, wordBounds[0]) + pre + hyphenationConfig.getHyphenSymbol()), fontSize.getValue(), hScale, characterSpacing, wordSpacing);
+                                                addGlyphLineWidth(textBeforeWordWidth, lastGlyphBeforeWord, convertToGlyphLine(pre + hyphenationConfig.getHyphenSymbol()), fontSize.getValue(), hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
                                         if (currentLineWidth + currentHyphenationChoicePreTextWidth + italicSkewAddition + boldSimulationAddition <= layoutBox.getWidth()) {
                                             hyphenationApplied = true;
 
@@ -558,7 +567,27 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         updateFontAndText();
         Character.UnicodeScript script = this.<Character.UnicodeScript>getProperty(Property.FONT_SCRIPT);
         if (!otfFeaturesApplied && TypographyUtils.isTypographyModuleInitialized() && text.start < text.end) {
-            if (hasOtfFont()) {
+            specialWhitespaceGlyphsReplaced = false;
+            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
+            boolean otfFont = hasOtfFont();
+            TextShapingCache shapingCache = null;
+            TextShapingCache.Key shapingKey = null;
+            if ((otfFont || fontKerning == FontKerning.YES) && TextShapingCache.isCacheable(text)) {
+                shapingCache = TextShapingCache.getCache(font.getFontProgram());
+                shapingKey = new TextShapingCache.Key(text, script, this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG),
+                        otfFont, fontKerning == FontKerning.YES);
+                TextShapingCache.Result shapingResult = shapingCache.get(shapingKey);
+                if (shapingResult != null) {
+                    text.replaceContent(shapingResult.getShapedText());
+                    if (shapingResult.isRtlScriptShaped() && parent instanceof LineRenderer) {
+                        setProperty(Property.BASE_DIRECTION, BaseDirection.DEFAULT_BIDI);
+                    }
+                    otfFeaturesApplied = true;
+                    return;
+                }
+            }
+            boolean rtlScriptShaped = false;
+            if (otfFont) {
                 Object typographyConfig = this.<Object>getProperty(Property.TYPOGRAPHY_CONFIG);
                 Collection<Character.UnicodeScript> supportedScripts = null;
         	    if (typographyConfig != null) {
@@ -607,7 +636,9 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                     text.start = shapingRangeStart;
                     text.end = scriptsRange.rangeEnd;
 
-                    if ((scriptsRange.script == Character.UnicodeScript.ARABIC || scriptsRange.script == Character.UnicodeScript.HEBREW) && parent instanceof LineRenderer) {
+                    boolean rtlScript = scriptsRange.script == Character.UnicodeScript.ARABIC || scriptsRange.script == Character.UnicodeScript.HEBREW;
+                    rtlScriptShaped = rtlScriptShaped || rtlScript;
+                    if (rtlScript && parent instanceof LineRenderer) {
                         // It's safe to set here BASE_DIRECTION to TextRenderer without additional checks, because
                         // by convention this property makes sense only if it's applied to LineRenderer or it's
                         // parents (Paragraph or above).
@@ -624,11 +655,13 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
                 text.end = origTextEnd + delta;
             }
 
-            FontKerning fontKerning = (FontKerning) this.<FontKerning>getProperty(Property.FONT_KERNING, FontKerning.NO);
             if (fontKerning == FontKerning.YES) {
                 TypographyUtils.applyKerning(font.getFontProgram(), text);
             }
 
+            if (shapingKey != null) {
+                shapingCache.put(shapingKey, new TextShapingCache.Result(text, rtlScriptShaped));
+            }
             otfFeaturesApplied = true;
         }
     }
@@ -986,6 +1019,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         this.text.start = leftPos;
         this.text.end = rightPos;
         this.otfFeaturesApplied = false;
+        this.specialWhitespaceGlyphsReplaced = false;
     }
 
     public GlyphLine getText() {
@@ -1139,6 +1173,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         splitRenderer.parent = parent;
         splitRenderer.yLineOffset = yLineOffset;
         splitRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        splitRenderer.specialWhitespaceGlyphsReplaced = specialWhitespaceGlyphsReplaced;
         splitRenderer.isLastRendererForModelElement = false;
         splitRenderer.addAllProperties(getOwnProperties());
 
@@ -1146,6 +1181,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         overflowRenderer.setText(text, initialOverflowTextPos, text.end);
         overflowRenderer.font = font;
         overflowRenderer.otfFeaturesApplied = otfFeaturesApplied;
+        overflowRenderer.specialWhitespaceGlyphsReplaced = specialWhitespaceGlyphsReplaced;
         overflowRenderer.parent = parent;
         overflowRenderer.addAllProperties(getOwnProperties());
 
@@ -1227,6 +1263,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
         this.text = gl;
         this.font = font;
         this.otfFeaturesApplied = false;
+        this.specialWhitespaceGlyphsReplaced = false;
         this.strToBeConverted = null;
         setProperty(Property.FONT, font);
     }
@@ -1312,16 +1349,28 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
     }
 
     private float getGlyphLineWidth(GlyphLine glyphLine, float fontSize, float hScale, Float characterSpacing, Float wordSpacing) {
-        float width = 0;
+        return addGlyphLineWidth(0, null, glyphLine, fontSize, hScale, characterSpacing, wordSpacing) / TEXT_SPACE_COEFF;
+    }
+
+    /**
+     * Continues measuring of a text with the glyphs of the given line. The result is the same as if the line
+     * were appended to the already measured glyphs and the whole text were measured anew.
+     *
+     * @param width         the width of the already measured glyphs, in text space units
+     * @param previousGlyph the last already measured glyph, or null if nothing was measured yet
+     * @return the width of the already measured glyphs and the glyph line, in text space units
+     */
+    private float addGlyphLineWidth(float width, Glyph previousGlyph, GlyphLine glyphLine, float fontSize, float hScale, Float characterSpacing, Float wordSpacing) {
         for (int i = glyphLine.start; i < glyphLine.end; i++) {
             if (!noPrint(glyphLine.get(i))) {
                 float charWidth = getCharWidth(glyphLine.get(i), fontSize, hScale, characterSpacing, wordSpacing);
                 width += charWidth;
-                float xAdvance = (i != glyphLine.start) ? scaleXAdvance(glyphLine.get(i - 1).getXAdvance(), fontSize, hScale) : 0;
+                Glyph glyphBefore = (i != glyphLine.start) ? glyphLine.get(i - 1) : previousGlyph;
+                float xAdvance = glyphBefore != null ? scaleXAdvance(glyphBefore.getXAdvance(), fontSize, hScale) : 0;
                 width += xAdvance;
             }
         }
-        return width / TEXT_SPACE_COEFF;
+        return width;
     }
 
     private int[] getWordBoundsForHyphenation(GlyphLine text, int leftTextPos, int rightTextPos, int wordMiddleCharPos) {
@@ -1362,6 +1411,7 @@ public class TextRenderer extends AbstractRenderer implements ILeafElementRender
             }
             text = convertToGlyphLine(strToBeConverted);
             otfFeaturesApplied = false;
+            specialWhitespaceGlyphsReplaced = false;
             strToBeConverted = null;
         }
     }
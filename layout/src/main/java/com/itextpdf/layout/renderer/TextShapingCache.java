@@ -0,0 +1,182 @@
+/*
+
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: Bruno Lowagie, Paulo Soares, et al.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded cache of OpenType shaping results per {@link FontProgram}.
+ * <p>
+ * Shaping depends only on the font program, the glyphs of the text and shaping options, so the result
+ * for a repeated short text (e.g. a currency, a date or a column label in a big table) can be reused
+ * by all renderers and documents which use the same font program.
+ * Cached glyph lines are copied both on saving and on fetching, because glyphs can be modified after shaping.
+ */
+final class TextShapingCache {
+
+    static final int MAX_ENTRIES_PER_FONT = 512;
+    static final int MAX_TEXT_LENGTH = 64;
+
+    private static final Map<FontProgram, TextShapingCache> caches =
+            Collections.synchronizedMap(new WeakHashMap<FontProgram, TextShapingCache>());
+
+    private final Map<Key, Result> results = new LinkedHashMap<Key, Result>(16, 0.75f, true) {
+        private static final long serialVersionUID = 4633294393046380271L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+            return size() > MAX_ENTRIES_PER_FONT;
+        }
+    };
+
+    private TextShapingCache() {
+    }
+
+    static TextShapingCache getCache(FontProgram fontProgram) {
+        synchronized (caches) {
+            TextShapingCache cache = caches.get(fontProgram);
+            if (cache == null) {
+                cache = new TextShapingCache();
+                caches.put(fontProgram, cache);
+            }
+            return cache;
+        }
+    }
+
+    static boolean isCacheable(GlyphLine text) {
+        return text.start == 0 && text.end == text.size() && text.size() <= MAX_TEXT_LENGTH;
+    }
+
+    synchronized Result get(Key key) {
+        return results.get(key);
+    }
+
+    synchronized void put(Key key, Result result) {
+        results.put(key, result);
+    }
+
+    synchronized int size() {
+        return results.size();
+    }
+
+    static final class Key {
+        private final int[] glyphs;
+        private final Character.UnicodeScript script;
+        private final Object typographyConfig;
+        private final boolean applyOtf;
+        private final boolean applyKerning;
+        private final int hash;
+
+        Key(GlyphLine text, Character.UnicodeScript script, Object typographyConfig, boolean applyOtf, boolean applyKerning) {
+            glyphs = new int[(text.end - text.start) * 2];
+            for (int i = text.start; i < text.end; i++) {
+                Glyph glyph = text.get(i);
+                glyphs[(i - text.start) * 2] = glyph.getCode();
+                glyphs[(i - text.start) * 2 + 1] = glyph.getUnicode();
+            }
+            this.script = script;
+            this.typographyConfig = typographyConfig;
+            this.applyOtf = applyOtf;
+            this.applyKerning = applyKerning;
+            int result = Arrays.hashCode(glyphs);
+            result = 31 * result + (script != null ? script.hashCode() : 0);
+            result = 31 * result + (typographyConfig != null ? typographyConfig.hashCode() : 0);
+            result = 31 * result + (applyOtf ? 1 : 0);
+            result = 31 * result + (applyKerning ? 1 : 0);
+            hash = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return hash == that.hash
+                    && applyOtf == that.applyOtf
+                    && applyKerning == that.applyKerning
+                    && script == that.script
+                    && (typographyConfig != null ? typographyConfig.equals(that.typographyConfig) : that.typographyConfig == null)
+                    && Arrays.equals(glyphs, that.glyphs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    static final class Result {
+        private final GlyphLine shapedText;
+        private final boolean rtlScriptShaped;
+
+        Result(GlyphLine shapedText, boolean rtlScriptShaped) {
+            this.shapedText = copyGlyphLine(shapedText);
+            this.rtlScriptShaped = rtlScriptShaped;
+        }
+
+        GlyphLine getShapedText() {
+            return copyGlyphLine(shapedText);
+        }
+
+        boolean isRtlScriptShaped() {
+            return rtlScriptShaped;
+        }
+
+        private static GlyphLine copyGlyphLine(GlyphLine text) {
+            GlyphLine copy = text.copy(text.start, text.end);
+            for (int i = 0; i < copy.size(); i++) {
+                copy.set(i, new Glyph(copy.get(i)));
+            }
+            return copy;
+        }
+    }
+}
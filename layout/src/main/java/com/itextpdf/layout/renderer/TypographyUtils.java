@@ -51,16 +51,12 @@ import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.layout.property.BaseDirection;
 import com.itextpdf.layout.property.Property;
 
-import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import com.itextpdf.io.util.MessageFormatUtil;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,8 +87,18 @@ final class TypographyUtils {
     private static final Collection<Character.UnicodeScript> SUPPORTED_SCRIPTS;
     private static final boolean TYPOGRAPHY_MODULE_INITIALIZED;
 
-    private static Map<String, Class<?>> cachedClasses = new HashMap<>();
-    private static Map<TypographyMethodSignature, AccessibleObject> cachedMethods = new HashMap<>();
+    // Methods of the typography module are resolved once, so that calls do not look them up each time.
+    private static final Method shaperApplyOtfScript;
+    private static final Method shaperApplyKerning;
+    private static final Method shaperGetSupportedScripts;
+    private static final Method bidiCharacterMapGetCharacterTypes;
+    private static final Method bidiBracketMapGetBracketTypes;
+    private static final Method bidiBracketMapGetBracketValues;
+    private static final Method bidiBracketMapGetPairedBracket;
+    private static final Method bidiAlgorithmGetLevels;
+    private static final Method bidiAlgorithmComputeReordering;
+    private static final Method bidiAlgorithmInverseReordering;
+    private static final Constructor<?> bidiAlgorithmConstructor;
 
     private static final String typographyNotFoundException = "Cannot find pdfCalligraph module, which was implicitly required by one of the layout properties";
 
@@ -108,26 +114,46 @@ final class TypographyUtils {
         Collection<Character.UnicodeScript> supportedScripts = null;
         if (moduleFound) {
             try {
-                supportedScripts = (Collection<Character.UnicodeScript>) callMethod(TYPOGRAPHY_PACKAGE + SHAPER, GET_SUPPORTED_SCRIPTS, new Class[]{});
+                Method getSupportedScripts = findMethod(TYPOGRAPHY_PACKAGE + SHAPER, GET_SUPPORTED_SCRIPTS, new Class[]{});
+                supportedScripts = (Collection<Character.UnicodeScript>) getSupportedScripts.invoke(null);
             } catch (Exception e) {
                 supportedScripts = null;
                 logger.error(e.getMessage());
             }
         }
         moduleFound = supportedScripts != null;
-        if (!moduleFound) {
-            cachedClasses.clear();
-            cachedMethods.clear();
-        }
         TYPOGRAPHY_MODULE_INITIALIZED = moduleFound;
         SUPPORTED_SCRIPTS = supportedScripts;
+
+        shaperApplyOtfScript = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + SHAPER, APPLY_OTF_SCRIPT,
+                new Class[]{TrueTypeFont.class, GlyphLine.class, Character.UnicodeScript.class, Object.class});
+        shaperApplyKerning = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + SHAPER, APPLY_KERNING,
+                new Class[]{FontProgram.class, GlyphLine.class});
+        shaperGetSupportedScripts = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + SHAPER, GET_SUPPORTED_SCRIPTS,
+                new Class[]{Object.class});
+        bidiCharacterMapGetCharacterTypes = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_CHARACTER_MAP, GET_CHARACTER_TYPES,
+                new Class[]{int[].class, int.class, int.class});
+        bidiBracketMapGetBracketTypes = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_BRACKET_TYPES,
+                new Class[]{int[].class, int.class, int.class});
+        bidiBracketMapGetBracketValues = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_BRACKET_VALUES,
+                new Class[]{int[].class, int.class, int.class});
+        bidiBracketMapGetPairedBracket = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_PAIRED_BRACKET,
+                new Class[]{int.class});
+        bidiAlgorithmGetLevels = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, GET_LEVELS,
+                new Class[]{int[].class});
+        bidiAlgorithmComputeReordering = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, COMPUTE_REORDERING,
+                new Class[]{byte[].class});
+        bidiAlgorithmInverseReordering = resolveMethod(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, INVERSE_REORDERING,
+                new Class[]{int[].class});
+        bidiAlgorithmConstructor = resolveConstructor(moduleFound, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM,
+                new Class[]{byte[].class, byte[].class, int[].class, byte.class});
     }
 
     static void applyOtfScript(FontProgram fontProgram, GlyphLine text, Character.UnicodeScript script, Object typographyConfig) {
         if (!TYPOGRAPHY_MODULE_INITIALIZED) {
             logger.warn(typographyNotFoundException);
         } else {
-            callMethod(TYPOGRAPHY_PACKAGE + SHAPER, APPLY_OTF_SCRIPT, new Class[]{TrueTypeFont.class, GlyphLine.class, Character.UnicodeScript.class, Object.class},
+            callMethod(shaperApplyOtfScript, TYPOGRAPHY_PACKAGE + SHAPER, APPLY_OTF_SCRIPT, null,
                     fontProgram, text, script, typographyConfig);
         }
     }
@@ -136,7 +162,7 @@ final class TypographyUtils {
         if (!TYPOGRAPHY_MODULE_INITIALIZED) {
             logger.warn(typographyNotFoundException);
         } else {
-            callMethod(TYPOGRAPHY_PACKAGE + SHAPER, APPLY_KERNING, new Class[]{FontProgram.class, GlyphLine.class},
+            callMethod(shaperApplyKerning, TYPOGRAPHY_PACKAGE + SHAPER, APPLY_KERNING, null,
                     fontProgram, text);
 //            Shaper.applyKerning(fontProgram, text);
         }
@@ -161,19 +187,19 @@ final class TypographyUtils {
             }
 
             int len = unicodeIds.length;
-            byte[] types = (byte[]) callMethod(TYPOGRAPHY_PACKAGE + BIDI_CHARACTER_MAP, GET_CHARACTER_TYPES, new Class[]{int[].class, int.class, int.class},
+            byte[] types = (byte[]) callMethod(bidiCharacterMapGetCharacterTypes, TYPOGRAPHY_PACKAGE + BIDI_CHARACTER_MAP, GET_CHARACTER_TYPES, null,
                     unicodeIds, 0, len);
 //            byte[] types = BidiCharacterMap.getCharacterTypes(unicodeIds, 0, len);
-            byte[] pairTypes = (byte[]) callMethod(TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_BRACKET_TYPES, new Class[]{int[].class, int.class, int.class},
+            byte[] pairTypes = (byte[]) callMethod(bidiBracketMapGetBracketTypes, TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_BRACKET_TYPES, null,
                     unicodeIds, 0, len);
 //            byte[] pairTypes = BidiBracketMap.getBracketTypes(unicodeIds, 0, len);
-            int[] pairValues = (int[]) callMethod(TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_BRACKET_VALUES, new Class[]{int[].class, int.class, int.class},
+            int[] pairValues = (int[]) callMethod(bidiBracketMapGetBracketValues, TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_BRACKET_VALUES, null,
                     unicodeIds, 0, len);
 //            int[] pairValues = BidiBracketMap.getBracketValues(unicodeIds, 0, len);
-            Object bidiReorder = callConstructor(TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, new Class[]{byte[].class, byte[].class, int[].class, byte.class},
+            Object bidiReorder = callConstructor(bidiAlgorithmConstructor, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM,
                     types, pairTypes, pairValues, direction);
 //            BidiAlgorithm bidiReorder = new BidiAlgorithm(types, pairTypes, pairValues, direction);
-            return (byte[]) callMethod(TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, GET_LEVELS, bidiReorder, new Class[]{int[].class},
+            return (byte[]) callMethod(bidiAlgorithmGetLevels, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, GET_LEVELS, bidiReorder,
                     new int[]{len});
 //            return bidiReorder.getLevels(new int[]{len});
         }
@@ -187,10 +213,11 @@ final class TypographyUtils {
             if (levels == null) {
                 return null;
             }
-            int[] reorder = (int[]) callMethod(TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, COMPUTE_REORDERING, new Class[]{byte[].class},
+            int[] reorder = (int[]) callMethod(bidiAlgorithmComputeReordering, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, COMPUTE_REORDERING, null,
                     lineLevels);
 //            int[] reorder = BidiAlgorithm.computeReordering(lineLevels);
-            int[] inverseReorder = (int[]) callMethod(TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, INVERSE_REORDERING, new Class[] {int[].class}, reorder);
+            int[] inverseReorder = (int[]) callMethod(bidiAlgorithmInverseReordering, TYPOGRAPHY_PACKAGE + BIDI_ALGORITHM, INVERSE_REORDERING, null,
+                    reorder);
 //            int[] inverseReorder = BidiAlgorithm.inverseReordering(reorder);
             List<LineRenderer.RendererGlyph> reorderedLine = new ArrayList<>(lineLevels.length);
             for (int i = 0; i < line.size(); i++) {
@@ -200,7 +227,7 @@ final class TypographyUtils {
                 if (levels[reorder[i]] % 2 == 1) {
                     if (reorderedLine.get(i).glyph.hasValidUnicode()) {
                         int unicode = reorderedLine.get(i).glyph.getUnicode();
-                        int pairedBracket = (int) callMethod(TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_PAIRED_BRACKET, new Class[]{int.class},
+                        int pairedBracket = (int) callMethod(bidiBracketMapGetPairedBracket, TYPOGRAPHY_PACKAGE + BIDI_BRACKET_MAP, GET_PAIRED_BRACKET, null,
                                 unicode);
 //                        int pairedBracket = BidiBracketMap.getPairedBracket(reorderedLine.get(i).glyph.getUnicode());
                         if (pairedBracket != unicode) {
@@ -243,7 +270,8 @@ final class TypographyUtils {
             logger.warn(typographyNotFoundException);
             return null;
         } else {
-            return (Collection<Character.UnicodeScript>) callMethod(TYPOGRAPHY_PACKAGE + SHAPER, GET_SUPPORTED_SCRIPTS, (Object) null, new Class[] {Object.class}, typographyConfig);
+            return (Collection<Character.UnicodeScript>) callMethod(shaperGetSupportedScripts, TYPOGRAPHY_PACKAGE + SHAPER, GET_SUPPORTED_SCRIPTS, null,
+                    typographyConfig);
         }
     }
 
@@ -251,18 +279,13 @@ final class TypographyUtils {
         return TYPOGRAPHY_MODULE_INITIALIZED;
     }
 
-    private static Object callMethod(String className, String methodName, Class[] parameterTypes, Object... args) {
-        return callMethod(className, methodName, (Object) null, parameterTypes, args);
-    }
-
-    private static Object callMethod(String className, String methodName, Object target, Class[] parameterTypes, Object... args) {
+    private static Object callMethod(Method method, String className, String methodName, Object target, Object... args) {
+        if (method == null) {
+            logger.warn(MessageFormatUtil.format("Cannot find method {0} for class {1}", methodName, className));
+            return null;
+        }
         try {
-            Method method = findMethod(className, methodName, parameterTypes);
             return method.invoke(target, args);
-        } catch (NoSuchMethodException e) {
-            logger.warn(MessageFormatUtil.format("Cannot find method {0} for class {1}", methodName, className));
-        } catch (ClassNotFoundException e) {
-            logger.warn(MessageFormatUtil.format("Cannot find class {0}", className));
         } catch (IllegalArgumentException e) {
             logger.warn(MessageFormatUtil.format("Illegal arguments passed to {0}#{1} method call: {2}", className, methodName, e.getMessage()));
         } catch (Exception e) {
@@ -271,87 +294,51 @@ final class TypographyUtils {
         return null;
     }
 
-    private static Object callConstructor(String className, Class[] parameterTypes, Object... args) {
+    private static Object callConstructor(Constructor<?> constructor, String className, Object... args) {
+        if (constructor == null) {
+            logger.warn(MessageFormatUtil.format("Cannot find constructor for class {0}", className));
+            return null;
+        }
         try {
-            Constructor<?> constructor = findConstructor(className, parameterTypes);
             return constructor.newInstance(args);
-        } catch (NoSuchMethodException e) {
-            logger.warn(MessageFormatUtil.format("Cannot find constructor for class {0}", className));
-        } catch (ClassNotFoundException e) {
-            logger.warn(MessageFormatUtil.format("Cannot find class {0}", className));
         } catch (Exception exc) {
             throw new RuntimeException(exc.toString(), exc);
         }
-        return null;
     }
 
-    private static Method findMethod(String className, String methodName, Class[] parameterTypes) throws NoSuchMethodException, ClassNotFoundException {
-        TypographyMethodSignature tm = new TypographyMethodSignature(className, parameterTypes, methodName);
-        Method m = (Method) cachedMethods.get(tm);
-        if (m == null) {
-            m = findClass(className).getMethod(methodName, parameterTypes);
-            cachedMethods.put(tm, m);
+    private static Method resolveMethod(boolean moduleFound, String className, String methodName, Class[] parameterTypes) {
+        if (!moduleFound) {
+            return null;
+        }
+        try {
+            return findMethod(className, methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            logger.warn(MessageFormatUtil.format("Cannot find method {0} for class {1}", methodName, className));
+        } catch (ClassNotFoundException e) {
+            logger.warn(MessageFormatUtil.format("Cannot find class {0}", className));
         }
-        return m;
+        return null;
     }
 
-    private static Constructor<?> findConstructor(String className, Class[] parameterTypes) throws NoSuchMethodException, ClassNotFoundException {
-        TypographyMethodSignature tc = new TypographyMethodSignature(className, parameterTypes);
-        Constructor<?> c = (Constructor<?>) cachedMethods.get(tc);
-        if (c == null) {
-            c = findClass(className).getConstructor(parameterTypes);
-            cachedMethods.put(tc, c);
+    private static Constructor<?> resolveConstructor(boolean moduleFound, String className, Class[] parameterTypes) {
+        if (!moduleFound) {
+            return null;
+        }
+        try {
+            return getTypographyClass(className).getConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            logger.warn(MessageFormatUtil.format("Cannot find constructor for class {0}", className));
+        } catch (ClassNotFoundException e) {
+            logger.warn(MessageFormatUtil.format("Cannot find class {0}", className));
         }
-        return c;
+        return null;
     }
 
-    private static Class<?> findClass(String className) throws ClassNotFoundException {
-        Class<?> c = cachedClasses.get(className);
-        if (c == null) {
-            c = getTypographyClass(className);
-            cachedClasses.put(className, c);
-        }
-        return c;
+    private static Method findMethod(String className, String methodName, Class[] parameterTypes) throws NoSuchMethodException, ClassNotFoundException {
+        return getTypographyClass(className).getMethod(methodName, parameterTypes);
     }
 
     private static Class<?> getTypographyClass(String typographyClassName) throws ClassNotFoundException {
         return Class.forName(typographyClassName);
     }
-
-    private static class TypographyMethodSignature {
-        protected final String className;
-        protected Class[] parameterTypes;
-        private final String methodName;
-
-        TypographyMethodSignature(String className, Class[] parameterTypes) {
-            this(className, parameterTypes, null);
-        }
-
-        TypographyMethodSignature(String className, Class[] parameterTypes, String methodName) {
-            this.methodName = methodName;
-            this.className = className;
-            this.parameterTypes = parameterTypes;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-
-            TypographyMethodSignature that = (TypographyMethodSignature) o;
-
-            if (!className.equals(that.className)) return false;
-            if (!Arrays.equals(parameterTypes, that.parameterTypes)) return false;
-            return methodName != null ? methodName.equals(that.methodName) : that.methodName == null;
-
-        }
-
-        @Override
-        public int hashCode() {
-            int result = className.hashCode();
-            result = 31 * result + Arrays.hashCode(parameterTypes);
-            result = 31 * result + (methodName != null ? methodName.hashCode() : 0);
-            return result;
-        }
-    }
 }
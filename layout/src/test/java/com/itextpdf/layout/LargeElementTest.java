@@ -52,6 +52,7 @@ import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.kernel.utils.CompareTool;
+import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
 import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Cell;
@@ -73,7 +74,9 @@ import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 
 @Category(IntegrationTest.class)
 public class LargeElementTest extends ExtendedITextTest {
@@ -146,6 +149,33 @@ public class LargeElementTest extends ExtendedITextTest {
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, testName + "_diff"));
     }
 
+    @Test
+    public void largeTableFlushedRowsAreReleasedTest() {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        Document doc = new Document(pdfDoc);
+
+        Table table = new Table(UnitValue.createPercentArray(4), true);
+        doc.add(table);
+        for (int i = 0; i < 1000; i++) {
+            for (int j = 0; j < 4; j++) {
+                table.addCell(new Cell().add(new Paragraph(MessageFormatUtil.format("Cell {0}, {1}", i + 1, j + 1))));
+            }
+            if (i % 50 == 49) {
+                table.flush();
+                Assert.assertTrue(table.getNumberOfRows() <= 1);
+                Assert.assertTrue(table.getChildren().size() <= 4);
+                List<Border> lastRowBottomBorder = table.getLastRowBottomBorder();
+                Assert.assertEquals(4, lastRowBottomBorder.size());
+                Assert.assertSame(lastRowBottomBorder, table.getLastRowBottomBorder());
+            }
+        }
+        table.complete();
+        Assert.assertEquals(0, table.getNumberOfRows());
+        Assert.assertTrue(table.getChildren().isEmpty());
+
+        doc.close();
+    }
+
     @Test
     public void largeTableWithHeaderFooterTest01A() throws IOException, InterruptedException {
         String testName = "largeTableWithHeaderFooterTest01A.pdf";
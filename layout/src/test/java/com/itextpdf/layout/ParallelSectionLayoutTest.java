@@ -0,0 +1,228 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout;
+
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.IntegrationTest;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+
+@Category(IntegrationTest.class)
+public class ParallelSectionLayoutTest extends ExtendedITextTest {
+
+    public static final String destinationFolder = "./target/test/com/itextpdf/layout/ParallelSectionLayoutTest/";
+    public static final String fontsFolder = "./src/test/resources/com/itextpdf/layout/fonts/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(destinationFolder);
+    }
+
+    @Test
+    public void sectionsAreAppendedInOrderTest() throws IOException {
+        String outFileName = destinationFolder + "sectionsAreAppendedInOrder.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        int pagesCount = new ParallelSectionLayout(pdfDocument, 4).setMaxPendingSections(5).addSections(30, new StatementWriter());
+        pdfDocument.close();
+
+        Assert.assertEquals(40, pagesCount);
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals(40, resultDocument.getNumberOfPages());
+        int page = 1;
+        for (int section = 0; section < 30; ++section) {
+            Assert.assertEquals("Statement " + section, PdfTextExtractor.getTextFromPage(resultDocument.getPage(page++)));
+            if (section % 3 == 0) {
+                Assert.assertEquals("Statement " + section + " continued", PdfTextExtractor.getTextFromPage(resultDocument.getPage(page++)));
+            }
+        }
+        resultDocument.close();
+    }
+
+    @Test
+    public void taggedSectionsTest() throws IOException {
+        String outFileName = destinationFolder + "taggedSections.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        pdfDocument.setTagged();
+        new ParallelSectionLayout(pdfDocument, 2).addSections(5, new StatementWriter());
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertTrue(resultDocument.isTagged());
+        Assert.assertEquals(7, resultDocument.getNumberOfPages());
+        Assert.assertEquals("Statement 4", PdfTextExtractor.getTextFromPage(resultDocument.getPage(7)));
+        resultDocument.close();
+    }
+
+    @Test
+    public void pageNumbersAreAddedAfterStitchingTest() throws IOException {
+        String outFileName = destinationFolder + "pageNumbersAreAddedAfterStitching.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        new ParallelSectionLayout(pdfDocument, 3).addSections(6, new StatementWriter(), new ISectionPagesHandler() {
+            @Override
+            public void handleSectionPages(PdfDocument document, int[] sectionStartPages, int[] sectionPagesCounts) {
+                Assert.assertArrayEquals(new int[] {1, 3, 4, 5, 7, 8}, sectionStartPages);
+                Assert.assertArrayEquals(new int[] {2, 1, 1, 2, 1, 1}, sectionPagesCounts);
+                try {
+                    PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+                    for (int page = 1; page <= document.getNumberOfPages(); ++page) {
+                        new PdfCanvas(document.getPage(page)).beginText().setFontAndSize(font, 10).moveText(36, 20)
+                                .showText("Page " + page + " of " + document.getNumberOfPages()).endText();
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals(8, resultDocument.getNumberOfPages());
+        Assert.assertEquals("Statement 0 continued\nPage 2 of 8", PdfTextExtractor.getTextFromPage(resultDocument.getPage(2)));
+        Assert.assertEquals("Statement 5\nPage 8 of 8", PdfTextExtractor.getTextFromPage(resultDocument.getPage(8)));
+        resultDocument.close();
+    }
+
+    @Test
+    public void emptySectionTest() throws IOException {
+        String outFileName = destinationFolder + "emptySection.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        int pagesCount = new ParallelSectionLayout(pdfDocument, 2).addSections(3, new ISectionWriter() {
+            @Override
+            public void writeSection(Document document, int sectionIndex) {
+                if (sectionIndex != 1) {
+                    document.add(new Paragraph("Statement " + sectionIndex));
+                }
+            }
+        });
+        pdfDocument.close();
+
+        Assert.assertEquals(2, pagesCount);
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals("Statement 2", PdfTextExtractor.getTextFromPage(resultDocument.getPage(2)));
+        resultDocument.close();
+    }
+
+    @Test
+    public void embeddedFontsAreSharedBetweenSectionsTest() throws IOException {
+        String outFileName = destinationFolder + "embeddedFontsAreSharedBetweenSections.pdf";
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(outFileName));
+        new ParallelSectionLayout(pdfDocument, 4).addSections(20, new ISectionWriter() {
+            @Override
+            public void writeSection(Document document, int sectionIndex) {
+                try {
+                    PdfFont type0Font = PdfFontFactory.createFont(fontsFolder + "FreeSans.ttf", PdfEncodings.IDENTITY_H);
+                    PdfFont trueTypeFont = PdfFontFactory.createFont(fontsFolder + "FreeSans.ttf", PdfEncodings.WINANSI, true);
+                    // every section uses its own glyphs, all of them shall be in the subsets of the shared fonts
+                    String letter = String.valueOf((char) ('A' + sectionIndex));
+                    document.add(new Paragraph("Statement " + letter).setFont(type0Font));
+                    document.add(new Paragraph("Total " + letter.toLowerCase()).setFont(trueTypeFont));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        pdfDocument.close();
+
+        PdfDocument resultDocument = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals(20, resultDocument.getNumberOfPages());
+        for (int page = 1; page <= 20; ++page) {
+            String letter = String.valueOf((char) ('A' + page - 1));
+            Assert.assertEquals("Statement " + letter + "\nTotal " + letter.toLowerCase(),
+                    PdfTextExtractor.getTextFromPage(resultDocument.getPage(page)));
+        }
+        int fontFilesCount = 0;
+        for (int i = 1; i < resultDocument.getNumberOfPdfObjects(); ++i) {
+            PdfObject object = resultDocument.getPdfObject(i);
+            if (object instanceof PdfDictionary && PdfName.FontDescriptor.equals(((PdfDictionary) object).getAsName(PdfName.Type))) {
+                Assert.assertNotNull(((PdfDictionary) object).get(PdfName.FontFile2));
+                ++fontFilesCount;
+            }
+        }
+        Assert.assertEquals(2, fontFilesCount);
+        resultDocument.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void sectionExceptionIsRethrownTest() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        new ParallelSectionLayout(pdfDocument, 2).addSections(4, new ISectionWriter() {
+            @Override
+            public void writeSection(Document document, int sectionIndex) {
+                if (sectionIndex == 2) {
+                    throw new IllegalStateException();
+                }
+                document.add(new Paragraph("Statement " + sectionIndex));
+            }
+        });
+    }
+
+    private static class StatementWriter implements ISectionWriter {
+        @Override
+        public void writeSection(Document document, int sectionIndex) {
+            document.add(new Paragraph("Statement " + sectionIndex));
+            if (sectionIndex % 3 == 0) {
+                document.add(new AreaBreak());
+                document.add(new Paragraph("Statement " + sectionIndex + " continued"));
+            }
+        }
+    }
+}
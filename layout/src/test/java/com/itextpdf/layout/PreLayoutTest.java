@@ -47,7 +47,9 @@ import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Text;
@@ -183,6 +185,66 @@ public class PreLayoutTest extends ExtendedITextTest{
         Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
     }
 
+    @Test
+    public void relayoutFromChangedElementTest() throws IOException, InterruptedException {
+        String outFileName = destinationFolder + "relayoutFromChangedElementTest.pdf";
+        String cmpFileName = destinationFolder + "cmp_relayoutFromChangedElementTest.pdf";
+
+        Assert.assertTrue(createDocumentWithChangedElement(outFileName, true));
+        Assert.assertFalse(createDocumentWithChangedElement(cmpFileName, false));
+
+        Assert.assertNull(new CompareTool().compareByContent(outFileName, cmpFileName, destinationFolder, "diff"));
+    }
+
+    @Test
+    public void relayoutFromChangedElementAfterFlushTest() throws IOException {
+        String outFileName = destinationFolder + "relayoutFromChangedElementAfterFlushTest.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(outFileName));
+        Document document = new Document(pdfDoc, PageSize.Default, false);
+        document.add(new Paragraph("A"));
+        document.add(new Paragraph("B"));
+        document.add(new Paragraph("C"));
+        document.flush();
+        document.add(new Paragraph("D"));
+        Paragraph changedParagraph = new Paragraph("E");
+        document.add(changedParagraph);
+
+        changedParagraph.add(" changed");
+        document.relayout(changedParagraph);
+        document.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(outFileName));
+        Assert.assertEquals(1, resultDoc.getNumberOfPages());
+        Assert.assertEquals("A\nB\nC\nD\nE changed", PdfTextExtractor.getTextFromPage(resultDoc.getPage(1)));
+        resultDoc.close();
+    }
+
+    private static boolean createDocumentWithChangedElement(String fileName, boolean relayoutFromChangedElement) throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(fileName));
+        Document document = new Document(pdfDoc, PageSize.Default, false);
+
+        Paragraph changedParagraph = null;
+        for (int i = 0; i < 300; i++) {
+            Paragraph paragraph = new Paragraph("Paragraph #" + i);
+            if (i == 200) {
+                changedParagraph = paragraph;
+            }
+            document.add(paragraph);
+        }
+        IRenderer firstParagraphRenderer = document.getRenderer().getChildRenderers().get(0);
+
+        changedParagraph.setFontSize(30).add(" has been changed and now takes several lines");
+        if (relayoutFromChangedElement) {
+            document.relayout(changedParagraph);
+        } else {
+            document.relayout();
+        }
+        boolean firstParagraphRendererReused = document.getRenderer().getChildRenderers().get(0) == firstParagraphRenderer;
+
+        document.close();
+        return firstParagraphRendererReused;
+    }
+
     static class TwoColumnParagraphRenderer extends ParagraphRenderer {
 
         int oneColumnPage = -1;
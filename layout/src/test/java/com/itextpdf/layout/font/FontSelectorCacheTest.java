@@ -0,0 +1,164 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.font;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Category(UnitTest.class)
+public class FontSelectorCacheTest {
+
+    @Test
+    public void selectorsAreSharedBetweenProvidersTest() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(StandardFonts.HELVETICA);
+        fontSet.addFont(StandardFonts.TIMES_ROMAN);
+        List<String> families = Collections.singletonList("times");
+        FontCharacteristics fc = new FontCharacteristics();
+
+        FontSelector selector = new FontProvider(fontSet).getFontSelector(families, fc);
+        Assert.assertSame(selector, new FontProvider(fontSet).getFontSelector(families, fc));
+        Assert.assertEquals(StandardFonts.TIMES_ROMAN, selector.bestMatch().getDescriptor().getFontName());
+
+        // subclasses may create selectors depending on their own state, so they do not share selectors
+        FontProvider customProvider = new CustomFontProvider(fontSet);
+        FontSelector customSelector = customProvider.getFontSelector(families, fc);
+        Assert.assertNotSame(selector, customSelector);
+        Assert.assertSame(customSelector, customProvider.getFontSelector(families, fc));
+        Assert.assertNotSame(customSelector, new CustomFontProvider(fontSet).getFontSelector(families, fc));
+    }
+
+    @Test
+    public void addingFontInvalidatesSelectorsTest() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(StandardFonts.HELVETICA);
+        FontProvider provider = new FontProvider(fontSet);
+        List<String> families = Collections.singletonList("courier");
+        FontCharacteristics fc = new FontCharacteristics();
+
+        FontSelector selector = provider.getFontSelector(families, fc);
+        fontSet.addFont(StandardFonts.COURIER);
+        FontSelector newSelector = provider.getFontSelector(families, fc);
+        Assert.assertNotSame(selector, newSelector);
+        Assert.assertEquals(StandardFonts.COURIER, newSelector.bestMatch().getDescriptor().getFontName());
+
+        FontSet tempFonts = new FontSet();
+        FontSelector tempSelector = provider.getFontSelector(families, fc, tempFonts);
+        Assert.assertSame(tempSelector, provider.getFontSelector(families, fc, tempFonts));
+        tempFonts.addFont(StandardFonts.COURIER_BOLD);
+        Assert.assertNotSame(tempSelector, provider.getFontSelector(families, fc, tempFonts));
+    }
+
+    @Test
+    public void cacheIsBoundedTest() {
+        FontSet fontSet = new FontSet();
+        fontSet.addFont(StandardFonts.HELVETICA);
+        FontSelectorCache cache = new FontSelectorCache(fontSet, 10);
+        for (int i = 0; i < 50; i++) {
+            List<String> families = Collections.singletonList("family" + i);
+            FontSelectorKey key = new FontSelectorKey(families, null);
+            cache.put(key, new FontSelector(fontSet.getFonts(), families, new FontCharacteristics()));
+            Assert.assertTrue(cache.size() <= 10);
+        }
+        Assert.assertNotNull(cache.get(new FontSelectorKey(Collections.singletonList("family49"), null)));
+    }
+
+    @Test
+    public void concurrentSelectionTest() throws Exception {
+        final FontSet fontSet = new FontSet();
+        for (String font : Arrays.asList(StandardFonts.HELVETICA, StandardFonts.HELVETICA_BOLD,
+                StandardFonts.TIMES_ROMAN, StandardFonts.TIMES_BOLD, StandardFonts.COURIER, StandardFonts.COURIER_BOLD)) {
+            fontSet.addFont(font);
+        }
+        final String[] families = {"helvetica", "times", "courier"};
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        // every task imitates a document with its own provider
+                        FontProvider provider = new FontProvider(fontSet);
+                        for (int j = 0; j < 300; j++) {
+                            String family = families[j % families.length];
+                            FontCharacteristics fc = new FontCharacteristics();
+                            if (j % 2 == 0) {
+                                fc.setBoldFlag(true);
+                            }
+                            List<String> fontFamilies = Collections.singletonList(family);
+                            FontInfo best = provider.getFontSelector(fontFamilies, fc).bestMatch();
+                            if (!best.equals(new FontSelector(fontSet.getFonts(), fontFamilies, fc).bestMatch())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class CustomFontProvider extends FontProvider {
+        CustomFontProvider(FontSet fontSet) {
+            super(fontSet);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.property;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class IndexedPropertyMapTest extends ExtendedITextTest {
+
+    private static final int CUSTOM_PROPERTY = 1048576;
+
+    @Test
+    public void nullValuesAreStoredTest() {
+        IndexedPropertyMap properties = new IndexedPropertyMap();
+        Assert.assertFalse(properties.containsKey(Property.ROTATION_ANGLE));
+        properties.put(Property.ROTATION_ANGLE, null);
+        Assert.assertTrue(properties.containsKey(Property.ROTATION_ANGLE));
+        Assert.assertNull(properties.get(Property.ROTATION_ANGLE));
+        Assert.assertEquals(1, properties.size());
+
+        properties.remove(Property.ROTATION_ANGLE);
+        Assert.assertFalse(properties.containsKey(Property.ROTATION_ANGLE));
+        Assert.assertTrue(properties.isEmpty());
+    }
+
+    @Test
+    public void behavesLikeHashMapTest() {
+        Map<Integer, Object> expected = new HashMap<>();
+        Map<Integer, Object> properties = new IndexedPropertyMap();
+        int[] keys = {Property.ACTION, Property.TYPOGRAPHY_CONFIG, Property.FONT_SIZE, 64, 63, CUSTOM_PROPERTY, -1};
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(expected.put(keys[i], i), properties.put(keys[i], i));
+        }
+        Assert.assertEquals(expected.put(Property.FONT_SIZE, "size"), properties.put(Property.FONT_SIZE, "size"));
+        Assert.assertEquals(expected.remove(63), properties.remove(63));
+        Assert.assertEquals(expected.remove(63), properties.remove(63));
+        Assert.assertEquals(expected, properties);
+        Assert.assertEquals(properties, expected);
+        Assert.assertEquals(expected.hashCode(), properties.hashCode());
+        Assert.assertEquals(expected.size(), properties.size());
+        Assert.assertNull(properties.get("not a property"));
+
+        Iterator<Map.Entry<Integer, Object>> iterator = properties.entrySet().iterator();
+        while (iterator.hasNext()) {
+            int key = iterator.next().getKey();
+            if (key == CUSTOM_PROPERTY || key == Property.TYPOGRAPHY_CONFIG) {
+                iterator.remove();
+                expected.remove(key);
+            }
+        }
+        Assert.assertEquals(expected, properties);
+    }
+
+    @Test
+    public void copyTest() {
+        IndexedPropertyMap properties = new IndexedPropertyMap();
+        properties.put(Property.KEEP_TOGETHER, true);
+        properties.put(CUSTOM_PROPERTY, "custom");
+
+        IndexedPropertyMap copy = new IndexedPropertyMap(properties);
+        Assert.assertEquals(properties, copy);
+        copy.put(Property.KEEP_TOGETHER, false);
+        copy.put(CUSTOM_PROPERTY, "changed");
+        Assert.assertEquals(true, properties.get(Property.KEEP_TOGETHER));
+        Assert.assertEquals("custom", properties.get(CUSTOM_PROPERTY));
+
+        Map<Integer, Object> hashMap = new HashMap<>(properties);
+        Assert.assertEquals(properties, new IndexedPropertyMap(hashMap));
+    }
+
+    @Test
+    public void staticAccessorsTest() {
+        Map<Integer, Object> hashMap = new HashMap<>();
+        hashMap.put(Property.BOLD_SIMULATION, true);
+        Map<Integer, Object> properties = new IndexedPropertyMap(hashMap);
+        for (Map<Integer, Object> map : new Map[] {hashMap, properties}) {
+            Assert.assertTrue(IndexedPropertyMap.containsKey(map, Property.BOLD_SIMULATION));
+            Assert.assertEquals(true, IndexedPropertyMap.get(map, Property.BOLD_SIMULATION));
+            Assert.assertFalse(IndexedPropertyMap.containsKey(map, Property.ITALIC_SIMULATION));
+        }
+    }
+}
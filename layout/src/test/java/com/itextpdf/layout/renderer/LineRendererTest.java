@@ -0,0 +1,127 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class LineRendererTest extends ExtendedITextTest {
+
+    @Test
+    public void resolvedChildrenAreNotCopiedOnEveryLineTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDoc.addNewPage();
+        Document doc = new Document(pdfDoc);
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        LineRenderer lineRenderer = new LineRenderer();
+        lineRenderer.setParent(doc.getRenderer());
+        for (int i = 0; i < 10; i++) {
+            lineRenderer.addChild(new TextRenderer(new Text("word" + i + " ").setFont(font)));
+        }
+
+        int linesCount = 0;
+        LayoutResult result;
+        do {
+            List<IRenderer> childRenderers = lineRenderer.getChildRenderers();
+            result = lineRenderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(100, 1000))));
+            Assert.assertSame(childRenderers, lineRenderer.getChildRenderers());
+            linesCount++;
+            lineRenderer = (LineRenderer) result.getOverflowRenderer();
+        } while (result.getStatus() == LayoutResult.PARTIAL);
+
+        Assert.assertEquals(LayoutResult.FULL, result.getStatus());
+        Assert.assertTrue(linesCount > 1);
+        doc.close();
+    }
+
+    @Test
+    public void childrenWithFontFamilyAreReplacedOnceTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDoc.addNewPage();
+        Document doc = new Document(pdfDoc);
+        FontProvider fontProvider = new FontProvider();
+        fontProvider.addFont(StandardFonts.HELVETICA);
+        LineRenderer lineRenderer = new LineRenderer();
+        lineRenderer.setParent(doc.getRenderer());
+        lineRenderer.setProperty(Property.FONT_PROVIDER, fontProvider);
+        IRenderer resolvedRenderer = new TextRenderer(new Text("resolved ").setFont(PdfFontFactory.createFont(StandardFonts.TIMES_ROMAN)));
+        lineRenderer.addChild(resolvedRenderer);
+        for (int i = 0; i < 10; i++) {
+            lineRenderer.addChild(new TextRenderer(new Text("word" + i + " ").setFont(StandardFonts.HELVETICA)));
+        }
+
+        List<IRenderer> childRenderers = lineRenderer.getChildRenderers();
+        LayoutResult result = lineRenderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(100, 1000))));
+        Assert.assertNotSame(childRenderers, lineRenderer.getChildRenderers());
+        Assert.assertEquals(11, lineRenderer.getChildRenderers().size());
+        Assert.assertSame(resolvedRenderer, lineRenderer.getChildRenderers().get(0));
+        Assert.assertEquals(LayoutResult.PARTIAL, result.getStatus());
+
+        LineRenderer overflowRenderer = (LineRenderer) result.getOverflowRenderer();
+        childRenderers = overflowRenderer.getChildRenderers();
+        overflowRenderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(100, 1000))));
+        Assert.assertSame(childRenderers, overflowRenderer.getChildRenderers());
+        doc.close();
+    }
+}
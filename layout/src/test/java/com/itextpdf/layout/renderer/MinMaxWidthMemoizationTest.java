@@ -0,0 +1,235 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.minmaxwidth.MinMaxWidth;
+import com.itextpdf.layout.property.Property;
+import com.itextpdf.layout.property.UnitValue;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+
+@Category(UnitTest.class)
+public class MinMaxWidthMemoizationTest {
+
+    private Document document;
+
+    @Before
+    public void before() {
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDocument.addNewPage();
+        document = new Document(pdfDocument);
+    }
+
+    @After
+    public void after() {
+        document.close();
+    }
+
+    @Test
+    public void repeatedMeasurementIsMemoizedTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        Assert.assertTrue(AbstractRenderer.beginMinMaxWidthPass());
+        try {
+            MinMaxWidth first = divRenderer.getMinMaxWidth();
+            MinMaxWidth second = divRenderer.getMinMaxWidth();
+            Assert.assertNotSame(first, second);
+            Assert.assertEquals(first.getMinWidth(), second.getMinWidth(), 1e-4);
+            Assert.assertEquals(first.getMaxWidth(), second.getMaxWidth(), 1e-4);
+            Assert.assertEquals(1, divRenderer.getMinMaxWidthMeasurementsCount());
+            Assert.assertEquals(1, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+
+            // modification of the returned value does not affect the memoized one
+            second.setAdditionalWidth(second.getAdditionalWidth() + 100);
+            Assert.assertEquals(first.getMaxWidth(), divRenderer.getMinMaxWidth().getMaxWidth(), 1e-4);
+        } finally {
+            AbstractRenderer.endMinMaxWidthPass();
+        }
+    }
+
+    @Test
+    public void measurementIsNotMemoizedOutsideLayoutPassTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        divRenderer.getMinMaxWidth();
+        divRenderer.getMinMaxWidth();
+        Assert.assertEquals(2, divRenderer.getMinMaxWidthMeasurementsCount());
+        Assert.assertEquals(2, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+    }
+
+    @Test
+    public void nestedPassIsNotStartedTest() {
+        Assert.assertTrue(AbstractRenderer.beginMinMaxWidthPass());
+        try {
+            Assert.assertFalse(AbstractRenderer.beginMinMaxWidthPass());
+        } finally {
+            AbstractRenderer.endMinMaxWidthPass();
+        }
+    }
+
+    @Test
+    public void nestedTablesAreMeasuredOnceDuringLayoutTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        Assert.assertTrue(AbstractRenderer.beginMinMaxWidthPass());
+        try {
+            divRenderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(PageSize.A4))));
+        } finally {
+            AbstractRenderer.endMinMaxWidthPass();
+        }
+        Assert.assertEquals(1, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+    }
+
+    @Test
+    public void nestedTablesAreMeasuredOnceWhenAddedToDocumentTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        document.getRenderer().addChild(divRenderer);
+        Assert.assertEquals(1, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+    }
+
+    @Test
+    public void descendantChangeInvalidatesMemoTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        Assert.assertTrue(AbstractRenderer.beginMinMaxWidthPass());
+        try {
+            float maxWidth = divRenderer.getMinMaxWidth().getMaxWidth();
+            paragraphRenderer.setProperty(Property.MARGIN_LEFT, UnitValue.createPointValue(50));
+            Assert.assertTrue(divRenderer.getMinMaxWidth().getMaxWidth() > maxWidth);
+            Assert.assertEquals(2, divRenderer.getMinMaxWidthMeasurementsCount());
+            Assert.assertEquals(2, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+        } finally {
+            AbstractRenderer.endMinMaxWidthPass();
+        }
+    }
+
+    @Test
+    public void childAddedDirectlyAfterMeasuringTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        float maxWidth = measureInPass(divRenderer).getMaxWidth();
+        IRenderer textRenderer = new Paragraph(" with some more words").createRendererSubTree().getChildRenderers().get(0);
+        paragraphRenderer.getChildRenderers().add(textRenderer.setParent(paragraphRenderer));
+        Assert.assertTrue(measureInPass(divRenderer).getMaxWidth() > maxWidth);
+        Assert.assertEquals(2, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+    }
+
+    @Test
+    public void elementPropertyChangeAfterMeasuringTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        float maxWidth = measureInPass(divRenderer).getMaxWidth();
+        ((Paragraph) paragraphRenderer.getModelElement()).setMarginLeft(50);
+        Assert.assertTrue(measureInPass(divRenderer).getMaxWidth() > maxWidth);
+        Assert.assertEquals(2, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+    }
+
+    @Test
+    public void inheritedPropertyChangeInvalidatesDescendantsTest() {
+        DivRenderer divRenderer = createNestedTablesRenderer();
+        ParagraphRenderer paragraphRenderer = getInnerParagraphRenderer(divRenderer);
+
+        Assert.assertTrue(AbstractRenderer.beginMinMaxWidthPass());
+        try {
+            float maxWidth = divRenderer.getMinMaxWidth().getMaxWidth();
+            divRenderer.setProperty(Property.FONT_SIZE, UnitValue.createPointValue(36));
+            Assert.assertTrue(divRenderer.getMinMaxWidth().getMaxWidth() > maxWidth);
+            Assert.assertEquals(2, paragraphRenderer.getMinMaxWidthMeasurementsCount());
+        } finally {
+            AbstractRenderer.endMinMaxWidthPass();
+        }
+    }
+
+    private static MinMaxWidth measureInPass(AbstractRenderer renderer) {
+        Assert.assertTrue(AbstractRenderer.beginMinMaxWidthPass());
+        try {
+            return renderer.getMinMaxWidth();
+        } finally {
+            AbstractRenderer.endMinMaxWidthPass();
+        }
+    }
+
+    private DivRenderer createNestedTablesRenderer() {
+        Table innerTable = new Table(UnitValue.createPercentArray(2));
+        innerTable.addCell(new Cell().add(new Paragraph("Inner paragraph")));
+        innerTable.addCell("Inner cell");
+        Table outerTable = new Table(UnitValue.createPercentArray(2));
+        outerTable.addCell(new Cell().add(innerTable));
+        outerTable.addCell("Outer cell");
+        Div div = new Div().add(outerTable);
+        return (DivRenderer) div.createRendererSubTree().setParent(document.getRenderer());
+    }
+
+    private static ParagraphRenderer getInnerParagraphRenderer(DivRenderer divRenderer) {
+        TableRenderer outerTableRenderer = (TableRenderer) divRenderer.getChildRenderers().get(0);
+        CellRenderer outerCellRenderer = outerTableRenderer.rows.get(0)[0];
+        TableRenderer innerTableRenderer = (TableRenderer) outerCellRenderer.getChildRenderers().get(0);
+        CellRenderer innerCellRenderer = innerTableRenderer.rows.get(0)[0];
+        return (ParagraphRenderer) innerCellRenderer.getChildRenderers().get(0);
+    }
+}
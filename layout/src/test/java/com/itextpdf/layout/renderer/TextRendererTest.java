@@ -43,6 +43,9 @@
 package com.itextpdf.layout.renderer;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -61,6 +64,7 @@ import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.UnitTest;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -68,6 +72,8 @@ import org.junit.experimental.categories.Category;
 @Category(UnitTest.class)
 public class TextRendererTest extends ExtendedITextTest {
 
+    private static final String FONTS_FOLDER = "./src/test/resources/com/itextpdf/layout/fonts/";
+
     @Test
     public void nextRendererTest() {
         PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
@@ -130,4 +136,38 @@ public class TextRendererTest extends ExtendedITextTest {
         doc.add(new Paragraph().add(txt));
         doc.close();
     }
+
+    @Test
+    public void specialWhitespacesAreReplacedOnEveryLineTest() throws IOException {
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        pdfDoc.addNewPage();
+        Document doc = new Document(pdfDoc);
+        RootRenderer documentRenderer = doc.getRenderer();
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            content.append("word\tword ");
+        }
+        Text text = new Text(content.toString());
+        text.setFont(PdfFontFactory.createFont(FONTS_FOLDER + "NotoSans-Regular.ttf", PdfEncodings.IDENTITY_H));
+        IRenderer renderer = text.getRenderer().setParent(documentRenderer);
+
+        int linesCount = 0;
+        LayoutResult result;
+        do {
+            result = renderer.layout(new LayoutContext(new LayoutArea(1, new Rectangle(150, 1000))));
+            TextRenderer lineRenderer = (TextRenderer) (result.getStatus() == LayoutResult.FULL ? renderer : result.getSplitRenderer());
+            for (int i = lineRenderer.line.start; i < lineRenderer.line.end; i++) {
+                Glyph glyph = lineRenderer.line.get(i);
+                if (glyph.getUnicode() == '\t') {
+                    Assert.assertTrue(glyph.getCode() > 0);
+                }
+            }
+            linesCount++;
+            renderer = result.getOverflowRenderer();
+        } while (result.getStatus() == LayoutResult.PARTIAL);
+
+        Assert.assertEquals(LayoutResult.FULL, result.getStatus());
+        Assert.assertTrue(linesCount > 1);
+    }
 }
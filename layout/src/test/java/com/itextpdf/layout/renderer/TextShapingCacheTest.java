@@ -0,0 +1,133 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2018 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.layout.renderer;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class TextShapingCacheTest {
+
+    @Test
+    public void cachedResultIsCopiedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        TextShapingCache cache = TextShapingCache.getCache(fontProgram);
+        Assert.assertSame(cache, TextShapingCache.getCache(fontProgram));
+
+        GlyphLine text = createGlyphLine(fontProgram, "USD");
+        TextShapingCache.Key key = new TextShapingCache.Key(text, null, null, true, false);
+        Assert.assertNull(cache.get(key));
+
+        Glyph shapedGlyph = new Glyph(text.get(0), 0, 0, -20, 0, 0);
+        text.set(0, shapedGlyph);
+        cache.put(key, new TextShapingCache.Result(text, false));
+        // modification of the shaped text after caching does not affect the cache
+        shapedGlyph.setXAdvance((short) 10);
+
+        TextShapingCache.Result result = cache.get(new TextShapingCache.Key(createGlyphLine(fontProgram, "USD"), null, null, true, false));
+        Assert.assertNotNull(result);
+        GlyphLine first = result.getShapedText();
+        GlyphLine second = result.getShapedText();
+        Assert.assertEquals(3, first.size());
+        Assert.assertEquals(-20, first.get(0).getXAdvance());
+        Assert.assertNotSame(first.get(0), second.get(0));
+        Assert.assertEquals("USD", first.toString());
+    }
+
+    @Test
+    public void keyTakesOptionsIntoAccountTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        GlyphLine text = createGlyphLine(fontProgram, "abc");
+        TextShapingCache.Key key = new TextShapingCache.Key(text, null, null, true, false);
+        Assert.assertEquals(key, new TextShapingCache.Key(createGlyphLine(fontProgram, "abc"), null, null, true, false));
+        Assert.assertNotEquals(key, new TextShapingCache.Key(createGlyphLine(fontProgram, "abd"), null, null, true, false));
+        Assert.assertNotEquals(key, new TextShapingCache.Key(text, Character.UnicodeScript.LATIN, null, true, false));
+        Assert.assertNotEquals(key, new TextShapingCache.Key(text, null, "config", true, false));
+        Assert.assertNotEquals(key, new TextShapingCache.Key(text, null, null, true, true));
+    }
+
+    @Test
+    public void cacheIsBoundedTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(StandardFonts.COURIER, false);
+        TextShapingCache cache = TextShapingCache.getCache(fontProgram);
+        for (int i = 0; i < TextShapingCache.MAX_ENTRIES_PER_FONT + 10; i++) {
+            GlyphLine text = createGlyphLine(fontProgram, String.valueOf(i));
+            cache.put(new TextShapingCache.Key(text, null, null, false, true), new TextShapingCache.Result(text, false));
+        }
+        Assert.assertEquals(TextShapingCache.MAX_ENTRIES_PER_FONT, cache.size());
+        Assert.assertNull(cache.get(new TextShapingCache.Key(createGlyphLine(fontProgram, "0"), null, null, false, true)));
+    }
+
+    @Test
+    public void onlyShortWholeLinesAreCacheableTest() throws IOException {
+        FontProgram fontProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA, false);
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i <= TextShapingCache.MAX_TEXT_LENGTH; i++) {
+            longText.append('a');
+        }
+        GlyphLine text = createGlyphLine(fontProgram, "USD");
+        Assert.assertTrue(TextShapingCache.isCacheable(text));
+        Assert.assertFalse(TextShapingCache.isCacheable(createGlyphLine(fontProgram, longText.toString())));
+        text.start = 1;
+        Assert.assertFalse(TextShapingCache.isCacheable(text));
+    }
+
+    private static GlyphLine createGlyphLine(FontProgram fontProgram, String text) {
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            glyphs.add(fontProgram.getGlyph(text.charAt(i)));
+        }
+        return new GlyphLine(glyphs);
+    }
+}